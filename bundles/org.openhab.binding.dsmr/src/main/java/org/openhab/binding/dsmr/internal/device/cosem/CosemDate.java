@@ -17,8 +17,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -49,13 +47,18 @@ class CosemDate extends CosemValueDescriptor<DateTimeType> {
         /*
          * Ignore DST setting for general format. We use local time that is already DST
          */
-        COSEM_DATE_GENERAL("(\\d{12})([S,W]?)", "yyMMddHHmmss"),
-        COSEM_DATE_DSMR_V2("(\\d{2}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2})", "yy-MM-dd HH:mm:ss");
+        COSEM_DATE_GENERAL("dddddddddddd", "S,W", "yyMMddHHmmss"),
+        COSEM_DATE_DSMR_V2("dd-dd-dd dd:dd:dd", "", "yy-MM-dd HH:mm:ss");
 
         /**
-         * Cached compiled pattern
+         * Template of the date, each 'd' matches a digit, other characters must match exactly
          */
-        private final Pattern pattern;
+        private final String template;
+
+        /**
+         * Characters of which one may optionally follow the date
+         */
+        private final String suffixes;
 
         /**
          * Cached java date formatter
@@ -65,14 +68,36 @@ class CosemDate extends CosemValueDescriptor<DateTimeType> {
         /**
          * Constructs a new CosemDateFormat
          *
-         * @param regex String containing the regular expression to check the value against (the date format
-         *            should at least contain 1 regex group
+         * @param template String containing the template to check the value against
+         * @param suffixes String containing the characters that may optionally follow the date
          * @param javaDateFormat String containing the datetime format to use for parsing
          */
-        private CosemDateFormat(String regex, String javaDateFormat) {
-            pattern = Pattern.compile(regex);
+        private CosemDateFormat(String template, String suffixes, String javaDateFormat) {
+            this.template = template;
+            this.suffixes = suffixes;
             formatter = DateTimeFormatter.ofPattern(javaDateFormat);
         }
+
+        /**
+         * @return the length of the date in the value or -1 if the value doesn't match this format
+         */
+        private int match(String cosemValue) {
+            final int length = template.length();
+
+            if (cosemValue.length() != length
+                    && (cosemValue.length() != length + 1 || suffixes.indexOf(cosemValue.charAt(length)) < 0)) {
+                return -1;
+            }
+            for (int i = 0; i < length; i++) {
+                final char c = cosemValue.charAt(i);
+                final char t = template.charAt(i);
+
+                if (t == 'd' ? (c < '0' || c > '9') : c != t) {
+                    return -1;
+                }
+            }
+            return length;
+        }
     }
 
     /**
@@ -95,14 +120,15 @@ class CosemDate extends CosemValueDescriptor<DateTimeType> {
     @Override
     protected DateTimeType getStateValue(String cosemValue) throws ParseException {
         for (CosemDateFormat cosemDateFormat : CosemDateFormat.values()) {
-            logger.trace("Trying pattern: {}", cosemDateFormat.pattern);
+            logger.trace("Trying pattern: {}", cosemDateFormat.template);
 
-            Matcher m = cosemDateFormat.pattern.matcher(cosemValue);
+            final int dateLength = cosemDateFormat.match(cosemValue);
 
-            if (m.matches()) {
-                logger.trace("{} matches pattern: {}", cosemValue, cosemDateFormat.pattern);
+            if (dateLength > 0) {
+                logger.trace("{} matches pattern: {}", cosemValue, cosemDateFormat.template);
 
-                LocalDateTime localDateTime = LocalDateTime.parse(m.group(1), cosemDateFormat.formatter);
+                LocalDateTime localDateTime = LocalDateTime.parse(cosemValue.substring(0, dateLength),
+                        cosemDateFormat.formatter);
                 return new DateTimeType(ZonedDateTime.of(localDateTime, ZoneId.systemDefault()));
             }
         }
@@ -28,8 +28,6 @@ class CosemHexString extends CosemValueDescriptor<StringType> {
 
     public static final CosemHexString INSTANCE = new CosemHexString();
 
-    private static final String NO_VALUE = "00";
-
     /**
      * Parses a String representing the hex value to a {@link StringType}.
      *
@@ -39,22 +37,26 @@ class CosemHexString extends CosemValueDescriptor<StringType> {
      */
     @Override
     protected StringType getStateValue(String cosemValue) throws ParseException {
-        final String cosemHexValue = cosemValue.replaceAll("\\r\\n", "").trim();
+        final String cosemHexValue = (cosemValue.indexOf('\r') < 0 ? cosemValue : cosemValue.replace("\r\n", ""))
+                .trim();
 
         if (cosemHexValue.length() % 2 != 0) {
             throw new ParseException(cosemHexValue + " is not a valid hexadecimal string", 0);
         } else {
-            final StringBuilder sb = new StringBuilder();
+            final StringBuilder sb = new StringBuilder(cosemHexValue.length() / 2);
 
             for (int i = 0; i < cosemHexValue.length(); i += 2) {
-                final String hexValue = cosemHexValue.substring(i, i + 2);
-
-                if (!NO_VALUE.equals(hexValue)) {
-                    try {
-                        sb.append((char) Integer.parseInt(hexValue, 16));
-                    } catch (NumberFormatException e) {
-                        throw new ParseException("Failed to parse hex value from '" + cosemValue + "' as char", i);
-                    }
+                final int high = Character.digit(cosemHexValue.charAt(i), 16);
+                final int low = Character.digit(cosemHexValue.charAt(i + 1), 16);
+
+                if (high < 0 || low < 0) {
+                    throw new ParseException("Failed to parse hex value from '" + cosemValue + "' as char", i);
+                }
+                final char c = (char) ((high << 4) | low);
+
+                // 00 means no value
+                if (c != 0) {
+                    sb.append(c);
                 }
             }
             return new StringType(sb.toString());
@@ -14,6 +14,7 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,12 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class CosemObjectFactory {
+    /**
+     * Maximum number of received OBIS identifier Strings in the lookup cache. A meter sends the same identifiers in
+     * each telegram, the limit only protects against corrupted data filling the cache.
+     */
+    private static final int MAX_RECEIVED_OBIS_IDS = 500;
+
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
@@ -52,6 +59,30 @@ public class CosemObjectFactory {
      */
     private final List<CosemObjectType> obisWildcardCosemTypeList = new ArrayList<>();
 
+    /**
+     * Lookup cache for received OBIS Identifier Strings. Contains the parsed OBISIdentifier and the candidate Cosem
+     * Object types found in the lookup tables above, so each identifier String is only parsed and looked up once.
+     */
+    private final Map<String, ReceivedObisId> receivedObisIds = new HashMap<>();
+
+    /**
+     * A received OBIS identifier with the Cosem Object types it can be parsed as
+     */
+    private static class ReceivedObisId {
+        final OBISIdentifier obisId;
+        final OBISIdentifier reducedObisId;
+        final List<CosemObjectType> cosemObjectTypes;
+        final boolean wildcard;
+
+        ReceivedObisId(OBISIdentifier obisId, OBISIdentifier reducedObisId, List<CosemObjectType> cosemObjectTypes,
+                boolean wildcard) {
+            this.obisId = obisId;
+            this.reducedObisId = reducedObisId;
+            this.cosemObjectTypes = cosemObjectTypes;
+            this.wildcard = wildcard;
+        }
+    }
+
     /**
      * Creates a new CosemObjectFactory
      */
@@ -87,47 +118,35 @@ public class CosemObjectFactory {
      * parsed correctly or no corresponding Cosem Object was found
      *
      * @param obisIdString String containing the OBIS message identifier
-     * @param cosemStringValues String containing Cosem values
+     * @param cosemStringValues List containing the Cosem values (without the enclosing parentheses)
      * @return CosemObject or null if parsing failed
      */
-    public @Nullable CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
-        OBISIdentifier reducedObisIdGroupE;
-
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-            reducedObisIdGroupE = obisId.getReducedOBISIdentifierGroupE();
-        } catch (final ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
-            return null;
+    public @Nullable CosemObject getCosemObject(String obisIdString, List<String> cosemStringValues) {
+        ReceivedObisId receivedObisId = receivedObisIds.get(obisIdString);
+
+        if (receivedObisId == null) {
+            try {
+                receivedObisId = lookupObisId(new OBISIdentifier(obisIdString));
+            } catch (final ParseException pe) {
+                logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+                return null;
+            }
+            if (receivedObisIds.size() < MAX_RECEIVED_OBIS_IDS) {
+                receivedObisIds.put(obisIdString, receivedObisId);
+            }
         }
+        final OBISIdentifier obisId = receivedObisId.obisId;
 
         logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
 
         CosemObject cosemObject = null;
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableMultipleFixed.containsKey(reducedObisId)) {
-            for (CosemObjectType cosemObjectType : obisLookupTableMultipleFixed.get(reducedObisId)) {
-                cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
-                if (cosemObject != null) {
-                    logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-                    break;
-                }
-            }
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
-            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
-        } else if (obisLookupTableFixed.containsKey(reducedObisIdGroupE)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisIdGroupE), obisId,
-                    cosemStringValues);
-        } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
+        if (receivedObisId.wildcard) {
+            final OBISIdentifier reducedObisId = receivedObisId.reducedObisId;
+            final CosemObjectType dynamicType = obisLookupTableDynamic.get(reducedObisId);
+
+            if (dynamicType == null) {
+                for (CosemObjectType obisMsgType : receivedObisId.cosemObjectTypes) {
                     cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
                     if (cosemObject != null) {
                         logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
@@ -136,6 +155,16 @@ public class CosemObjectFactory {
                         break;
                     }
                 }
+            } else {
+                logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
+                cosemObject = getCosemObjectInternal(dynamicType, obisId, cosemStringValues);
+            }
+        } else {
+            for (CosemObjectType cosemObjectType : receivedObisId.cosemObjectTypes) {
+                cosemObject = getCosemObjectInternal(cosemObjectType, obisId, cosemStringValues);
+                if (cosemObject != null) {
+                    break;
+                }
             }
         }
 
@@ -146,6 +175,43 @@ public class CosemObjectFactory {
         return cosemObject;
     }
 
+    /**
+     * Looks up the Cosem Object types a received OBIS identifier can be parsed as. The fixed lookup tables are
+     * searched first, then the fixed lookup table without group E. If not found the matching wild card types are
+     * returned.
+     *
+     * @param obisId the received OBIS identifier
+     * @return the received OBIS identifier with the Cosem Object types it can be parsed as
+     */
+    private ReceivedObisId lookupObisId(OBISIdentifier obisId) {
+        final OBISIdentifier reducedObisId = obisId.getReducedOBISIdentifier();
+        final CosemObjectType fixedType = obisLookupTableFixed.get(reducedObisId);
+
+        if (fixedType != null) {
+            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+            return new ReceivedObisId(obisId, reducedObisId, Collections.singletonList(fixedType), false);
+        }
+        final List<CosemObjectType> multipleFixedTypes = obisLookupTableMultipleFixed.get(reducedObisId);
+
+        if (multipleFixedTypes != null) {
+            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
+            return new ReceivedObisId(obisId, reducedObisId, multipleFixedTypes, false);
+        }
+        final CosemObjectType fixedTypeGroupE = obisLookupTableFixed.get(obisId.getReducedOBISIdentifierGroupE());
+
+        if (fixedTypeGroupE != null) {
+            return new ReceivedObisId(obisId, reducedObisId, Collections.singletonList(fixedTypeGroupE), false);
+        }
+        final List<CosemObjectType> wildcardTypes = new ArrayList<>();
+
+        for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
+            if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
+                wildcardTypes.add(obisMsgType);
+            }
+        }
+        return new ReceivedObisId(obisId, reducedObisId, wildcardTypes, true);
+    }
+
     /**
      * Constructs a CosemObject from the given type, OBISIdentifier and the values
      *
@@ -156,7 +222,7 @@ public class CosemObjectFactory {
      * @return a CosemObject or null if parsing failed
      */
     private @Nullable CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
-            String cosemStringValues) {
+            List<String> cosemStringValues) {
         CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
 
         try {
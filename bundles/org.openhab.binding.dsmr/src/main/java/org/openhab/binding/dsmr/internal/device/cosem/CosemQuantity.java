@@ -12,9 +12,10 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -52,23 +53,14 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
     public static final CosemQuantity<Energy> KILO_VAR_HOUR = new CosemQuantity<>(SmartHomeUnits.KILOVAR_HOUR);
 
     /**
-     * Pattern to convert a cosem value to a value that can be parsed by {@link QuantityType}.
-     * The specification states that the delimiter between the value and the unit is a '*'-character.
-     * We have seen on the Kaifa 0025 meter that both '*' and the '_' character are used.
-     *
-     * On the Kampstrup 162JxC in some CosemValues the separator is missing
-     *
-     * The above quirks are supported
-     *
-     * We also support unit that do not follow the exact case.
+     * Unit of this CosemValue
      */
-    private static final Pattern COSEM_VALUE_WITH_UNIT_PATTERN = Pattern.compile("^([\\d\\.]+)[\\*_]?(.+)$",
-            Pattern.CASE_INSENSITIVE);
+    private final Unit<Q> unit;
 
     /**
-     * Unit of this CosemValue
+     * Unit Strings received from meters that are known to represent the unit of this CosemValue
      */
-    private final Unit<Q> unit;
+    private final Set<String> knownUnitStrings = ConcurrentHashMap.newKeySet();
 
     /**
      * Creates a new {@link CosemDouble}.
@@ -93,38 +85,56 @@ class CosemQuantity<Q extends @Nullable Quantity<Q>> extends CosemValueDescripto
     /**
      * Parses a String value (that represents a value with a unit) to a {@link QuantityType} object.
      *
+     * The specification states that the delimiter between the value and the unit is a '*'-character.
+     * We have seen on the Kaifa 0025 meter that both '*' and the '_' character are used.
+     *
+     * On the Kampstrup 162JxC in some CosemValues the separator is missing.
+     *
+     * The above quirks are supported.
+     *
+     * We also support unit that do not follow the exact case.
+     *
+     * Meters send the same unit String in each telegram, therefore the unit String is only parsed the first time it is
+     * received.
+     *
      * @param cosemValue the value to parse
      * @return {@link QuanitytType} on success
      * @throws ParseException in case unit doesn't match.
      */
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
+        int numberEnd = 0;
+
+        while (numberEnd < cosemValue.length() && isNumberCharacter(cosemValue.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd;
+
+        if (unitStart < cosemValue.length()
+                && (cosemValue.charAt(unitStart) == '*' || cosemValue.charAt(unitStart) == '_')) {
+            unitStart++;
+        }
+        if (numberEnd == 0 || unitStart >= cosemValue.length()) {
+            throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
+        }
         try {
-            QuantityType<Q> qt = new QuantityType<>(prepare(cosemValue));
+            String unitString = cosemValue.substring(unitStart);
 
-            if (!unit.equals(qt.getUnit())) {
-                throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
+            if (!knownUnitStrings.contains(unitString)) {
+                QuantityType<Q> qt = new QuantityType<>("0 " + unitString.replace("m3", "m³"));
+
+                if (!unit.equals(qt.getUnit())) {
+                    throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
+                }
+                knownUnitStrings.add(unitString);
             }
-            return qt;
+            return new QuantityType<>(new BigDecimal(cosemValue.substring(0, numberEnd)), unit);
         } catch (IllegalArgumentException nfe) {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
         }
     }
 
-    /**
-     * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
-     * The specification states that the delimiter between the value and the unit is a '*'-character.
-     * We have seen on the Kaifa 0025 meter that both '*' and the '_' character are used.
-     *
-     * On the Kampstrup 162JxC in some CosemValues the separator is missing. This
-     *
-     * The above quirks are supported
-     *
-     * We also support unit that do not follow the exact case.
-     */
-    private String prepare(String cosemValue) {
-        Matcher matcher = COSEM_VALUE_WITH_UNIT_PATTERN.matcher(cosemValue.replace("m3", "m³"));
-
-        return matcher.find() ? matcher.group(1) + ' ' + matcher.group(2) : cosemValue;
+    private static boolean isNumberCharacter(char c) {
+        return (c >= '0' && c <= '9') || c == '.';
     }
 }
@@ -14,8 +14,6 @@ package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -28,16 +26,6 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 @NonNullByDefault
 public class OBISIdentifier {
-    /**
-     * String representing a-b:c.d.e.f OBIS ID
-     */
-    private static final String OBISID_REGEX = "((\\d+)\\-)?((\\d+):)?((\\d+)\\.)(\\d+)(\\.(\\d+))?(.(\\d+))?";
-
-    /**
-     * OBIS ID pattern
-     */
-    private static final Pattern OBIS_ID_PATTERN = Pattern.compile(OBISID_REGEX);
-
     /* the six individual group values of the OBIS ID */
     private int groupA;
     private @Nullable Integer groupB;
@@ -86,41 +74,98 @@ public class OBISIdentifier {
     }
 
     /**
-     * Creates a new {@link OBISIdentifier} of the specified String
+     * Creates a new {@link OBISIdentifier} of the specified String.
+     *
+     * The String must have the format a-b:c.d.e*f, where a-, b:, .e and *f are optional. Any character is accepted as
+     * separator of group F.
      *
      * @param obisIDString the OBIS String ID
      * @throws ParseException if obisIDString is not a valid OBIS Identifier
      */
     public OBISIdentifier(String obisIDString) throws ParseException {
-        Matcher m = OBIS_ID_PATTERN.matcher(obisIDString);
+        final int length = obisIDString.length();
+        int pos = 0;
+        int end = endOfNumber(obisIDString, pos);
+        int value = parseGroup(obisIDString, pos, end);
+
+        // Optional value A
+        if (end < length && obisIDString.charAt(end) == '-') {
+            this.groupA = value;
+            pos = end + 1;
+            end = endOfNumber(obisIDString, pos);
+            value = parseGroup(obisIDString, pos, end);
+        }
 
-        if (m.matches()) {
-            // Optional value A
-            if (m.group(2) != null) {
-                this.groupA = Integer.parseInt(m.group(2));
-            }
+        // Optional value B
+        if (end < length && obisIDString.charAt(end) == ':') {
+            this.groupB = value;
+            pos = end + 1;
+            end = endOfNumber(obisIDString, pos);
+            value = parseGroup(obisIDString, pos, end);
+        }
 
-            // Optional value B
-            if (m.group(4) != null) {
-                this.groupB = Integer.valueOf(m.group(4));
+        // Required value C & D
+        if (end >= length || obisIDString.charAt(end) != '.') {
+            throw new ParseException("Invalid OBIS identifier:" + obisIDString, end);
+        }
+        this.groupC = value;
+        pos = end + 1;
+        end = endOfNumber(obisIDString, pos);
+        this.groupD = parseGroup(obisIDString, pos, end);
+
+        // Optional value E, followed by the optional value F
+        if (end < length) {
+            boolean hasGroupE = obisIDString.charAt(end) == '.';
+
+            pos = end + 1;
+            end = endOfNumber(obisIDString, pos);
+            value = parseGroup(obisIDString, pos, end);
+            if (hasGroupE) {
+                this.groupE = value;
+                if (end < length) {
+                    pos = end + 1;
+                    end = endOfNumber(obisIDString, pos);
+                    this.groupF = parseGroup(obisIDString, pos, end);
+                }
+            } else {
+                this.groupF = value;
             }
+        }
+        if (end != length) {
+            throw new ParseException("Invalid OBIS identifier:" + obisIDString, end);
+        }
+    }
 
-            // Required value C & D
-            this.groupC = Integer.parseInt(m.group(6));
-            this.groupD = Integer.parseInt(m.group(7));
+    /**
+     * @return the position of the first non digit character starting at the given position
+     */
+    private static int endOfNumber(String obisIDString, int start) {
+        int end = start;
 
-            // Optional value E
-            if (m.group(9) != null) {
-                this.groupE = Integer.valueOf(m.group(9));
-            }
+        while (end < obisIDString.length() && obisIDString.charAt(end) >= '0' && obisIDString.charAt(end) <= '9') {
+            end++;
+        }
+        return end;
+    }
 
-            // Optional value F
-            if (m.group(11) != null) {
-                this.groupF = Integer.valueOf(m.group(11));
+    /**
+     * Parses the digits between start and end as value of a group
+     *
+     * @throws ParseException if there are no digits or the value is too large
+     */
+    private static int parseGroup(String obisIDString, int start, int end) throws ParseException {
+        if (start == end) {
+            throw new ParseException("Invalid OBIS identifier:" + obisIDString, start);
+        }
+        long value = 0;
+
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (obisIDString.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new ParseException("Invalid OBIS identifier:" + obisIDString, start);
             }
-        } else {
-            throw new ParseException("Invalid OBIS identifier:" + obisIDString, 0);
         }
+        return (int) value;
     }
 
     public boolean isConflict() {
@@ -15,10 +15,10 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -33,6 +33,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The characters are classified with a lookup table. The values of the Cosem objects are collected while parsing, so
+ * they don't need to be searched for again when the Cosem objects are constructed.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -59,10 +62,40 @@ public class P1TelegramParser implements TelegramParser {
         CRC_VALUE
     }
 
+    /* Character classes of the bytes in a P1 telegram */
+    private static final byte OTHER = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte OBIS_SEPARATOR = 3;
+    private static final byte VALUE_START = 4;
+    private static final byte VALUE_END = 5;
+    private static final byte TELEGRAM_END = 6;
+
+    /**
+     * Lookup table with the character class of each byte value
+     */
+    private static final byte[] CHARACTER_CLASSES = new byte[256];
+
+    static {
+        Arrays.fill(CHARACTER_CLASSES, OTHER);
+        for (char c : new char[] { ' ', '\t', '\n', '\u000B', '\f', '\r', '\u001C', '\u001D', '\u001E', '\u001F' }) {
+            CHARACTER_CLASSES[c] = WHITESPACE;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CHARACTER_CLASSES[c] = DIGIT;
+        }
+        for (char c : new char[] { ':', '-', '.', '*' }) {
+            CHARACTER_CLASSES[c] = OBIS_SEPARATOR;
+        }
+        CHARACTER_CLASSES['('] = VALUE_START;
+        CHARACTER_CLASSES[')'] = VALUE_END;
+        CHARACTER_CLASSES['!'] = TELEGRAM_END;
+    }
+
     /**
-     * Pattern for the CRC-code
+     * Length of the CRC-code
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int CRC_LENGTH = 4;
 
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
@@ -74,10 +107,15 @@ public class P1TelegramParser implements TelegramParser {
     private final StringBuilder obisId = new StringBuilder();
 
     /**
-     * Current cosem object values buffer.
+     * Current cosem object value buffer.
      */
     private final StringBuilder obisValue = new StringBuilder();
 
+    /**
+     * Values of the current cosem object.
+     */
+    private final List<String> obisValues = new ArrayList<>();
+
     /**
      * In lenient mode store raw data and log when a complete message is received.
      */
@@ -116,7 +154,7 @@ public class P1TelegramParser implements TelegramParser {
     /**
      * Received Cosem Objects in the P1Telegram that is currently received
      */
-    private final List<CosemObject> cosemObjects = new ArrayList<>();
+    private List<CosemObject> cosemObjects = new ArrayList<>();
 
     /**
      * List of Cosem Object values that are not known to this binding.
@@ -162,6 +200,7 @@ public class P1TelegramParser implements TelegramParser {
         }
         for (int i = 0; i < length; i++) {
             char c = (char) data[i];
+            byte characterClass = CHARACTER_CLASSES[data[i] & 0xFF];
 
             switch (state) {
                 case WAIT_FOR_START:
@@ -175,9 +214,9 @@ public class P1TelegramParser implements TelegramParser {
                     }
                     break;
                 case CRLF:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (characterClass == WHITESPACE) { // NOPMD EmptyIfStmt
                         // do nothing
-                    } else if (Character.isDigit(c)) {
+                    } else if (characterClass == DIGIT) {
                         setState(State.DATA_OBIS_ID);
                     } else {
                         handleUnexpectedCharacter(c);
@@ -186,13 +225,12 @@ public class P1TelegramParser implements TelegramParser {
                     }
                     break;
                 case DATA_OBIS_ID:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
-                        // ignore
-                    } else if (Character.isDigit(c) || c == ':' || c == '-' || c == '.' || c == '*') { // NOPMD
+                    if (characterClass == WHITESPACE || characterClass == DIGIT
+                            || characterClass == OBIS_SEPARATOR) { // NOPMD EmptyIfStmt
                         // do nothing
-                    } else if (c == '(') {
+                    } else if (characterClass == VALUE_START) {
                         setState(State.DATA_OBIS_VALUE);
-                    } else if (c == '!') {
+                    } else if (characterClass == TELEGRAM_END) {
                         handleUnexpectedCharacter(c);
                         if (lenientMode) {
                             // Clear current Obis Data (Keep already received data)
@@ -213,18 +251,19 @@ public class P1TelegramParser implements TelegramParser {
                     }
                     break;
                 case DATA_OBIS_VALUE:
-                    if (c == ')') {
+                    if (characterClass == VALUE_END) {
+                        obisValues.add(obisValue.toString());
                         setState(State.DATA_OBIS_VALUE_END);
                     }
                     break;
                 case DATA_OBIS_VALUE_END:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (characterClass == WHITESPACE) { // NOPMD EmptyIfStmt
                         // ignore
-                    } else if (Character.isDigit(c)) {
+                    } else if (characterClass == DIGIT) {
                         setState(State.DATA_OBIS_ID);
-                    } else if (c == '(') {
+                    } else if (characterClass == VALUE_START) {
                         setState(State.DATA_OBIS_VALUE);
-                    } else if (c == '!') {
+                    } else if (characterClass == TELEGRAM_END) {
                         setState(State.CRC_VALUE);
                     } else {
                         handleUnexpectedCharacter(c);
@@ -245,8 +284,9 @@ public class P1TelegramParser implements TelegramParser {
                         logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
                         // Only perform CRC check if telegram is still ok
                         if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                            int crcP1Telegram = parseCRC();
+
+                            if (crcP1Telegram >= 0) {
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
                                 if (logger.isDebugEnabled()) {
@@ -280,14 +320,42 @@ public class P1TelegramParser implements TelegramParser {
         logger.trace("State after parsing: {}", state);
     }
 
+    /**
+     * Parses the received CRC value as a hexadecimal number.
+     *
+     * @return the CRC value or -1 if the received value is not a valid CRC value
+     */
+    private int parseCRC() {
+        if (crcValue.length() != CRC_LENGTH) {
+            return -1;
+        }
+        int crcP1Telegram = 0;
+
+        for (int i = 0; i < CRC_LENGTH; i++) {
+            char c = crcValue.charAt(i);
+            int digit = (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') ? Character.digit(c, 16) : -1;
+
+            if (digit < 0) {
+                return -1;
+            }
+            crcP1Telegram = (crcP1Telegram << 4) | digit;
+        }
+        return crcP1Telegram;
+    }
+
+    /**
+     * Constructs the telegram of the received Cosem Objects. The list of received Cosem Objects is handed over to the
+     * telegram, and replaced by a new list sized for the next telegram.
+     */
     private P1Telegram constructTelegram() {
-        final List<CosemObject> cosemObjectsCopy = new ArrayList<>(cosemObjects);
+        final List<CosemObject> receivedCosemObjects = cosemObjects;
 
+        cosemObjects = new ArrayList<>(receivedCosemObjects.size());
         if (lenientMode) {
-            return new P1Telegram(cosemObjectsCopy, telegramState, rawData.toString(),
+            return new P1Telegram(receivedCosemObjects, telegramState, rawData.toString(),
                     unknownCosemObjects.isEmpty() ? Collections.emptyList() : new ArrayList<>(unknownCosemObjects));
         } else {
-            return new P1Telegram(cosemObjectsCopy, telegramState);
+            return new P1Telegram(receivedCosemObjects, telegramState);
         }
     }
 
@@ -328,11 +396,15 @@ public class P1TelegramParser implements TelegramParser {
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE:
-                obisValue.append(c);
+                if (c == '(') {
+                    // Start of a new value
+                    obisValue.setLength(0);
+                } else {
+                    obisValue.append(c);
+                }
                 crc.processByte((byte) c);
                 break;
             case DATA_OBIS_VALUE_END:
-                obisValue.append(c);
                 crc.processByte((byte) c);
                 break;
             case CRC_VALUE:
@@ -354,6 +426,7 @@ public class P1TelegramParser implements TelegramParser {
     private void clearInternalData() {
         obisId.setLength(0);
         obisValue.setLength(0);
+        obisValues.clear();
         rawData.setLength(0);
         crcValue.setLength(0);
         crc.initialize();
@@ -369,6 +442,7 @@ public class P1TelegramParser implements TelegramParser {
     private void clearObisData() {
         obisId.setLength(0);
         obisValue.setLength(0);
+        obisValues.clear();
     }
 
     /**
@@ -378,12 +452,11 @@ public class P1TelegramParser implements TelegramParser {
         String obisIdString = obisId.toString();
 
         if (!obisIdString.isEmpty()) {
-            final String obisValueString = obisValue.toString();
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValueString);
+            CosemObject cosemObject = factory.getCosemObject(obisIdString, obisValues);
 
             if (cosemObject == null) {
                 if (lenientMode) {
-                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, obisValueString));
+                    unknownCosemObjects.add(new SimpleEntry<>(obisIdString, joinObisValues()));
                 }
             } else {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
@@ -393,6 +466,18 @@ public class P1TelegramParser implements TelegramParser {
         clearObisData();
     }
 
+    /**
+     * @return the values of the current cosem object, each enclosed in parentheses
+     */
+    private String joinObisValues() {
+        final StringBuilder joined = new StringBuilder();
+
+        for (String value : obisValues) {
+            joined.append('(').append(value).append(')');
+        }
+        return joined.toString();
+    }
+
     /**
      * @param newState the new state to set
      */
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.ParseException;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link OBISIdentifier}.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public class OBISIdentifierTest {
+
+    @Test
+    public void testParseFullIdentifier() throws ParseException {
+        assertEquals(new OBISIdentifier(1, 0, 1, 8, 1, 255), new OBISIdentifier("1-0:1.8.1*255"));
+        assertEquals(new OBISIdentifier(1, 0, 1, 8, 1, 255), new OBISIdentifier("1-0:1.8.1.255"));
+    }
+
+    @Test
+    public void testParseOptionalGroups() throws ParseException {
+        assertEquals(new OBISIdentifier(0, 1, 24, 2, 1, null), new OBISIdentifier("0-1:24.2.1"));
+        assertEquals(new OBISIdentifier(0, 1, 24, 3, null, null), new OBISIdentifier("1:24.3"));
+        assertEquals(new OBISIdentifier(7, null, 23, 1, null, null), new OBISIdentifier("7-23.1"));
+        assertEquals(new OBISIdentifier(0, null, 96, 1, null, 255), new OBISIdentifier("96.1*255"));
+    }
+
+    @Test(expected = ParseException.class)
+    public void testMissingGroupD() throws ParseException {
+        new OBISIdentifier("1-0:1");
+    }
+
+    @Test(expected = ParseException.class)
+    public void testTrailingCharacters() throws ParseException {
+        new OBISIdentifier("1-0:1.8.1*255 ");
+    }
+
+    @Test(expected = ParseException.class)
+    public void testGroupTooLarge() throws ParseException {
+        new OBISIdentifier("1-0:1.8.99999999999");
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dsmr.internal.device.p1telegram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.binding.dsmr.internal.TelegramReaderUtil;
+
+/**
+ * Benchmark of the {@link P1TelegramParser} with the recorded telegrams of DSMR 2.2 to 5.0 meters.
+ *
+ * This is not a unit test and is not run during the build. Run the main method to measure the number of telegrams
+ * that can be parsed per second.
+ *
+ * @author Hilbrand Bouwkamp - Initial contribution
+ */
+public final class P1TelegramParserBenchmark {
+
+    private static final String[] TELEGRAMS = { "ace4000", "dsmr_40", "dsmr_42", "dsmr_50", "flu5", "Iskra_AM550",
+            "Landis_Gyr_E350", "Landis_Gyr_ZCF110", "Sagemcom_XS210", "smarty" };
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private P1TelegramParserBenchmark() {
+        // Benchmark main class
+    }
+
+    public static void main(String[] args) {
+        AtomicInteger received = new AtomicInteger();
+
+        // Warm up with all telegrams first, so the measurements don't depend on the order of the telegrams
+        for (String telegramName : TELEGRAMS) {
+            parse(new P1TelegramParser(t -> received.incrementAndGet()),
+                    TelegramReaderUtil.readRawTelegram(telegramName), WARMUP_ITERATIONS);
+        }
+        for (String telegramName : TELEGRAMS) {
+            byte[] telegram = TelegramReaderUtil.readRawTelegram(telegramName);
+            P1TelegramParser parser = new P1TelegramParser(t -> received.incrementAndGet());
+
+            received.set(0);
+            long start = System.nanoTime();
+            parse(parser, telegram, ITERATIONS);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(String.format("%-20s %8.1f us/telegram %10.0f telegrams/s (%d received)", telegramName,
+                    elapsed / 1000.0 / ITERATIONS, ITERATIONS * 1e9 / elapsed, received.get()));
+        }
+    }
+
+    private static void parse(P1TelegramParser parser, byte[] telegram, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            parser.parse(telegram, telegram.length);
+        }
+    }
+}
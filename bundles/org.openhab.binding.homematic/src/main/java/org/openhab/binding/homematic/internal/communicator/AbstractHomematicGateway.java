@@ -15,9 +15,11 @@ package org.openhab.binding.homematic.internal.communicator;
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,8 +27,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
@@ -90,6 +96,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String METADATA_POOL_NAME = "homematicMetadata";
+    private static final int MAX_PARALLEL_METADATA_REQUESTS = 4;
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -106,10 +114,11 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
+    private final HomematicMetadataCache metadataCache;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
 
     static {
@@ -139,6 +148,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.metadataCache = new HomematicMetadataCache(HomematicMetadataCache.getCacheFile(id));
     }
 
     @Override
@@ -368,64 +378,193 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        metadataCache.load(getGatewayVersion());
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
 
-        // loading datapoints for all channels
+        // devices with cached metadata are loaded first, then the other devices are loaded in parallel, except for devices
+        // equal to one of them, which are loaded last from the metadata requested for the first one
         Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        Set<String> usedChannelIds = new HashSet<>();
+        Set<String> requestedChannelIds = new HashSet<>();
+        List<HmDevice> uncachedDevices = new ArrayList<>();
+        List<HmDevice> sameTypeDevices = new ArrayList<>();
         for (HmDevice device : deviceDescriptions) {
             if (!cancelLoadAllMetadata) {
-                try {
-                    logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(),
-                            device.getType());
-                    if (device.isGatewayExtras()) {
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
-                        loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
-                    } else {
-                        for (HmChannel channel : device.getChannels()) {
-                            logger.trace("  Loading channel {}", channel);
-                            // speed up metadata generation a little bit for equal channels in the gateway devices
-                            if ((DEVICE_TYPE_VIRTUAL.equals(device.getType())
-                                    || DEVICE_TYPE_VIRTUAL_WIRED.equals(device.getType())) && channel.getNumber() > 1) {
-                                HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
-                                cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
-                            } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
-                                if (cachedDatapoints != null) {
-                                    // clone all datapoints
-                                    cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
-                                } else {
-                                    logger.trace("    Loading datapoints into channel {}", channel);
-                                    addChannelDatapoints(channel, HmParamsetType.MASTER);
-                                    addChannelDatapoints(channel, HmParamsetType.VALUES);
-
-                                    // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
-                                    // the data point set might change depending on the selected mode.
-                                    if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
-                                    }
-                                }
+                Set<String> uncachedChannelIds = new HashSet<>();
+                if (!device.isGatewayExtras()) {
+                    for (HmChannel channel : device.getChannels()) {
+                        if (!isClonedVirtualChannel(channel)) {
+                            String channelId = HomematicMetadataCache.getChannelId(channel);
+                            usedChannelIds.add(channelId);
+                            if (!metadataCache.contains(channelId)) {
+                                uncachedChannelIds.add(channelId);
                             }
                         }
                     }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
-                } catch (IOException ex) {
-                    logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
-                            ex.getMessage());
                 }
+                if (uncachedChannelIds.isEmpty()) {
+                    if (loadDeviceDatapoints(device)) {
+                        onDeviceDatapointsLoaded(device, loadedDevices);
+                    }
+                } else if (requestedChannelIds.addAll(uncachedChannelIds)) {
+                    uncachedDevices.add(device);
+                } else {
+                    // the metadata is requested for an equal device, which is loaded in parallel
+                    sameTypeDevices.add(device);
+                }
+            }
+        }
+        loadDeviceDatapointsInParallel(uncachedDevices, loadedDevices);
+        for (HmDevice device : sameTypeDevices) {
+            if (!cancelLoadAllMetadata && loadDeviceDatapoints(device)) {
+                onDeviceDatapointsLoaded(device, loadedDevices);
             }
         }
+
         if (!cancelLoadAllMetadata) {
             devices.keySet().retainAll(loadedDevices);
+            metadataCache.retainAll(usedChannelIds);
         }
+        metadataCache.save();
         initialized = true;
     }
 
+    /**
+     * Returns the type and firmware of the gateway. The metadata cache is dropped when they change, as the paramset
+     * descriptions of the devices may change with the gateway firmware.
+     */
+    private String getGatewayVersion() {
+        HmGatewayInfo gatewayInfo = config.getGatewayInfo();
+        return gatewayInfo == null ? "" : gatewayInfo.getType() + ":" + gatewayInfo.getFirmware();
+    }
+
+    /**
+     * Loads the datapoints of the given devices with a bounded number of parallel requests to the gateway. The devices
+     * are prepared and announced in the given order by the calling thread.
+     */
+    private void loadDeviceDatapointsInParallel(List<HmDevice> devicesToLoad, Set<String> loadedDevices) {
+        if (devicesToLoad.isEmpty() || cancelLoadAllMetadata) {
+            return;
+        }
+        int parallelRequests = config.getGatewayInfo().isCCU1() ? 1 : MAX_PARALLEL_METADATA_REQUESTS;
+        logger.debug("Loading metadata for {} device(s) from gateway '{}' with up to {} parallel requests",
+                devicesToLoad.size(), id, parallelRequests);
+
+        ExecutorService executor = ThreadPoolManager.getPool(METADATA_POOL_NAME);
+        Semaphore requestPermits = new Semaphore(parallelRequests);
+        Deque<Future<HmDevice>> pendingDevices = new ArrayDeque<>();
+        try {
+            for (HmDevice device : devicesToLoad) {
+                requestPermits.acquire();
+                if (cancelLoadAllMetadata) {
+                    requestPermits.release();
+                    break;
+                }
+                pendingDevices.add(executor.submit(() -> {
+                    try {
+                        return !cancelLoadAllMetadata && loadDeviceDatapoints(device) ? device : null;
+                    } finally {
+                        requestPermits.release();
+                    }
+                }));
+                while (!pendingDevices.isEmpty() && pendingDevices.peek().isDone()) {
+                    completeDeviceLoad(pendingDevices.poll(), loadedDevices);
+                }
+            }
+            while (!pendingDevices.isEmpty()) {
+                completeDeviceLoad(pendingDevices.poll(), loadedDevices);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            cancelLoadAllMetadata = true;
+            for (Future<HmDevice> pendingDevice : pendingDevices) {
+                pendingDevice.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Waits for the datapoints of a device to be loaded and announces the device.
+     */
+    private void completeDeviceLoad(Future<HmDevice> pendingDevice, Set<String> loadedDevices)
+            throws InterruptedException {
+        try {
+            HmDevice device = pendingDevice.get();
+            if (device != null && !cancelLoadAllMetadata) {
+                onDeviceDatapointsLoaded(device, loadedDevices);
+            }
+        } catch (ExecutionException ex) {
+            logger.warn("Can't load device from gateway '{}': {}", id, ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    private void onDeviceDatapointsLoaded(HmDevice device, Set<String> loadedDevices) {
+        prepareDevice(device);
+        loadedDevices.add(device.getAddress());
+        gatewayAdapter.onDeviceLoaded(device);
+    }
+
+    /**
+     * Loads the datapoints of all channels of the device. The metadata of the channels is taken from the metadata
+     * cache if possible, otherwise it is loaded from the gateway and added to the cache.
+     *
+     * @return false, if the device could not be loaded
+     */
+    private boolean loadDeviceDatapoints(HmDevice device) {
+        try {
+            logger.trace("Loading metadata for device '{}' of type '{}'", device.getAddress(), device.getType());
+            if (device.isGatewayExtras()) {
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_VARIABLE));
+                loadChannelValues(device.getChannel(HmChannel.CHANNEL_NUMBER_SCRIPT));
+            } else {
+                for (HmChannel channel : device.getChannels()) {
+                    logger.trace("  Loading channel {}", channel);
+                    // speed up metadata generation a little bit for equal channels in the gateway devices
+                    if (isClonedVirtualChannel(channel)) {
+                        HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
+                        cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
+                    } else {
+                        String channelId = HomematicMetadataCache.getChannelId(channel);
+                        List<HmDatapoint> cachedDatapoints = metadataCache.get(channelId);
+                        if (cachedDatapoints != null) {
+                            logger.trace("    Adding {} cached datapoints to channel {}", cachedDatapoints.size(),
+                                    channel);
+                            for (HmDatapoint dp : cachedDatapoints) {
+                                channel.addDatapoint(dp);
+                            }
+                        } else {
+                            logger.trace("    Loading datapoints into channel {}", channel);
+                            addChannelDatapoints(channel, HmParamsetType.MASTER);
+                            addChannelDatapoints(channel, HmParamsetType.VALUES);
+
+                            // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
+                            // the data point set might change depending on the selected mode.
+                            if (!channel.isReconfigurable()) {
+                                metadataCache.put(channelId, channel.getDatapoints());
+                            }
+                        }
+                    }
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
+                    ex.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Returns true, if the channel is a channel of a virtual gateway device, whose datapoints are cloned from the
+     * previous channel.
+     */
+    private boolean isClonedVirtualChannel(HmChannel channel) {
+        String deviceType = channel.getDevice().getType();
+        return (DEVICE_TYPE_VIRTUAL.equals(deviceType) || DEVICE_TYPE_VIRTUAL_WIRED.equals(deviceType))
+                && channel.getNumber() > 1;
+    }
+
     /**
      * Loads all datapoints from the gateway.
      */
@@ -442,7 +581,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     /**
      * Loads all device descriptions from the gateway.
      */
-    private List<HmDevice> getDeviceDescriptions() throws IOException {
+    protected List<HmDevice> getDeviceDescriptions() throws IOException {
         List<HmDevice> deviceDescriptions = new ArrayList<>();
         for (HmInterface hmInterface : availableInterfaces.keySet()) {
             deviceDescriptions.addAll(getRpcClient(hmInterface).listDevices(hmInterface));
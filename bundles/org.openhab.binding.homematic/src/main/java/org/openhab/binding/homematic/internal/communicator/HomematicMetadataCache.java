@@ -0,0 +1,387 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.openhab.binding.homematic.internal.HomematicBindingConstants.BINDING_ID;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache for the datapoint metadata (the MASTER and VALUES paramset descriptions) of the channels of a
+ * Homematic gateway. The metadata of a channel only depends on the type and the firmware of the device and the channel
+ * number, so the entries are keyed by those and shared between equal devices.
+ * <p>
+ * The cache is dropped when the type or firmware of the gateway changes, because the paramset descriptions are provided
+ * by the gateway. A device firmware update changes the keys of its channels. So changed metadata is loaded from the
+ * gateway at the next start.
+ * <p>
+ * The entries are kept in their serialized form. This makes it cheap to detect unchanged metadata and to write the
+ * cache file.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class HomematicMetadataCache {
+    private final Logger logger = LoggerFactory.getLogger(HomematicMetadataCache.class);
+
+    private static final int FORMAT_VERSION = 2;
+    private static final String CACHE_FOLDER_NAME = "cache";
+    private static final String CACHE_FILE_EXTENSION = ".metadata";
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_INTEGER = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_STRING = 5;
+
+    private static final Comparator<HmDatapoint> DATAPOINT_ORDER = Comparator
+            .comparing((HmDatapoint dp) -> dp.getParamsetType().toString()).thenComparing(HmDatapoint::getName);
+
+    private final File file;
+    private final Map<String, byte[]> entries = new HashMap<>();
+    private String gatewayVersion = "";
+    private boolean modified;
+
+    public HomematicMetadataCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the cache file for the gateway with the given id.
+     */
+    public static File getCacheFile(String gatewayId) {
+        File folder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME),
+                "org.openhab.binding." + BINDING_ID);
+        return new File(folder, gatewayId + CACHE_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the key of the metadata of the given channel.
+     */
+    public static String getChannelId(HmChannel channel) {
+        return String.format("%s:%s:%s", channel.getDevice().getType(), channel.getDevice().getFirmware(),
+                channel.getNumber());
+    }
+
+    /**
+     * Loads the cache file. If the file does not exist, can't be read or was written for another version of the
+     * gateway, the cache starts empty.
+     *
+     * @param gatewayVersion the type and firmware of the gateway
+     */
+    public synchronized void load(String gatewayVersion) {
+        this.gatewayVersion = gatewayVersion;
+        entries.clear();
+        modified = false;
+        if (!file.exists()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                logger.debug("Ignoring metadata cache '{}' with unsupported format", file);
+                modified = true;
+                return;
+            }
+            String cachedGatewayVersion = in.readUTF();
+            if (!cachedGatewayVersion.equals(gatewayVersion)) {
+                logger.debug("Ignoring metadata cache '{}' of gateway version '{}', the gateway is now '{}'", file,
+                        cachedGatewayVersion, gatewayVersion);
+                modified = true;
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String channelId = in.readUTF();
+                byte[] entry = new byte[in.readInt()];
+                in.readFully(entry);
+                entries.put(channelId, entry);
+            }
+            logger.debug("Loaded metadata of {} channels from cache '{}'", entries.size(), file);
+        } catch (IOException ex) {
+            logger.debug("Ignoring unreadable metadata cache '{}': {}", file, ex.getMessage());
+            entries.clear();
+            modified = true;
+        }
+    }
+
+    /**
+     * Writes the cache file, if the cache was modified since it was loaded or saved.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        File folder = file.getParentFile();
+        if (folder != null && !folder.exists() && !folder.mkdirs()) {
+            logger.debug("Can't create folder for metadata cache '{}'", file);
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(gatewayVersion);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue().length);
+                    out.write(entry.getValue());
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            modified = false;
+            logger.debug("Saved metadata of {} channels to cache '{}'", entries.size(), file);
+        } catch (IOException ex) {
+            logger.warn("Can't write metadata cache '{}': {}", file, ex.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Returns true, if the metadata of the channel with the given key is cached.
+     */
+    public synchronized boolean contains(String channelId) {
+        return entries.containsKey(channelId);
+    }
+
+    /**
+     * Returns the keys of all cached channels.
+     */
+    public synchronized Set<String> getChannelIds() {
+        return new HashSet<>(entries.keySet());
+    }
+
+    /**
+     * Returns new datapoints with the cached metadata of the channel with the given key or null, if the channel is not
+     * cached or the entry is unreadable. The value of each datapoint starts at its default value, like the value of a
+     * datapoint loaded from the gateway.
+     */
+    public List<HmDatapoint> get(String channelId) {
+        byte[] entry;
+        synchronized (this) {
+            entry = entries.get(channelId);
+        }
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return decode(entry);
+        } catch (IOException ex) {
+            logger.debug("Removing unreadable metadata of channel '{}' from cache: {}", channelId, ex.getMessage());
+            remove(channelId);
+            return null;
+        }
+    }
+
+    /**
+     * Caches the metadata of the given datapoints for the channel with the given key. Virtual datapoints are not
+     * cached, they are added by the binding itself.
+     *
+     * @return true, if the metadata differs from the previously cached metadata of the channel
+     */
+    public boolean put(String channelId, Collection<HmDatapoint> datapoints) {
+        byte[] entry;
+        try {
+            entry = encode(datapoints);
+        } catch (IOException ex) {
+            logger.debug("Can't cache metadata of channel '{}': {}", channelId, ex.getMessage());
+            remove(channelId);
+            return true;
+        }
+        synchronized (this) {
+            byte[] previousEntry = entries.put(channelId, entry);
+            if (previousEntry != null && Arrays.equals(previousEntry, entry)) {
+                return false;
+            }
+            modified = true;
+            return true;
+        }
+    }
+
+    /**
+     * Removes the metadata of the channel with the given key.
+     */
+    public synchronized void remove(String channelId) {
+        if (entries.remove(channelId) != null) {
+            modified = true;
+        }
+    }
+
+    /**
+     * Removes the metadata of all channels, whose key is not in the given set.
+     */
+    public synchronized void retainAll(Set<String> channelIds) {
+        if (entries.keySet().retainAll(channelIds)) {
+            modified = true;
+        }
+    }
+
+    private static byte[] encode(Collection<HmDatapoint> datapoints) throws IOException {
+        List<HmDatapoint> sortedDatapoints = new ArrayList<>(datapoints.size());
+        for (HmDatapoint dp : datapoints) {
+            if (!dp.isVirtual()) {
+                sortedDatapoints.add(dp);
+            }
+        }
+        sortedDatapoints.sort(DATAPOINT_ORDER);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(sortedDatapoints.size());
+            for (HmDatapoint dp : sortedDatapoints) {
+                out.writeUTF(dp.getName());
+                writeString(out, dp.getDescription());
+                out.writeUTF(dp.getType().toString());
+                out.writeUTF(dp.getParamsetType().toString());
+                writeValue(out, dp.getMinValue());
+                writeValue(out, dp.getMaxValue());
+                writeValue(out, dp.getStep());
+                String[] options = dp.getOptions();
+                out.writeInt(options == null ? -1 : options.length);
+                if (options != null) {
+                    for (String option : options) {
+                        writeString(out, option);
+                    }
+                }
+                out.writeBoolean(dp.isReadOnly());
+                out.writeBoolean(dp.isReadable());
+                writeString(out, dp.getInfo());
+                writeString(out, dp.getUnit());
+                out.writeBoolean(dp.isTrigger());
+                writeValue(out, dp.getDefaultValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<HmDatapoint> decode(byte[] entry) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry))) {
+            int count = in.readInt();
+            List<HmDatapoint> datapoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                HmDatapoint dp = new HmDatapoint();
+                dp.setName(in.readUTF());
+                dp.setDescription(readString(in));
+                dp.setType(HmValueType.valueOf(in.readUTF()));
+                dp.setParamsetType(HmParamsetType.valueOf(in.readUTF()));
+                dp.setMinValue((Number) readValue(in));
+                dp.setMaxValue((Number) readValue(in));
+                dp.setStep((Number) readValue(in));
+                int optionCount = in.readInt();
+                if (optionCount >= 0) {
+                    String[] options = new String[optionCount];
+                    for (int j = 0; j < optionCount; j++) {
+                        options[j] = readString(in);
+                    }
+                    dp.setOptions(options);
+                }
+                dp.setReadOnly(in.readBoolean());
+                dp.setReadable(in.readBoolean());
+                dp.setInfo(readString(in));
+                dp.setUnit(readString(in));
+                dp.setTrigger(in.readBoolean());
+                dp.setDefaultValue(readValue(in));
+                dp.setValue(dp.getDefaultValue());
+                datapoints.add(dp);
+            }
+            return datapoints;
+        } catch (IllegalArgumentException | ClassCastException ex) {
+            throw new IOException(ex.getMessage(), ex);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeValue(out, value);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        Object value = readValue(in);
+        if (value != null && !(value instanceof String)) {
+            throw new IOException("Unexpected value type " + value.getClass().getSimpleName());
+        }
+        return (String) value;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String) value);
+        } else {
+            throw new IOException("Unsupported value type " + value.getClass().getSimpleName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_STRING:
+                return in.readUTF();
+            default:
+                throw new IOException("Unknown value type " + type);
+        }
+    }
+}
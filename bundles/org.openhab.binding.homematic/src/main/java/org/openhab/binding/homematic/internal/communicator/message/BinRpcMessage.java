@@ -19,17 +19,19 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,19 @@ import org.slf4j.LoggerFactory;
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private final Logger logger = LoggerFactory.getLogger(BinRpcMessage.class);
 
+    /**
+     * Length of the signature and the content length at the beginning of each message.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    /**
+     * Largest accepted content length of a message, the buffer for a message is allocated before it is read.
+     */
+    public static final int MAX_CONTENT_LENGTH = 32 * 1024 * 1024;
+    private static final int DECIMAL_PLACES = 6;
+    private static final long DECIMAL_FACTOR = 1000000L;
+    private static final double DECIMAL_DIVISOR = 1000000.0;
+
     public enum TYPE {
         REQUEST,
         RESPONSE
@@ -74,36 +89,21 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading signature");
-        }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
-        if (length != 4) {
-            throw new EOFException("Only " + length + " bytes received reading message length");
-        }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
-        int currentLength;
-
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
-            offset += currentLength;
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = readFully(is, header, 0, HEADER_LENGTH);
+        if (length != HEADER_LENGTH) {
+            throw new EOFException("Only " + length + " bytes received reading signature and message length");
         }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
+        validateBinXSignature(header);
+        int datasize = getContentLength(header, 0);
+        byte message[] = new byte[HEADER_LENGTH + datasize];
+        System.arraycopy(header, 0, message, 0, HEADER_LENGTH);
+        length = readFully(is, message, HEADER_LENGTH, datasize);
+        if (length != datasize) {
+            throw new EOFException("Only " + length + " bytes received while reading message payload, expected "
                     + datasize + " bytes");
         }
-        byte[] message = ArrayUtils.addAll(sig, payload);
-        decodeMessage(message, methodHeader);
-    }
-
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
-        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
-            throw new UnsupportedEncodingException("No BinX signature");
-        }
+        decodeMessage(ByteBuffer.wrap(message), methodHeader, null);
     }
 
     /**
@@ -111,37 +111,100 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(byte[] message, boolean methodHeader, String encoding) throws IOException, ParseException {
         this.encoding = encoding;
-        if (message.length < 8) {
+        if (message.length < HEADER_LENGTH) {
             throw new EOFException("Only " + message.length + " bytes received");
         }
         validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        decodeMessage(ByteBuffer.wrap(message), methodHeader, null);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
-        binRpcData = message;
+    /**
+     * Decodes a BIN-RPC message from the given buffer. The message must start at the position of the buffer and end
+     * at its limit, the position is moved to the limit. The decoded values don't refer to the buffer, so it can be
+     * reused afterwards.
+     *
+     * @param stringCache cache for the decoded strings, may be null
+     */
+    public BinRpcMessage(ByteBuffer buffer, boolean methodHeader, String encoding, BinRpcStringCache stringCache)
+            throws IOException {
+        this.encoding = encoding;
+        if (buffer.remaining() < HEADER_LENGTH) {
+            throw new EOFException("Only " + buffer.remaining() + " bytes received");
+        }
+        if (!hasBinXSignature(buffer, buffer.position())) {
+            throw new UnsupportedEncodingException("No BinX signature");
+        }
+        decodeMessage(buffer, methodHeader, stringCache);
+    }
 
-        offset = 8;
+    private static int readFully(InputStream is, byte[] data, int offset, int length) throws IOException {
+        int read = 0;
+        int currentLength;
+        while (read < length && (currentLength = is.read(data, offset + read, length - read)) != -1) {
+            read += currentLength;
+        }
+        return read;
+    }
 
-        if (methodHeader) {
-            methodName = readString();
-            readInt();
+    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+        if (!hasBinXSignature(ByteBuffer.wrap(sig), 0)) {
+            throw new UnsupportedEncodingException("No BinX signature");
         }
-        generateResponseData();
     }
 
-    public void setType(TYPE type) {
-        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
+    /**
+     * Returns true, if the bytes at the given index of the buffer are the signature of a BIN-RPC message.
+     */
+    public static boolean hasBinXSignature(ByteBuffer buffer, int index) {
+        return buffer.get(index) == 'B' && buffer.get(index + 1) == 'i' && buffer.get(index + 2) == 'n';
     }
 
-    private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
-        List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
-            values.add(readRpcValue());
+    /**
+     * Returns the length of the content of the message, whose header starts at the given index of the array.
+     */
+    public static int getContentLength(byte[] data, int index) throws IOException {
+        return checkContentLength(ByteBuffer.wrap(data).getInt(index + 4));
+    }
+
+    /**
+     * Returns the length of the content of the message, whose header starts at the given index of the buffer.
+     */
+    public static int getContentLength(ByteBuffer buffer, int index) throws IOException {
+        return checkContentLength(buffer.getInt(index + 4));
+    }
+
+    private static int checkContentLength(int length) throws IOException {
+        if (length < 0 || length > MAX_CONTENT_LENGTH) {
+            throw new IOException("Invalid BIN-RPC message length " + length);
+        }
+        return length;
+    }
+
+    private void decodeMessage(ByteBuffer buffer, boolean methodHeader, BinRpcStringCache stringCache)
+            throws IOException {
+        Charset charset = stringCache != null ? stringCache.getCharset() : Charset.forName(encoding);
+        ByteBuffer message = buffer.slice();
+        buffer.position(buffer.limit());
+        try {
+            int end = Math.min(message.limit(), HEADER_LENGTH + getContentLength(message, 0));
+            message.limit(end);
+            message.position(HEADER_LENGTH);
+            if (methodHeader) {
+                methodName = readString(message, charset, stringCache);
+                message.getInt();
+            }
+            List<Object> values = new ArrayList<>();
+            while (message.hasRemaining()) {
+                values.add(readRpcValue(message, charset, stringCache));
+            }
+            messageData = values.toArray();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+            throw new EOFException("Incomplete BIN-RPC message");
         }
-        messageData = values.toArray();
-        values.clear();
+    }
+
+    public void setType(TYPE type) {
+        binRpcData[3] = type == TYPE.RESPONSE ? (byte) 1 : (byte) 0;
     }
 
     private void createHeader() {
@@ -162,6 +225,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     @Override
     public void addArg(Object argument) {
+        messageData = null;
         addObject(argument);
         setInt(4, offset - 8);
 
@@ -197,61 +261,99 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
-        offset += 4;
-        return (new BigInteger(bi)).intValue();
-    }
-
-    private String readString() throws UnsupportedEncodingException {
-        int len = readInt();
-        offset += len;
-        return new String(binRpcData, offset - len, len, encoding);
+    private static String readString(ByteBuffer buffer, Charset charset, BinRpcStringCache stringCache)
+            throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new EOFException("Incomplete BIN-RPC message");
+        }
+        byte data[];
+        int offset;
+        if (buffer.hasArray()) {
+            data = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+        } else {
+            data = new byte[length];
+            offset = 0;
+            buffer.get(data);
+        }
+        return stringCache != null ? stringCache.getString(data, offset, length)
+                : new String(data, offset, length, charset);
     }
 
-    private Object readRpcValue() throws IOException {
-        int type = readInt();
+    private Object readRpcValue(ByteBuffer buffer, Charset charset, BinRpcStringCache stringCache)
+            throws IOException {
+        int type = buffer.getInt();
         switch (type) {
             case 1:
-                return new Integer(readInt());
+                return Integer.valueOf(buffer.getInt());
             case 2:
-                return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
+                return buffer.get() != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
-                return readString();
+                return readString(buffer, charset, stringCache);
             case 4:
-                int mantissa = readInt();
-                int exponent = readInt();
-                BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
-                return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
+                int mantissa = buffer.getInt();
+                int exponent = buffer.getInt();
+                return toDouble(mantissa, exponent);
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(buffer.getInt() * 1000);
             case 0x100:
                 // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                int numElements = buffer.getInt();
+                Object array[] = new Object[Math.min(Math.max(numElements, 0), buffer.remaining() / 4)];
+                for (int i = 0; i < numElements; i++) {
+                    Object value = readRpcValue(buffer, charset, stringCache);
+                    if (i >= array.length) {
+                        array = Arrays.copyOf(array, numElements);
+                    }
+                    array[i] = value;
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
-                numElements = readInt();
-                Map<String, Object> struct = new TreeMap<>();
+                numElements = buffer.getInt();
+                Map<String, Object> struct = new HashMap<>(
+                        Math.min(Math.max(numElements, 0), buffer.remaining() / 8) * 4 / 3 + 1);
                 while (numElements-- > 0) {
-                    String name = readString();
-                    struct.put(name, readRpcValue());
+                    String name = readString(buffer, charset, stringCache);
+                    struct.put(name, readRpcValue(buffer, charset, stringCache));
                 }
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                if (logger.isDebugEnabled()) {
+                    byte data[] = new byte[buffer.limit()];
+                    buffer.duplicate().position(0).get(data);
+                    logger.debug("Unknown data type {} in BIN-RPC message {}", type, Arrays.toString(data));
                 }
                 throw new IOException("Unknown data type " + type);
         }
     }
 
+    /**
+     * Converts a BIN-RPC double, which is mantissa / 2^30 * 2^exponent, to a double rounded to six decimal places.
+     * Values with a fraction are rounded with integer arithmetic, which gives exactly the same result as rounding the
+     * value with {@link BigDecimal}, but without creating any objects.
+     */
+    static double toDouble(int mantissa, int exponent) {
+        int shift = 30 - exponent;
+        if (shift > 0 && shift < 63) {
+            long scaled = Math.abs((long) mantissa) * DECIMAL_FACTOR;
+            long rounded = scaled >> shift;
+            long remainder = scaled & ((1L << shift) - 1);
+            if (remainder > 1L << (shift - 1)) {
+                rounded++;
+            }
+            if (rounded == 0) {
+                return 0.0;
+            }
+            return (mantissa < 0 ? -rounded : rounded) / DECIMAL_DIVISOR;
+        }
+        BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
+        return bd.setScale(DECIMAL_PLACES, RoundingMode.HALF_DOWN).doubleValue();
+    }
+
     private void setInt(int position, int value) {
         int temp = offset;
         offset = position;
@@ -370,8 +472,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
+            if (messageData == null) {
+                trimBinRpcData();
+                decodeMessage(ByteBuffer.wrap(binRpcData), methodName != null, null);
+            }
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
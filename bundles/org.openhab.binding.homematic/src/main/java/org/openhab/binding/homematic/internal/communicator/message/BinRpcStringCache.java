@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Cache for the short strings of BIN-RPC messages. Events of a Homematic gateway repeat the same interface ids,
+ * addresses and datapoint names over and over again, the cache returns the previously decoded string for the same
+ * bytes instead of decoding a new one.
+ * <p>
+ * The cache is a fixed size table without any locking and must only be used by one thread.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class BinRpcStringCache {
+    private static final int SIZE = 512;
+    private static final int MAX_STRING_LENGTH = 64;
+
+    private final Charset charset;
+    private final byte[][] keys = new byte[SIZE][];
+    private final String[] values = new String[SIZE];
+
+    public BinRpcStringCache(String encoding) {
+        this.charset = Charset.forName(encoding);
+    }
+
+    /**
+     * Returns the charset the strings are decoded with.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Returns the string of the given bytes.
+     */
+    public String getString(byte[] data, int offset, int length) {
+        if (length > MAX_STRING_LENGTH) {
+            return new String(data, offset, length, charset);
+        }
+        int hash = 1;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + data[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & (SIZE - 1);
+
+        byte[] key = keys[index];
+        if (key != null && isEqual(key, data, offset, length)) {
+            return values[index];
+        }
+        String value = new String(data, offset, length, charset);
+        keys[index] = Arrays.copyOfRange(data, offset, offset + length);
+        values[index] = value;
+        return value;
+    }
+
+    private static boolean isEqual(byte[] key, byte[] data, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != data[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -14,28 +14,50 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcStringCache;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and handles the method calls.
+ * <p>
+ * All connections are served by one thread with a selector. The thread reads the messages into a reused buffer of
+ * the connection and decodes them. The method call is handled by a thread of the RPC pool, meanwhile the connection
+ * is not read any further. The response is written by the selector thread again.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<Runnable> selectorTasks = new ConcurrentLinkedQueue<>();
+    private final BinRpcStringCache stringCache;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
 
@@ -44,10 +66,19 @@ public class BinRpcNetworkService implements Runnable {
      */
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
+        this.stringCache = new BinRpcStringCache(config.getEncoding());
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        selector = Selector.open();
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            selector.close();
+            throw ex;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,19 +105,85 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Accepts the connections of the Homematic gateway and reads and writes the messages until the service is shut
+     * down.
      */
     @Override
     public void run() {
-        while (accept) {
-            try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
-            } catch (IOException ex) {
-                // ignore
+        try {
+            while (accept) {
+                selector.select();
+                Runnable task;
+                while ((task = selectorTasks.poll()) != null) {
+                    task.run();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else {
+                        BinRpcConnection connection = (BinRpcConnection) key.attachment();
+                        try {
+                            if (key.isReadable()) {
+                                connection.read();
+                            } else if (key.isWritable()) {
+                                connection.write();
+                            }
+                        } catch (IOException | RuntimeException ex) {
+                            // only the failed connection is closed, the others are served further
+                            logger.warn("{}", ex.getMessage(), ex);
+                            connection.close();
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            if (accept) {
+                logger.warn("BIN-RPC server stopped: {}", ex.getMessage(), ex);
+            }
+        } finally {
+            closeAll();
+        }
+    }
+
+    private void acceptConnection() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel != null) {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new BinRpcConnection(channel, key));
+            }
+        } catch (IOException ex) {
+            // ignore
+        }
+    }
+
+    /**
+     * Runs the task in the selector thread.
+     */
+    private void runInSelector(Runnable task) {
+        selectorTasks.add(task);
+        selector.wakeup();
+    }
+
+    private void closeAll() {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof BinRpcConnection) {
+                ((BinRpcConnection) key.attachment()).close();
             }
         }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException ex) {
+            // ignore
+        }
     }
 
     /**
@@ -95,10 +192,139 @@ public class BinRpcNetworkService implements Runnable {
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
         } catch (IOException ioe) {
             // ignore
         }
+        selector.wakeup();
     }
 
+    /**
+     * A connection of the Homematic gateway. The gateway waits for the response of a method call before it sends the
+     * next one, therefore only one message is read and handled at a time.
+     */
+    private class BinRpcConnection {
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final long created = System.currentTimeMillis();
+        private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private ByteBuffer writeBuffer;
+
+        private BinRpcConnection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+
+        private void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                close();
+            } else if (!handleBufferedMessage() && !readBuffer.hasRemaining()) {
+                // the message doesn't fit into the buffer
+                int messageLength = BinRpcMessage.HEADER_LENGTH
+                        + BinRpcMessage.getContentLength(readBuffer, 0);
+                ByteBuffer largerBuffer = ByteBuffer.allocate(messageLength);
+                readBuffer.flip();
+                largerBuffer.put(readBuffer);
+                readBuffer = largerBuffer;
+            }
+        }
+
+        /**
+         * Decodes and handles the message in the read buffer, if the message is complete.
+         *
+         * @return true, if a message is handled
+         */
+        private boolean handleBufferedMessage() throws IOException {
+            int available = readBuffer.position();
+            if (available < BinRpcMessage.HEADER_LENGTH) {
+                return false;
+            }
+            if (!BinRpcMessage.hasBinXSignature(readBuffer, 0)) {
+                throw new IOException("No BinX signature");
+            }
+            int messageLength = BinRpcMessage.HEADER_LENGTH + BinRpcMessage.getContentLength(readBuffer, 0);
+            if (available < messageLength) {
+                return false;
+            }
+
+            readBuffer.flip();
+            readBuffer.limit(messageLength);
+            BinRpcMessage message = new BinRpcMessage(readBuffer, true, config.getEncoding(), stringCache);
+            readBuffer.limit(available);
+            readBuffer.compact();
+            if (readBuffer.capacity() > READ_BUFFER_SIZE && readBuffer.position() <= READ_BUFFER_SIZE) {
+                ByteBuffer defaultBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                readBuffer.flip();
+                defaultBuffer.put(readBuffer);
+                readBuffer = defaultBuffer;
+            }
+
+            key.interestOps(0);
+            try {
+                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(() -> handleMethodCall(message));
+            } catch (RejectedExecutionException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+            return true;
+        }
+
+        /**
+         * Handles the method call in a thread of the RPC pool and hands the response over to the selector thread.
+         */
+        private void handleMethodCall(BinRpcMessage message) {
+            try {
+                logger.trace("Event BinRpcMessage: {}", message);
+                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                        message.getResponseData());
+                runInSelector(() -> respond(returnValue));
+            } catch (Exception ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+                runInSelector(this::close);
+            }
+        }
+
+        private void respond(byte[] returnValue) {
+            if (!key.isValid()) {
+                return;
+            }
+            try {
+                if (returnValue != null) {
+                    writeBuffer = ByteBuffer.wrap(returnValue);
+                    write();
+                } else {
+                    responded();
+                }
+            } catch (IOException | RuntimeException ex) {
+                logger.warn("{}", ex.getMessage(), ex);
+                close();
+            }
+        }
+
+        private void write() throws IOException {
+            channel.write(writeBuffer);
+            if (writeBuffer.hasRemaining()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else {
+                writeBuffer = null;
+                responded();
+            }
+        }
+
+        private void responded() throws IOException {
+            if (System.currentTimeMillis() - created > config.getSocketMaxAlive() * 1000L) {
+                close();
+            } else if (!handleBufferedMessage()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ioe) {
+                // ignore
+            }
+        }
+    }
 }
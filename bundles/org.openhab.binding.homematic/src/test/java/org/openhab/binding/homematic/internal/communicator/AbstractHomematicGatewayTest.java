@@ -0,0 +1,142 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmDevice;
+import org.openhab.binding.homematic.internal.model.HmGatewayInfo;
+import org.openhab.binding.homematic.internal.model.HmInterface;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests the order in which {@link AbstractHomematicGateway} loads the metadata of the devices.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class AbstractHomematicGatewayTest {
+    private static final String GATEWAY_ID = "test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> paramsetRequests = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> loadedDevices = new ArrayList<>();
+    private List<HmDevice> deviceDescriptions = new ArrayList<>();
+    private HomematicConfig config;
+    private HomematicGatewayAdapter gatewayAdapter;
+
+    @Before
+    public void setup() {
+        System.setProperty(ConfigConstants.USERDATA_DIR_PROG_ARGUMENT, folder.getRoot().getAbsolutePath());
+
+        HmGatewayInfo gatewayInfo = new HmGatewayInfo();
+        gatewayInfo.setId(HmGatewayInfo.ID_CCU);
+        gatewayInfo.setType("CCU3");
+        gatewayInfo.setFirmware("3.41.11");
+        config = new HomematicConfig();
+        config.setGatewayInfo(gatewayInfo);
+
+        gatewayAdapter = mock(HomematicGatewayAdapter.class);
+        doAnswer(invocation -> loadedDevices.add(((HmDevice) invocation.getArgument(0)).getAddress()))
+                .when(gatewayAdapter).onDeviceLoaded(any());
+    }
+
+    @Test
+    public void testCachedDevicesAreLoadedFirst() throws IOException {
+        deviceDescriptions = Arrays.asList(createDevice("C0", "HM-CACHED"));
+        new TestGateway().loadAllDeviceMetadata();
+        paramsetRequests.clear();
+        loadedDevices.clear();
+
+        deviceDescriptions = Arrays.asList(createDevice("A1", "HM-NEW"), createDevice("C1", "HM-CACHED"),
+                createDevice("B1", "HM-OTHER"), createDevice("C2", "HM-CACHED"));
+        new TestGateway().loadAllDeviceMetadata();
+
+        assertThat(loadedDevices, is(Arrays.asList("C1", "C2", "A1", "B1")));
+        for (String request : paramsetRequests) {
+            assertThat(request, not(startsWith("C")));
+        }
+        assertThat(paramsetRequests.size(), is(8));
+        assertThat(deviceDescriptions.get(1).getChannel(1).getDatapoints().size(), is(2));
+    }
+
+    @Test
+    public void testEqualDevicesRequestMetadataOnce() throws IOException {
+        deviceDescriptions = Arrays.asList(createDevice("A1", "HM-NEW"), createDevice("A2", "HM-NEW"),
+                createDevice("B1", "HM-OTHER"), createDevice("A3", "HM-NEW"));
+        new TestGateway().loadAllDeviceMetadata();
+
+        // equal devices are loaded after the parallel requests, from the metadata requested for the first one
+        assertThat(loadedDevices, is(Arrays.asList("A1", "B1", "A2", "A3")));
+        assertThat(paramsetRequests.size(), is(8));
+        for (String request : paramsetRequests) {
+            assertThat(request, either(startsWith("A1:")).or(startsWith("B1:")));
+        }
+        for (HmDevice device : deviceDescriptions) {
+            assertThat(device.getChannel(1).getDatapoints().size(), is(2));
+        }
+    }
+
+    private HmDevice createDevice(String address, String type) {
+        HmDevice device = new HmDevice(address, HmInterface.RF, type, GATEWAY_ID, null, "1.0");
+        device.addChannel(new HmChannel("MAINTENANCE", 0));
+        device.addChannel(new HmChannel("SWITCH", 1));
+        return device;
+    }
+
+    /**
+     * Gateway which returns the test devices and records the paramset requests. Each request takes a while, so the
+     * parallel requests overlap.
+     */
+    private class TestGateway extends DefaultGateway {
+
+        TestGateway() {
+            super(GATEWAY_ID, config, gatewayAdapter, null);
+        }
+
+        @Override
+        protected List<HmDevice> getDeviceDescriptions() {
+            return deviceDescriptions;
+        }
+
+        @Override
+        protected void addChannelDatapoints(HmChannel channel, HmParamsetType paramsetType) throws IOException {
+            paramsetRequests.add(channel.getDevice().getAddress() + ":" + channel.getNumber() + ":" + paramsetType);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            channel.addDatapoint(new HmDatapoint("STATE", "STATE", HmValueType.BOOL, null, false, paramsetType));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link HomematicMetadataCache}.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class HomematicMetadataCacheTest {
+    private static final String CHANNEL_ID = "HM-LC-Sw1-Pl-2:2.5:1";
+    private static final String GATEWAY_VERSION = "CCU3:3.41.11";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setup() {
+        file = new File(new File(folder.getRoot(), "cache"), "gateway.metadata");
+    }
+
+    @Test
+    public void testMetadataSurvivesRestart() {
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        cache.load(GATEWAY_VERSION);
+        cache.put(CHANNEL_ID, Arrays.asList(createStateDatapoint(), createLevelDatapoint()));
+        cache.save();
+
+        HomematicMetadataCache restartedCache = new HomematicMetadataCache(file);
+        restartedCache.load(GATEWAY_VERSION);
+        List<HmDatapoint> datapoints = restartedCache.get(CHANNEL_ID);
+
+        assertThat(datapoints.size(), is(2));
+        HmDatapoint level = datapoints.get(0);
+        assertThat(level.getName(), is("LEVEL"));
+        assertThat(level.getType(), is(HmValueType.FLOAT));
+        assertThat(level.getParamsetType(), is(HmParamsetType.VALUES));
+        assertThat(level.getMinValue(), is((Number) 0.0));
+        assertThat(level.getMaxValue(), is((Number) 1.01));
+        assertThat(level.getDefaultValue(), is((Object) 0.0));
+        assertThat(level.getUnit(), is("100%"));
+        assertThat(level.isReadOnly(), is(false));
+        assertThat(level.isReadable(), is(true));
+        assertThat(level.getValue(), is((Object) 0.0));
+
+        HmDatapoint state = datapoints.get(1);
+        assertThat(state.getName(), is("STATE"));
+        assertThat(state.getType(), is(HmValueType.ENUM));
+        assertThat(state.getOptions(), is(new String[] { "OFF", "ON" }));
+        assertThat(state.getMaxValue(), is((Number) 1));
+        assertThat(state.getDefaultValue(), is((Object) 0));
+        assertThat(state.getUnit(), is(nullValue()));
+        assertThat(state.getValue(), is((Object) 0));
+    }
+
+    @Test
+    public void testChangedMetadataIsDetected() {
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(createStateDatapoint(), createLevelDatapoint())), is(true));
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(createLevelDatapoint(), createStateDatapoint())), is(false));
+
+        HmDatapoint level = createLevelDatapoint();
+        level.setMaxValue(1.0);
+        assertThat(cache.put(CHANNEL_ID, Arrays.asList(createStateDatapoint(), level)), is(true));
+    }
+
+    @Test
+    public void testVirtualDatapointsAreNotCached() {
+        HmDatapoint virtualDatapoint = createStateDatapoint();
+        virtualDatapoint.setVirtual(true);
+
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        cache.put(CHANNEL_ID, Arrays.asList(virtualDatapoint, createLevelDatapoint()));
+
+        assertThat(cache.get(CHANNEL_ID).size(), is(1));
+    }
+
+    @Test
+    public void testStaleChannelsAreRemoved() {
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        cache.load(GATEWAY_VERSION);
+        cache.put(CHANNEL_ID, Collections.singletonList(createLevelDatapoint()));
+        cache.put("HM-LC-Sw1-Pl-2:2.4:1", Collections.singletonList(createLevelDatapoint()));
+        cache.retainAll(Collections.singleton(CHANNEL_ID));
+        cache.save();
+
+        HomematicMetadataCache restartedCache = new HomematicMetadataCache(file);
+        restartedCache.load(GATEWAY_VERSION);
+        assertThat(restartedCache.getChannelIds(), is(Collections.singleton(CHANNEL_ID)));
+    }
+
+    @Test
+    public void testCacheIsDroppedWhenGatewayChanges() {
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        cache.load(GATEWAY_VERSION);
+        cache.put(CHANNEL_ID, Collections.singletonList(createLevelDatapoint()));
+        cache.save();
+
+        HomematicMetadataCache updatedGatewayCache = new HomematicMetadataCache(file);
+        updatedGatewayCache.load("CCU3:3.47.10");
+        assertThat(updatedGatewayCache.getChannelIds().isEmpty(), is(true));
+        updatedGatewayCache.save();
+
+        HomematicMetadataCache restartedCache = new HomematicMetadataCache(file);
+        restartedCache.load(GATEWAY_VERSION);
+        assertThat(restartedCache.getChannelIds().isEmpty(), is(true));
+    }
+
+    @Test
+    public void testUnreadableFileIsIgnored() throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), new byte[] { 0, 0, 0, 1, 0, 0, 0, 5, 0 });
+
+        HomematicMetadataCache cache = new HomematicMetadataCache(file);
+        cache.load(GATEWAY_VERSION);
+        assertThat(cache.getChannelIds().isEmpty(), is(true));
+    }
+
+    private HmDatapoint createStateDatapoint() {
+        HmDatapoint dp = new HmDatapoint("STATE", "STATE", HmValueType.ENUM, 0, false, HmParamsetType.VALUES);
+        dp.setOptions(new String[] { "OFF", "ON" });
+        dp.setMinValue(0);
+        dp.setMaxValue(1);
+        dp.setDefaultValue(0);
+        dp.setReadable(true);
+        return dp;
+    }
+
+    private HmDatapoint createLevelDatapoint() {
+        HmDatapoint dp = new HmDatapoint("LEVEL", "LEVEL", HmValueType.FLOAT, 0.5, false, HmParamsetType.VALUES);
+        dp.setMinValue(0.0);
+        dp.setMaxValue(1.01);
+        dp.setDefaultValue(0.0);
+        dp.setUnit("100%");
+        dp.setReadable(true);
+        return dp;
+    }
+}
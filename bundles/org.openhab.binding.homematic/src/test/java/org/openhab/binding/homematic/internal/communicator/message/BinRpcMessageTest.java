@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinRpcMessage}.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    @Test
+    public void testDecodeEventFromBuffer() throws IOException {
+        byte[] event = createEvent("OEQ1234567:1", "LEVEL", 0.5);
+        ByteBuffer buffer = ByteBuffer.allocate(event.length + 16);
+        buffer.put(new byte[8]).put(event).put(new byte[8]);
+        buffer.position(8);
+        buffer.limit(8 + event.length);
+
+        BinRpcMessage message = new BinRpcMessage(buffer, true, ENCODING, new BinRpcStringCache(ENCODING));
+
+        assertThat(message.getMethodName(), is("event"));
+        assertThat(message.getResponseData(), is(new Object[] { "RF-1", "OEQ1234567:1", "LEVEL", 0.5 }));
+        assertThat(buffer.position(), is(8 + event.length));
+    }
+
+    @Test
+    public void testStringCacheReturnsSameString() throws IOException {
+        BinRpcStringCache stringCache = new BinRpcStringCache(ENCODING);
+        byte[] event = createEvent("OEQ1234567:1", "PRESS_SHORT", Boolean.TRUE);
+
+        Object[] first = new BinRpcMessage(ByteBuffer.wrap(event), true, ENCODING, stringCache).getResponseData();
+        Object[] second = new BinRpcMessage(ByteBuffer.wrap(event), true, ENCODING, stringCache).getResponseData();
+
+        assertThat(second[1], is(sameInstance(first[1])));
+        assertThat(second[2], is(sameInstance(first[2])));
+        assertThat(second[3], is(sameInstance(Boolean.TRUE)));
+    }
+
+    @Test
+    public void testDecodeStructAndArray() throws IOException {
+        BinRpcMessage request = new BinRpcMessage("newDevices", ENCODING);
+        request.addArg("RF-1");
+        request.addArg(Arrays.asList(Collections.singletonMap("ADDRESS", "OEQ1234567"), 42));
+        byte[] data = request.createMessage();
+
+        BinRpcMessage message = new BinRpcMessage(new ByteArrayInputStream(data), true, ENCODING);
+
+        Object[] devices = (Object[]) message.getResponseData()[1];
+        assertThat(((Map<?, ?>) devices[0]).get("ADDRESS"), is((Object) "OEQ1234567"));
+        assertThat(devices[1], is((Object) 42));
+    }
+
+    @Test(expected = EOFException.class)
+    public void testIncompleteMessage() throws IOException {
+        byte[] event = createEvent("OEQ1234567:1", "LEVEL", 0.5);
+        new BinRpcMessage(ByteBuffer.wrap(event, 0, event.length - 1), true, ENCODING, null);
+    }
+
+    @Test
+    public void testDoubleIsRoundedLikeBigDecimal() {
+        Random random = new Random(0);
+        for (int i = 0; i < 100000; i++) {
+            int mantissa = random.nextInt();
+            int exponent = random.nextInt(80) - 40;
+            BigDecimal expected = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
+            assertThat(BinRpcMessage.toDouble(mantissa, exponent),
+                    is(expected.setScale(6, RoundingMode.HALF_DOWN).doubleValue()));
+        }
+    }
+
+    private byte[] createEvent(String address, String datapoint, Object value) {
+        BinRpcMessage event = new BinRpcMessage("event", ENCODING);
+        event.addArg("RF-1");
+        event.addArg(address);
+        event.addArg(datapoint);
+        event.addArg(value);
+        return event.createMessage();
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.server;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.homematic.internal.common.HomematicConfig;
+import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
+import org.openhab.binding.homematic.internal.model.HmDatapointInfo;
+
+/**
+ * Tests for {@link BinRpcNetworkService} with connections to a local socket.
+ *
+ * @author Gerhard Riegler - Initial contribution
+ */
+public class BinRpcNetworkServiceTest {
+    private static final String ENCODING = "ISO-8859-1";
+    private static final int TIMEOUT = 5000;
+
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private BinRpcNetworkService networkService;
+    private Thread networkServiceThread;
+    private int port;
+
+    @Before
+    public void setup() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        HomematicConfig config = new HomematicConfig();
+        config.setBindAddress("127.0.0.1");
+        config.setBinCallbackPort(port);
+
+        networkService = new BinRpcNetworkService(new RpcEventListener() {
+
+            @Override
+            public void eventReceived(HmDatapointInfo dpInfo, Object newValue) {
+                events.add(newValue);
+            }
+
+            @Override
+            public void newDevices(List<String> adresses) {
+            }
+
+            @Override
+            public void deleteDevices(List<String> addresses) {
+            }
+        }, config);
+        networkServiceThread = new Thread(networkService);
+        networkServiceThread.start();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        networkService.shutdown();
+        networkServiceThread.join(TIMEOUT);
+    }
+
+    @Test
+    public void testMessageSplitAcrossReads() throws Exception {
+        byte[] event = createEvent("first");
+        try (Socket socket = connect()) {
+            OutputStream out = socket.getOutputStream();
+            out.write(event, 0, 5);
+            out.flush();
+            Thread.sleep(100);
+            out.write(event, 5, 20);
+            out.flush();
+            Thread.sleep(100);
+            out.write(event, 25, event.length - 25);
+            out.flush();
+
+            assertResponse(socket);
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) "first"));
+        }
+    }
+
+    @Test
+    public void testTwoMessagesInOneRead() throws Exception {
+        byte[] first = createEvent("first");
+        byte[] second = createEvent("second");
+        byte[] both = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(both);
+
+            assertResponse(socket);
+            assertResponse(socket);
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) "first"));
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) "second"));
+        }
+    }
+
+    @Test
+    public void testMessageLargerThanReadBuffer() throws Exception {
+        char[] chars = new char[20000];
+        Arrays.fill(chars, 'x');
+        String largeValue = new String(chars);
+        try (Socket socket = connect()) {
+            socket.getOutputStream().write(createEvent(largeValue));
+            assertResponse(socket);
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) largeValue));
+
+            // the connection is served further with the default buffer
+            socket.getOutputStream().write(createEvent("small"));
+            assertResponse(socket);
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) "small"));
+        }
+    }
+
+    @Test
+    public void testTooLargeMessageClosesOnlyItsConnection() throws Exception {
+        try (Socket other = connect(); Socket socket = connect()) {
+            ByteBuffer header = ByteBuffer.allocate(BinRpcMessage.HEADER_LENGTH);
+            header.put(new byte[] { 'B', 'i', 'n', 0 }).putInt(BinRpcMessage.MAX_CONTENT_LENGTH + 1);
+            socket.getOutputStream().write(header.array());
+            assertThat(socket.getInputStream().read(), is(-1));
+
+            other.getOutputStream().write(createEvent("other"));
+            assertResponse(other);
+            assertThat(events.poll(TIMEOUT, TimeUnit.MILLISECONDS), is((Object) "other"));
+        }
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket();
+        socket.connect(new InetSocketAddress("127.0.0.1", port), TIMEOUT);
+        socket.setSoTimeout(TIMEOUT);
+        return socket;
+    }
+
+    private void assertResponse(Socket socket) throws IOException {
+        BinRpcMessage response = new BinRpcMessage(socket.getInputStream(), false, ENCODING);
+        assertThat(response.getResponseData(), is(new Object[] { "" }));
+    }
+
+    private byte[] createEvent(String value) {
+        BinRpcMessage event = new BinRpcMessage("event", ENCODING);
+        event.addArg("RF-1");
+        event.addArg("OEQ1234567:1");
+        event.addArg("TEXT");
+        event.addArg(value);
+        return event.createMessage();
+    }
+}
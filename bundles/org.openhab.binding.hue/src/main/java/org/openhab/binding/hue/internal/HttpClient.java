@@ -112,6 +112,11 @@ public class HttpClient {
         return doNetwork(address, requestMethod, null);
     }
 
+    /**
+     * Performs the request. The connection is not disconnected afterwards, but the response is always read
+     * completely. This way the underlying socket is kept alive and reused for the next request to the bridge,
+     * instead of opening a new connection for every poll.
+     */
     protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
         HttpURLConnection conn = (HttpURLConnection) new URL(address).openConnection();
         try {
@@ -127,16 +132,31 @@ public class HttpClient {
                 }
             }
 
-            try (InputStream in = conn.getInputStream(); ByteArrayOutputStream result = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = in.read(buffer)) != -1) {
-                    result.write(buffer, 0, length);
+            try (InputStream in = conn.getInputStream()) {
+                String result = readFully(in);
+                return new Result(result, conn.getResponseCode());
+            }
+        } catch (IOException e) {
+            // Consume the error response, otherwise the connection cannot be reused
+            try (InputStream err = conn.getErrorStream()) {
+                if (err != null) {
+                    readFully(err);
                 }
-                return new Result(result.toString(StandardCharsets.UTF_8.name()), conn.getResponseCode());
+            } catch (IOException ignored) {
+                conn.disconnect();
+            }
+            throw e;
+        }
+    }
+
+    private String readFully(InputStream in) throws IOException {
+        try (ByteArrayOutputStream result = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                result.write(buffer, 0, length);
             }
-        } finally {
-            conn.disconnect();
+            return result.toString(StandardCharsets.UTF_8.name());
         }
     }
 
@@ -69,6 +69,8 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
+    private final PolledResource<FullLight> polledLights = new PolledResource<>(FullLight.class);
+    private final PolledResource<FullSensor> polledSensors = new PolledResource<>(FullSensor.class);
     private final ScheduledExecutorService scheduler;
 
     @Nullable
@@ -240,6 +242,40 @@ public class HueBridge {
         return sensorList;
     }
 
+    /**
+     * Returns a list of lights known to the bridge, if the lights changed since the last call of this method.
+     * Only the lights that changed are deserialized, all others are the same objects as returned by the last call.
+     *
+     * @return list of known lights as {@link FullLight}s or null if nothing changed
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public @Nullable List<FullLight> getFullLightsIfChanged() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("lights"));
+
+        handleErrors(result);
+
+        return polledLights.update(gson, result.getBody());
+    }
+
+    /**
+     * Returns a list of sensors known to the bridge, if the sensors changed since the last call of this method.
+     * Only the sensors that changed are deserialized, all others are the same objects as returned by the last call.
+     *
+     * @return list of sensors or null if nothing changed
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public @Nullable List<FullSensor> getSensorsIfChanged() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("sensors"));
+
+        handleErrors(result);
+
+        return polledSensors.update(gson, result.getBody());
+    }
+
     /**
      * Returns the last time a search for new lights was started.
      * If a search is currently running, the current time will be
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * Remembers the last response of a polled resource list of the bridge, like /lights or /sensors, and the objects
+ * deserialized from it.
+ *
+ * A response equal to the previous one is not parsed at all. Otherwise the response is parsed into a JSON tree and
+ * only the objects that differ from the previous response are deserialized again. The other objects are reused, so
+ * that the caller can compare them by reference.
+ *
+ * @author Christoph Weitkamp - Initial contribution
+ */
+@NonNullByDefault
+class PolledResource<T extends HueObject> {
+
+    private final Class<T> type;
+
+    private @Nullable String lastBody;
+    private int lastBodyHash;
+    private Map<String, JsonElement> lastElements = Collections.emptyMap();
+    private Map<String, T> lastObjects = Collections.emptyMap();
+
+    PolledResource(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * Processes a new response of the resource.
+     *
+     * @param gson the Gson instance to deserialize the objects with
+     * @param body the response body, a JSON object with the IDs of the objects as keys
+     * @return all objects, or null if the response is equal to the previous one
+     * @throws ApiException if the response could not be parsed
+     */
+    synchronized @Nullable List<T> update(Gson gson, String body) throws ApiException {
+        int bodyHash = body.hashCode();
+        if (bodyHash == lastBodyHash && body.equals(lastBody)) {
+            return null;
+        }
+
+        Map<String, JsonElement> elements = new HashMap<>();
+        Map<String, T> objects = new HashMap<>();
+        List<T> result = new ArrayList<>();
+        try {
+            JsonElement root = new JsonParser().parse(body);
+            if (!root.isJsonObject()) {
+                throw new ApiException("API returned unexpected result: " + body);
+            }
+            for (Entry<String, JsonElement> entry : ((JsonObject) root).entrySet()) {
+                String id = entry.getKey();
+                JsonElement element = entry.getValue();
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                T object = lastObjects.get(id);
+                if (object == null || !element.equals(lastElements.get(id))) {
+                    object = gson.fromJson(element, type);
+                    object.setId(id);
+                }
+                elements.put(id, element);
+                objects.put(id, object);
+                result.add(object);
+            }
+        } catch (JsonParseException e) {
+            throw new ApiException("API returned unexpected result: " + e.getMessage());
+        }
+
+        lastBody = body;
+        lastBodyHash = bodyHash;
+        lastElements = elements;
+        lastObjects = objects;
+        return result;
+    }
+}
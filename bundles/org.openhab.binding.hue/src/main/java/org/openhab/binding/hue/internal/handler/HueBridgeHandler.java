@@ -82,6 +82,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private long lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
     private long sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
 
+    /**
+     * While the sensors do not change, the sensor polling interval is doubled after every
+     * {@link #SENSOR_POLLING_IDLE_POLLS} polls, up to {@link #SENSOR_POLLING_MAX_FACTOR} times the configured interval.
+     * Any change of a sensor resets the interval to the configured one.
+     */
+    private static final int SENSOR_POLLING_IDLE_POLLS = 20;
+    private static final int SENSOR_POLLING_MAX_FACTOR = 4;
+
+    private volatile int unchangedSensorPolls = 0;
+    private int sensorPollingGeneration = 0;
+
     final ReentrantLock pollingLock = new ReentrantLock();
 
     abstract class PollingRunnable implements Runnable {
@@ -177,9 +188,17 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
+            List<FullSensor> sensors = hueBridge.getSensorsIfChanged();
+            if (sensors == null) {
+                unchangedSensorPolls = Math.min(unchangedSensorPolls + 1,
+                        SENSOR_POLLING_IDLE_POLLS * SENSOR_POLLING_MAX_FACTOR);
+                return;
+            }
+            unchangedSensorPolls = 0;
+
             Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : sensors) {
                 String sensorId = sensor.getId();
                 if (lastSensorStateCopy.containsKey(sensorId)) {
                     final FullSensor lastFullSensor = lastSensorStateCopy.remove(sensorId);
@@ -219,7 +238,10 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
 
             List<FullLight> lights;
             if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
-                lights = hueBridge.getFullLights();
+                lights = hueBridge.getFullLightsIfChanged();
+                if (lights == null) {
+                    return;
+                }
             } else {
                 lights = hueBridge.getFullConfig().getLights();
             }
@@ -390,7 +412,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
-    private void startSensorPolling() {
+    private synchronized void startSensorPolling() {
         if (sensorPollingJob == null || sensorPollingJob.isCancelled()) {
             if (hueBridgeConfig.getSensorPollingInterval() < 50) {
                 logger.info("Wrong configuration value for sensor polling interval. Using default value: {}ms",
@@ -398,18 +420,39 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
             } else {
                 sensorPollingInterval = hueBridgeConfig.getSensorPollingInterval();
             }
-            sensorPollingJob = scheduler.scheduleWithFixedDelay(sensorPollingRunnable, 1, sensorPollingInterval,
-                    TimeUnit.MILLISECONDS);
+            unchangedSensorPolls = 0;
+            final int generation = ++sensorPollingGeneration;
+            sensorPollingJob = scheduler.schedule(() -> pollSensors(generation), 1, TimeUnit.MILLISECONDS);
         }
     }
 
-    private void stopSensorPolling() {
+    private synchronized void stopSensorPolling() {
+        sensorPollingGeneration++;
         if (sensorPollingJob != null && !sensorPollingJob.isCancelled()) {
             sensorPollingJob.cancel(true);
             sensorPollingJob = null;
         }
     }
 
+    /**
+     * Polls the sensors once and schedules the next poll, unless the sensor polling was stopped or restarted
+     * meanwhile.
+     */
+    private void pollSensors(int generation) {
+        sensorPollingRunnable.run();
+        synchronized (this) {
+            if (generation == sensorPollingGeneration) {
+                sensorPollingJob = scheduler.schedule(() -> pollSensors(generation), getSensorPollingDelay(),
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private long getSensorPollingDelay() {
+        int factor = Math.min(SENSOR_POLLING_MAX_FACTOR, 1 << (unchangedSensorPolls / SENSOR_POLLING_IDLE_POLLS));
+        return sensorPollingInterval * factor;
+    }
+
     @Override
     public void dispose() {
         logger.debug("Handler disposed.");
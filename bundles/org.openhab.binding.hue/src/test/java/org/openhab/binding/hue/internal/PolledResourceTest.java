@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.hue.internal.exceptions.ApiException;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link PolledResource}.
+ *
+ * @author Christoph Weitkamp - Initial contribution
+ */
+public class PolledResourceTest {
+
+    private static final String SENSORS = "{\"1\":{\"name\":\"Motion\",\"state\":{\"presence\":false}},"
+            + "\"2\":{\"name\":\"Switch\",\"state\":{\"buttonevent\":1002}}}";
+    private static final String SENSORS_CHANGED = "{\"1\":{\"name\":\"Motion\",\"state\":{\"presence\":true}},"
+            + "\"2\":{\"name\":\"Switch\",\"state\":{\"buttonevent\":1002}}}";
+
+    private final Gson gson = new Gson();
+
+    @Test
+    public void testUnchangedResponseIsSkipped() throws ApiException {
+        PolledResource<FullSensor> resource = new PolledResource<>(FullSensor.class);
+
+        List<FullSensor> sensors = resource.update(gson, SENSORS);
+        assertNotNull(sensors);
+        assertEquals(2, sensors.size());
+        assertNull(resource.update(gson, new String(SENSORS)));
+    }
+
+    @Test
+    public void testOnlyChangedObjectsAreDeserialized() throws ApiException {
+        PolledResource<FullSensor> resource = new PolledResource<>(FullSensor.class);
+
+        List<FullSensor> sensors = resource.update(gson, SENSORS);
+        List<FullSensor> changedSensors = resource.update(gson, SENSORS_CHANGED);
+        assertNotNull(sensors);
+        assertNotNull(changedSensors);
+
+        FullSensor motion = find(changedSensors, "1");
+        assertNotSame(find(sensors, "1"), motion);
+        assertEquals(Boolean.TRUE, motion.getState().get(FullSensor.STATE_PRESENCE));
+        assertSame(find(sensors, "2"), find(changedSensors, "2"));
+    }
+
+    @Test
+    public void testRemovedObjects() throws ApiException {
+        PolledResource<FullSensor> resource = new PolledResource<>(FullSensor.class);
+
+        resource.update(gson, SENSORS);
+        List<FullSensor> sensors = resource.update(gson, "{\"2\":{\"name\":\"Switch\",\"state\":{}}}");
+        assertNotNull(sensors);
+        assertEquals(1, sensors.size());
+        assertEquals("2", sensors.get(0).getId());
+    }
+
+    @Test(expected = ApiException.class)
+    public void testUnexpectedResponse() throws ApiException {
+        new PolledResource<>(FullSensor.class).update(gson, "[{\"error\":{}}]");
+    }
+
+    private FullSensor find(List<FullSensor> sensors, String id) {
+        return sensors.stream().filter(sensor -> id.equals(sensor.getId())).findFirst()
+                .orElseThrow(() -> new AssertionError("Sensor " + id + " not found"));
+    }
+}
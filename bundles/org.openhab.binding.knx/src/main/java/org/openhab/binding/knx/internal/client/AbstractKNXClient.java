@@ -12,12 +12,12 @@
  */
 package org.openhab.binding.knx.internal.client;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -38,6 +38,8 @@ import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
 import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.cemi.CEMI;
+import tuwien.auto.calimero.cemi.CEMILData;
 import tuwien.auto.calimero.datapoint.CommandDP;
 import tuwien.auto.calimero.datapoint.Datapoint;
 import tuwien.auto.calimero.device.ProcessCommunicationResponder;
@@ -64,13 +66,16 @@ import tuwien.auto.calimero.process.ProcessListener;
 public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClient {
 
     private static final int MAX_SEND_ATTEMPTS = 2;
+    private static final int STATISTICS_INTERVAL = 60;
+
+    // the number of read requests which may wait for their responses at the same time
+    private static final int MAX_PARALLEL_READS = 3;
 
     private final Logger logger = LoggerFactory.getLogger(AbstractKNXClient.class);
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
 
     private final ThingUID thingUID;
     private final int responseTimeout;
-    private final int readingPause;
     private final int autoReconnectPeriod;
     private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
@@ -84,14 +89,17 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
     private @Nullable ScheduledFuture<?> connectJob;
+    private @Nullable ScheduledFuture<?> statisticsJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final ReadDatapointQueue readDatapoints = new ReadDatapointQueue();
+    private final AdaptiveReadingPause readingPause;
+    private long nextReadTime;
+    private final AtomicInteger activeReads = new AtomicInteger();
+    // the group addresses of the own read requests waiting for their responses, and when the requests were sent
+    private final Map<GroupAddress, Long> pendingReads = new ConcurrentHashMap<>();
 
-    @FunctionalInterface
-    private interface ListenerNotification {
-        void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
-    }
+    private final BusStatistics busStatistics = new BusStatistics();
+    private final TelegramDispatcher telegramDispatcher;
 
     @NonNullByDefault({})
     private final ProcessListener processListener = new ProcessListener() {
@@ -103,21 +111,21 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
-            processEvent("Group Write", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Write", e, false, (listener, source, destination, asdu) -> {
                 listener.onGroupWrite(AbstractKNXClient.this, source, destination, asdu);
             });
         }
 
         @Override
         public void groupReadRequest(ProcessEvent e) {
-            processEvent("Group Read Request", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Read Request", e, false, (listener, source, destination, asdu) -> {
                 listener.onGroupRead(AbstractKNXClient.this, source, destination, asdu);
             });
         }
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
-            processEvent("Group Read Response", e, (listener, source, destination, asdu) -> {
+            processEvent("Group Read Response", e, true, (listener, source, destination, asdu) -> {
                 listener.onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu);
             });
         }
@@ -128,10 +136,12 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
-        this.readingPause = readingPause;
+        this.readingPause = new AdaptiveReadingPause(readingPause);
+        this.nextReadTime = System.nanoTime();
         this.readRetriesLimit = readRetriesLimit;
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
+        this.telegramDispatcher = new TelegramDispatcher(knxScheduler, busStatistics);
     }
 
     public void initialize() {
@@ -196,8 +206,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
             link.addLinkListener(this);
 
-            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            // the job ticks as often as the shortest reading pause, the pause is adapted to the bus feedback in between
+            busJob = knxScheduler.scheduleWithFixedDelay(() -> readNextQueuedDatapoint(), 0,
+                    readingPause.getMinPause(), TimeUnit.MILLISECONDS);
+            statisticsJob = knxScheduler.scheduleWithFixedDelay(this::logStatistics, STATISTICS_INTERVAL,
+                    STATISTICS_INTERVAL, TimeUnit.SECONDS);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -224,7 +237,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
         readDatapoints.clear();
+        pendingReads.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
+        statisticsJob = nullify(statisticsJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
         managementClient = nullify(managementClient, mc -> mc.detach());
@@ -246,16 +261,33 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         return null;
     }
 
-    private void processEvent(String task, ProcessEvent event, ListenerNotification action) {
+    private void processEvent(String task, ProcessEvent event, boolean response,
+            TelegramDispatcher.ListenerNotification action) {
         GroupAddress destination = event.getDestination();
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        // the process communicator does not report the binding's own requests, but it does report the responses
+        busStatistics.telegramReceived(response && pendingReads.remove(destination) != null);
+        telegramDispatcher.dispatch(action, source, destination, asdu);
+    }
+
+    private void logStatistics() {
+        // the job runs regardless of the log level, so enabling debug logging later on shows the statistics as well
+        if (!logger.isDebugEnabled()) {
+            return;
         }
+        logger.debug("KNX bus statistics for {}: telegrams/s={}, {}", thingUID,
+                String.format("%.1f", busStatistics.getTelegramsPerSecond()), busStatistics);
+    }
+
+    /**
+     * Returns the statistics about the telegrams received from the KNX bus.
+     *
+     * @return the bus statistics
+     */
+    public BusStatistics getBusStatistics() {
+        return busStatistics;
     }
 
     /**
@@ -272,6 +304,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @SuppressWarnings("null")
     private void readNextQueuedDatapoint() {
+        if (System.nanoTime() - nextReadTime < 0 || activeReads.get() >= MAX_PARALLEL_READS) {
+            return;
+        }
         if (!connectIfNotAutomatic()) {
             return;
         }
@@ -281,24 +316,38 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
         ReadDatapoint datapoint = readDatapoints.poll();
         if (datapoint != null) {
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException e) {
-                logger.debug("Interrupted sending KNX read request");
-                return;
+            // the read waits for its response on another thread, so the next one can start after the reading pause
+            activeReads.incrementAndGet();
+            nextReadTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readingPause.getPause());
+            knxScheduler.execute(() -> read(processCommunicator, datapoint));
+        }
+    }
+
+    private void read(ProcessCommunicator processCommunicator, ReadDatapoint datapoint) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        datapoint.incrementRetries();
+        try {
+            logger.trace("Sending a Group Read Request telegram for {}", address);
+            pendingReads.put(address, System.nanoTime());
+            processCommunicator.read(datapoint.getDatapoint());
+            readingPause.readCompleted(true, busStatistics.getForeignTelegrams(), System.nanoTime());
+        } catch (KNXException e) {
+            pendingReads.remove(address);
+            readingPause.readCompleted(false, busStatistics.getForeignTelegrams(), System.nanoTime());
+            if (datapoint.getRetries() < datapoint.getLimit()) {
+                readDatapoints.add(datapoint, datapoint.isPriority());
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.", address, e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        address, datapoint.getLimit());
             }
+        } catch (InterruptedException e) {
+            pendingReads.remove(address);
+            logger.debug("Interrupted sending KNX read request");
+        } finally {
+            activeReads.decrementAndGet();
         }
+        logger.trace("Reading pause is now {}", readingPause);
     }
 
     public void dispose() {
@@ -328,7 +377,14 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void confirmation(@Nullable FrameEvent e) {
-        // no-op
+        // the link confirms the read requests when they are sent, e.g. by the tunnelling ACK of the interface
+        CEMI frame = e != null ? e.getFrame() : null;
+        if (frame instanceof CEMILData) {
+            Long sent = pendingReads.get(((CEMILData) frame).getDestination());
+            if (sent != null) {
+                readingPause.ackReceived(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+            }
+        }
     }
 
     @Override
@@ -367,22 +423,22 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readDatapoint(datapoint, false);
+    }
+
+    @Override
+    public void readDatapoint(Datapoint datapoint, boolean priority) {
+        readDatapoints.add(new ReadDatapoint(datapoint, readRetriesLimit), priority);
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        return telegramDispatcher.register(listener);
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        return telegramDispatcher.unregister(listener);
     }
 
     @Override
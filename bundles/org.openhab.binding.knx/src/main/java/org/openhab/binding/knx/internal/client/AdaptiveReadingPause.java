@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Pause between the starts of two read requests, adapted to the feedback of the KNX bus.
+ *
+ * The pause starts at the configured reading pause. While the reads succeed and the bus is quiet, it converges
+ * towards a multiple of the latency of the link layer acknowledgements, but not below a fraction of the configured
+ * reading pause. It is doubled whenever a read fails or the bus is busy, up to a multiple of the configured reading
+ * pause.
+ *
+ * The bus load does not count the responses to the binding's own read requests, which would otherwise slow down
+ * reading whenever it speeds up.
+ *
+ * @author Karel Goderis - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptiveReadingPause {
+
+    // the pause is at least this fraction and at most this multiple of the configured reading pause
+    static final int MIN_PAUSE_DIVISOR = 4;
+    static final int MAX_PAUSE_FACTOR = 8;
+    // a read request is started at the earliest after this multiple of the acknowledgement latency
+    static final int ACK_LATENCY_FACTOR = 2;
+    // above this rate of telegrams, not counting the responses to own reads, the bus is considered busy
+    static final double BUSY_BUS_TELEGRAMS_PER_SECOND = 20;
+
+    private final long minPause;
+    private final long maxPause;
+    private long pause;
+    private long ackLatency = -1;
+    private long lastBusLoadTime;
+    private long lastBusLoadTelegrams;
+
+    /**
+     * @param readingPause the configured reading pause in milliseconds
+     */
+    public AdaptiveReadingPause(int readingPause) {
+        this.minPause = Math.max(1, readingPause / MIN_PAUSE_DIVISOR);
+        this.maxPause = Math.max(minPause, (long) readingPause * MAX_PAUSE_FACTOR);
+        this.pause = Math.min(Math.max(readingPause, minPause), maxPause);
+    }
+
+    /**
+     * @return the current pause in milliseconds
+     */
+    public synchronized long getPause() {
+        return pause;
+    }
+
+    /**
+     * @return the lower bound of the pause in milliseconds
+     */
+    public long getMinPause() {
+        return minPause;
+    }
+
+    /**
+     * @return the smoothed latency of the link layer acknowledgements in milliseconds, or -1 if none was received yet
+     */
+    public synchronized long getAckLatency() {
+        return ackLatency;
+    }
+
+    /**
+     * Records the time between sending a read request and its acknowledgement by the link, e.g. the tunnelling ACK.
+     *
+     * @param latency the latency in milliseconds
+     */
+    public synchronized void ackReceived(long latency) {
+        ackLatency = ackLatency < 0 ? latency : (3 * ackLatency + latency) / 4;
+    }
+
+    /**
+     * Adapts the pause after a read request has completed.
+     *
+     * @param success true if the read request was answered
+     * @param foreignTelegrams the number of telegrams received so far, not counting the responses to own reads
+     * @param now the current {@link System#nanoTime()}
+     */
+    public synchronized void readCompleted(boolean success, long foreignTelegrams, long now) {
+        double busLoad = lastBusLoadTime == 0 ? 0
+                : (foreignTelegrams - lastBusLoadTelegrams) * 1e9 / Math.max(1, now - lastBusLoadTime);
+        lastBusLoadTime = now;
+        lastBusLoadTelegrams = foreignTelegrams;
+
+        long newPause;
+        if (!success || busLoad > BUSY_BUS_TELEGRAMS_PER_SECOND) {
+            newPause = pause * 2;
+        } else {
+            newPause = (pause + Math.max(minPause, ackLatency * ACK_LATENCY_FACTOR)) / 2;
+        }
+        pause = Math.min(Math.max(newPause, minPause), maxPause);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("pause=%dms, ack latency=%dms", pause, ackLatency);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Counters about the telegrams received from the KNX bus and how long it takes to dispatch them to the listeners.
+ *
+ * @author Karel Goderis - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class BusStatistics {
+
+    private final AtomicLong telegrams = new AtomicLong();
+    private final AtomicLong ownResponses = new AtomicLong();
+    private final AtomicLong dispatchedTelegrams = new AtomicLong();
+    private final AtomicLong totalDispatchLatency = new AtomicLong();
+    private final AtomicLong maxDispatchLatency = new AtomicLong();
+
+    private long lastSnapshotTime = System.nanoTime();
+    private long lastSnapshotTelegrams;
+
+    /**
+     * @param ownResponse true if the telegram is the response to a read request of the binding
+     */
+    void telegramReceived(boolean ownResponse) {
+        telegrams.incrementAndGet();
+        if (ownResponse) {
+            ownResponses.incrementAndGet();
+        }
+    }
+
+    void telegramDispatched(long latencyNanos) {
+        dispatchedTelegrams.incrementAndGet();
+        totalDispatchLatency.addAndGet(latencyNanos);
+        maxDispatchLatency.accumulateAndGet(latencyNanos, Math::max);
+    }
+
+    /**
+     * @return the number of telegrams received since the client was created
+     */
+    public long getTelegrams() {
+        return telegrams.get();
+    }
+
+    /**
+     * @return the number of telegrams received since the client was created, without the responses to the read
+     *         requests of the binding
+     */
+    public long getForeignTelegrams() {
+        return telegrams.get() - ownResponses.get();
+    }
+
+    /**
+     * @return the average time in milliseconds between receiving a telegram and handing it to its listeners
+     */
+    public double getAverageDispatchLatency() {
+        long dispatched = dispatchedTelegrams.get();
+        if (dispatched == 0) {
+            return 0;
+        }
+        return (double) totalDispatchLatency.get() / dispatched / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the maximum time in milliseconds between receiving a telegram and handing it to its listeners
+     */
+    public double getMaxDispatchLatency() {
+        return (double) maxDispatchLatency.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Calculates the number of telegrams per second since the previous call of this method.
+     *
+     * @return telegrams per second
+     */
+    public synchronized double getTelegramsPerSecond() {
+        long now = System.nanoTime();
+        long currentTelegrams = telegrams.get();
+        long elapsed = now - lastSnapshotTime;
+        double rate = elapsed > 0 ? (currentTelegrams - lastSnapshotTelegrams) * 1e9 / elapsed : 0;
+        lastSnapshotTime = now;
+        lastSnapshotTelegrams = currentTelegrams;
+        return rate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("telegrams=%d, avg dispatch latency=%.2fms, max dispatch latency=%.2fms", getTelegrams(),
+                getAverageDispatchLatency(), getMaxDispatchLatency());
+    }
+}
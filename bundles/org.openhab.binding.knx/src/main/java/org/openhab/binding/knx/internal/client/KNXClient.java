@@ -83,6 +83,15 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for asynchronous reading.
+     *
+     * @param datapoint the datapoint
+     * @param priority true if the datapoint should be read ahead of periodic refreshes, e.g. because linked items
+     *            are still waiting for their initial state
+     */
+    void readDatapoint(Datapoint datapoint, boolean priority);
+
     /**
      * Write a command to the KNX bus.
      *
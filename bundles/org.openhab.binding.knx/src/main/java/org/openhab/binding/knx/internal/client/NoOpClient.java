@@ -62,6 +62,10 @@ public class NoOpClient implements KNXClient {
     public void readDatapoint(Datapoint datapoint) {
     }
 
+    @Override
+    public void readDatapoint(Datapoint datapoint, boolean priority) {
+    }
+
     @Override
     public void writeToKNX(OutboundSpec commandSpec) throws KNXException {
     }
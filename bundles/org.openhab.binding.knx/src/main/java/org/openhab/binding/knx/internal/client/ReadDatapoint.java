@@ -24,6 +24,7 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private boolean priority;
 
     public ReadDatapoint(Datapoint datapoint, int limit) {
         this.datapoint = datapoint;
@@ -47,6 +48,17 @@ public class ReadDatapoint {
         return limit;
     }
 
+    /**
+     * @return true if the data point was queued with priority, i.e. linked items are waiting for its value
+     */
+    public boolean isPriority() {
+        return priority;
+    }
+
+    void setPriority(boolean priority) {
+        this.priority = priority;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Queue of data points which are to be read from the KNX bus.
+ *
+ * Every group address is queued at most once. Data points which are read for the first time, i.e. linked items are
+ * still waiting for their initial state, are read before periodic refreshes. The queue records the priority on the
+ * data point, so a failed read can be retried with its original priority. A group address which is queued as a
+ * refresh is moved ahead when it is queued again with priority.
+ *
+ * @author Karel Goderis - Initial contribution
+ */
+@NonNullByDefault
+public class ReadDatapointQueue {
+
+    private final ArrayDeque<ReadDatapoint> priorityQueue = new ArrayDeque<>();
+    private final ArrayDeque<ReadDatapoint> queue = new ArrayDeque<>();
+    // the queued group addresses, and whether they are queued with priority
+    private final Map<GroupAddress, Boolean> queuedAddresses = new HashMap<>();
+
+    /**
+     * Adds a data point to the queue, unless its group address is already queued. If the group address is queued
+     * without priority and the data point is added with priority, it replaces the queued data point.
+     *
+     * @param datapoint the data point to read
+     * @param priority true if the data point should be read ahead of the non-priority ones
+     * @return true if the data point was added
+     */
+    public synchronized boolean add(ReadDatapoint datapoint, boolean priority) {
+        GroupAddress address = datapoint.getDatapoint().getMainAddress();
+        Boolean queuedWithPriority = queuedAddresses.get(address);
+        if (queuedWithPriority != null) {
+            if (queuedWithPriority || !priority) {
+                return false;
+            }
+            queue.removeIf(queued -> queued.getDatapoint().getMainAddress().equals(address));
+        }
+        queuedAddresses.put(address, priority);
+        datapoint.setPriority(priority);
+        if (priority) {
+            priorityQueue.add(datapoint);
+        } else {
+            queue.add(datapoint);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves and removes the next data point to read.
+     *
+     * @return the next data point or null if the queue is empty
+     */
+    public synchronized @Nullable ReadDatapoint poll() {
+        ReadDatapoint datapoint = priorityQueue.poll();
+        if (datapoint == null) {
+            datapoint = queue.poll();
+        }
+        if (datapoint != null) {
+            queuedAddresses.remove(datapoint.getDatapoint().getMainAddress());
+        }
+        return datapoint;
+    }
+
+    public synchronized int size() {
+        return queuedAddresses.size();
+    }
+
+    public synchronized void clear() {
+        priorityQueue.clear();
+        queue.clear();
+        queuedAddresses.clear();
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+
+/**
+ * Delivers the telegrams received from the KNX bus to the listeners of their destination group address.
+ *
+ * The listeners are indexed by their group addresses when they get registered, so a telegram only visits the
+ * listeners interested in it. Telegrams of one burst are queued and delivered by a single task on the executor,
+ * instead of one task per telegram and listener.
+ *
+ * @author Karel Goderis - Initial contribution
+ */
+@NonNullByDefault
+public class TelegramDispatcher {
+
+    /**
+     * Hands a telegram to one of its listeners.
+     */
+    @FunctionalInterface
+    public interface ListenerNotification {
+        void apply(BusMessageListener listener, IndividualAddress source, GroupAddress destination, byte[] asdu);
+    }
+
+    private static class Telegram {
+        private final ListenerNotification action;
+        private final Set<GroupAddressListener> listeners;
+        private final IndividualAddress source;
+        private final GroupAddress destination;
+        private final byte[] asdu;
+        private final long received = System.nanoTime();
+
+        private Telegram(ListenerNotification action, Set<GroupAddressListener> listeners, IndividualAddress source,
+                GroupAddress destination, byte[] asdu) {
+            this.action = action;
+            this.listeners = listeners;
+            this.source = source;
+            this.destination = destination;
+            this.asdu = asdu;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(TelegramDispatcher.class);
+
+    private final Executor executor;
+    private final BusStatistics busStatistics;
+
+    private final Set<GroupAddressListener> listeners = new CopyOnWriteArraySet<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Telegram> pendingTelegrams = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    /**
+     * @param executor executor which runs the delivery of the queued telegrams
+     * @param busStatistics statistics which record the dispatch latency of the telegrams
+     */
+    public TelegramDispatcher(Executor executor, BusStatistics busStatistics) {
+        this.executor = executor;
+        this.busStatistics = busStatistics;
+    }
+
+    /**
+     * Registers a listener for the group addresses it returns at the time of the registration.
+     *
+     * @param listener the listener to register
+     * @return true if the listener was not registered yet
+     */
+    public boolean register(GroupAddressListener listener) {
+        for (GroupAddress groupAddress : listener.getGroupAddresses()) {
+            listenersByGroupAddress.compute(groupAddress, (ga, listeners) -> {
+                Set<GroupAddressListener> result = listeners != null ? listeners : new CopyOnWriteArraySet<>();
+                result.add(listener);
+                return result;
+            });
+        }
+        return listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener from the group addresses it returns.
+     *
+     * @param listener the listener to unregister
+     * @return true if the listener was registered
+     */
+    public boolean unregister(GroupAddressListener listener) {
+        for (GroupAddress groupAddress : listener.getGroupAddresses()) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (ga, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+        return listeners.remove(listener);
+    }
+
+    /**
+     * @param groupAddress a group address
+     * @return the listeners which receive the telegrams to the given group address
+     */
+    public Set<GroupAddressListener> getListeners(GroupAddress groupAddress) {
+        Set<GroupAddressListener> result = listenersByGroupAddress.get(groupAddress);
+        return result != null ? Collections.unmodifiableSet(result) : Collections.emptySet();
+    }
+
+    /**
+     * Queues a telegram for the listeners of its destination. The delivery is scheduled on the executor unless a
+     * delivery is already pending, which then also delivers this telegram.
+     *
+     * @return true if the telegram has any listeners
+     */
+    public boolean dispatch(ListenerNotification action, IndividualAddress source, GroupAddress destination,
+            byte[] asdu) {
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(destination);
+        if (listeners == null || listeners.isEmpty()) {
+            return false;
+        }
+        pendingTelegrams.add(new Telegram(action, listeners, source, destination, asdu));
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(this::deliverPendingTelegrams);
+        }
+        return true;
+    }
+
+    private void deliverPendingTelegrams() {
+        do {
+            dispatchScheduled.set(false);
+            Telegram telegram;
+            while ((telegram = pendingTelegrams.poll()) != null) {
+                busStatistics.telegramDispatched(System.nanoTime() - telegram.received);
+                for (GroupAddressListener listener : telegram.listeners) {
+                    try {
+                        telegram.action.apply(listener, telegram.source, telegram.destination, telegram.asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Listener failed to process telegram to '{}': {}", telegram.destination,
+                                e.getMessage(), e);
+                    }
+                }
+            }
+            // pick up telegrams which were queued after the queue has been drained but before the flag was reset
+        } while (!pendingTelegrams.isEmpty() && dispatchScheduled.compareAndSet(false, true));
+    }
+}
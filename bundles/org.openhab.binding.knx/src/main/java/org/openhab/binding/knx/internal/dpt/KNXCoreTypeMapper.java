@@ -24,6 +24,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -68,6 +70,7 @@ import tuwien.auto.calimero.dptxlator.DPTXlatorString;
 import tuwien.auto.calimero.dptxlator.DPTXlatorTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorUtf8;
 import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes.MainType;
 
 /**
  * This class provides type mapping between all openHAB core types and KNX data point types.
@@ -107,6 +110,22 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /**
+     * stores decoders for the most common datapoint types, which map the ASDU straight to an openHAB type without
+     * creating a translator and intermediate strings.
+     */
+    private final Map<String, Decoder> decoders;
+
+    private static class Decoder {
+        private final int length;
+        private final Function<byte[], Type> decode;
+
+        private Decoder(int length, Function<byte[], Type> decode) {
+            this.length = length;
+            this.decode = decode;
+        }
+    }
+
     public KNXCoreTypeMapper() {
         @SuppressWarnings("unused")
         final List<Class<?>> xlators = Arrays.<Class<?>> asList(DPTXlator1BitControlled.class,
@@ -568,6 +587,100 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
         defaultDptMap.put(DateTimeType.class, DPTXlatorTime.DPT_TIMEOFDAY.getID());
         defaultDptMap.put(StringType.class, DPTXlatorString.DPT_STRING_8859_1.getID());
         defaultDptMap.put(HSBType.class, DPTXlatorRGB.DPT_RGB.getID());
+
+        decoders = new HashMap<>();
+        for (int mainNumber : new int[] { 1, 5, 9, 14 }) {
+            MainType mainType = TranslatorTypes.getMainType(mainNumber);
+            if (mainType == null) {
+                continue;
+            }
+            try {
+                for (String dptID : mainType.getSubTypes().keySet()) {
+                    Decoder decoder = createDecoder(mainNumber, dptID);
+                    if (decoder != null) {
+                        decoders.put(dptID, decoder);
+                    }
+                }
+            } catch (KNXException e) {
+                logger.debug("Couldn't create decoders for main type {}: {}", mainNumber, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Creates a decoder which yields the same results as {@link #toType(Datapoint, byte[])} does via the calimero
+     * translators.
+     *
+     * @return the decoder or null if the datapoint type has to be decoded by a translator
+     */
+    private Decoder createDecoder(int mainNumber, String dptID) {
+        int subNumber = getSubNumber(dptID);
+        Class<? extends Type> typeClass = toTypeClass(dptID);
+        switch (mainNumber) {
+            case 1:
+                switch (subNumber) {
+                    case 8:
+                        return new Decoder(1, data -> (data[0] & 0x01) != 0 ? UpDownType.DOWN : UpDownType.UP);
+                    case 9:
+                    case 19:
+                        return new Decoder(1,
+                                data -> (data[0] & 0x01) != 0 ? OpenClosedType.OPEN : OpenClosedType.CLOSED);
+                    case 10:
+                        return new Decoder(1, data -> (data[0] & 0x01) != 0 ? StopMoveType.MOVE : StopMoveType.STOP);
+                    case 22:
+                        return new Decoder(1, data -> DecimalType.valueOf((data[0] & 0x01) != 0 ? "1" : "0"));
+                    default:
+                        return new Decoder(1, data -> (data[0] & 0x01) != 0 ? OnOffType.ON : OnOffType.OFF);
+                }
+            case 5:
+                if (subNumber == 3) {
+                    // angles are scaled by calimero with its own rounding
+                    return null;
+                }
+                boolean scaling = subNumber == 1;
+                if (typeClass == PercentType.class) {
+                    return new Decoder(1, data -> new PercentType(BigDecimal.valueOf(
+                            Math.round(scaling ? (data[0] & 0xFF) * 100.0 / 255 : (double) (data[0] & 0xFF)))));
+                } else if (typeClass == DecimalType.class && !scaling) {
+                    return new Decoder(1, data -> new DecimalType((double) (data[0] & 0xFF)));
+                }
+                return null;
+            case 9:
+                if (typeClass == PercentType.class) {
+                    return new Decoder(2,
+                            data -> new PercentType(BigDecimal.valueOf(Math.round(decode2ByteFloat(data)))));
+                } else if (typeClass == DecimalType.class) {
+                    return new Decoder(2, data -> new DecimalType(decode2ByteFloat(data)));
+                }
+                return null;
+            case 14:
+                if (typeClass == DecimalType.class) {
+                    return new Decoder(4, data -> new DecimalType((double) Float.intBitsToFloat((data[0] & 0xFF) << 24
+                            | (data[1] & 0xFF) << 16 | (data[2] & 0xFF) << 8 | (data[3] & 0xFF))));
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Decodes a KNX 2-byte float (MEEEEMMM MMMMMMMM) like the calimero translator does.
+     */
+    private static double decode2ByteFloat(byte[] data) {
+        int mantissa = (data[0] & 0x07) << 8 | (data[1] & 0xFF);
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 2048;
+        }
+        int exponent = (data[0] & 0x78) >> 3;
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    /**
+     * @return the datapoint types which are decoded without calimero translators
+     */
+    Set<String> getDecodableDPTs() {
+        return decoders.keySet();
     }
 
     @Override
@@ -672,6 +785,17 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        Decoder decoder = decoders.get(datapoint.getDPT());
+        if (decoder != null && data.length == decoder.length) {
+            return decoder.decode.apply(data);
+        }
+        return toTypeWithTranslator(datapoint, data);
+    }
+
+    /**
+     * Maps a datapoint value to an openHAB type by the means of a calimero translator.
+     */
+    Type toTypeWithTranslator(Datapoint datapoint, byte[] data) {
         try {
             DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
@@ -15,6 +15,7 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.internal.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -83,10 +84,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
 
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // the group addresses must be known before registering with the client
         initializeGroupAddresses();
+        super.initialize();
     }
 
     private void initializeGroupAddresses() {
@@ -170,23 +172,24 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (readInterval > 0) {
             ScheduledFuture<?> future = readFutures.get(groupAddress);
             if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
-                        TimeUnit.SECONDS);
+                getScheduler().submit(() -> readDatapoint(groupAddress, dpt, true));
+                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt, false),
+                        readInterval, readInterval, TimeUnit.SECONDS);
                 readFutures.put(groupAddress, future);
             }
         } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
+            getScheduler().submit(() -> readDatapoint(groupAddress, dpt, true));
         }
     }
 
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, boolean priority) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            getClient().readDatapoint(datapoint, priority);
         }
     }
 
@@ -195,6 +198,11 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         return groupAddresses.contains(destination);
     }
 
+    @Override
+    public Set<GroupAddress> getGroupAddresses() {
+        return Collections.unmodifiableSet(groupAddresses);
+    }
+
     /** KNXIO remember controls, removeIf may be null */
     @SuppressWarnings("null")
     private void rememberRespondingSpec(OutboundSpec commandSpec, boolean add) {
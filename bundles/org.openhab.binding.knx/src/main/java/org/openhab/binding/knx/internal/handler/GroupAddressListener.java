@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.knx.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.knx.internal.client.BusMessageListener;
 
@@ -34,4 +36,10 @@ public interface GroupAddressListener extends BusMessageListener {
      */
     public boolean listensTo(GroupAddress destination);
 
+    /**
+     * Returns all GroupAddresses the GroupAddressListener has an interest in. The client uses them to index its
+     * listeners when they get registered.
+     */
+    public Set<GroupAddress> getGroupAddresses();
+
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @author Karel Goderis - Initial contribution
+ *
+ */
+public class AdaptiveReadingPauseTest {
+
+    private static final int READING_PAUSE = 100;
+
+    private AdaptiveReadingPause pause;
+    private long now;
+    private long telegrams;
+
+    @Before
+    public void setup() {
+        pause = new AdaptiveReadingPause(READING_PAUSE);
+        now = TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Completes a read one second after the previous one, while the given number of foreign telegrams were received
+     */
+    private void readCompleted(boolean success, long foreignTelegrams) {
+        now += TimeUnit.SECONDS.toNanos(1);
+        telegrams += foreignTelegrams;
+        pause.readCompleted(success, telegrams, now);
+    }
+
+    @Test
+    public void testPauseStartsAtConfiguredReadingPause() {
+        assertEquals(READING_PAUSE, pause.getPause());
+        assertEquals(READING_PAUSE / AdaptiveReadingPause.MIN_PAUSE_DIVISOR, pause.getMinPause());
+    }
+
+    @Test
+    public void testPauseFallsBelowReadingPauseOnQuietBus() {
+        for (int i = 0; i < 20; i++) {
+            readCompleted(true, 1);
+        }
+        assertEquals(pause.getMinPause(), pause.getPause());
+        assertTrue(pause.getPause() < READING_PAUSE);
+    }
+
+    @Test
+    public void testPauseFollowsAckLatency() {
+        pause.ackReceived(40);
+        for (int i = 0; i < 20; i++) {
+            readCompleted(true, 0);
+        }
+        assertEquals(40 * AdaptiveReadingPause.ACK_LATENCY_FACTOR, pause.getPause());
+
+        // the latency is smoothed, a single slow acknowledgement doesn't slow down reading at once
+        pause.ackReceived(200);
+        assertEquals(80, pause.getAckLatency());
+    }
+
+    @Test
+    public void testPauseDoublesOnFailedRead() {
+        readCompleted(false, 0);
+        assertEquals(2 * READING_PAUSE, pause.getPause());
+
+        for (int i = 0; i < 10; i++) {
+            readCompleted(false, 0);
+        }
+        assertEquals(READING_PAUSE * AdaptiveReadingPause.MAX_PAUSE_FACTOR, pause.getPause());
+    }
+
+    @Test
+    public void testPauseDoublesOnBusyBus() {
+        readCompleted(true, 0);
+        readCompleted(true, (long) AdaptiveReadingPause.BUSY_BUS_TELEGRAMS_PER_SECOND + 1);
+        assertEquals(2 * ((READING_PAUSE + pause.getMinPause()) / 2), pause.getPause());
+    }
+
+    @Test
+    public void testVeryShortReadingPause() {
+        AdaptiveReadingPause shortPause = new AdaptiveReadingPause(0);
+        assertEquals(1, shortPause.getMinPause());
+        assertEquals(1, shortPause.getPause());
+
+        shortPause.readCompleted(false, 0, now);
+        assertEquals(1, shortPause.getPause());
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+
+/**
+ *
+ * @author Karel Goderis - Initial contribution
+ *
+ */
+public class ReadDatapointQueueTest {
+
+    private static ReadDatapoint datapoint(String groupAddress) throws KNXFormatException {
+        return new ReadDatapoint(new CommandDP(new GroupAddress(groupAddress), "test"), 3);
+    }
+
+    @Test
+    public void testDuplicatesAreIgnored() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        assertTrue(queue.add(datapoint("1/2/3"), false));
+        assertFalse(queue.add(datapoint("1/2/3"), false));
+        assertTrue(queue.add(datapoint("1/2/4"), true));
+        assertFalse(queue.add(datapoint("1/2/4"), true));
+        assertFalse(queue.add(datapoint("1/2/4"), false));
+        assertEquals(2, queue.size());
+
+        queue.poll();
+        queue.poll();
+        assertTrue(queue.add(datapoint("1/2/3"), false));
+    }
+
+    @Test
+    public void testQueuedDatapointIsPromotedToPriority() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        queue.add(datapoint("1/1/1"), false);
+        queue.add(datapoint("1/1/2"), false);
+        queue.add(datapoint("1/1/3"), true);
+        assertTrue(queue.add(datapoint("1/1/2"), true));
+        assertEquals(3, queue.size());
+
+        assertEquals(new GroupAddress("1/1/3"), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress("1/1/2"), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress("1/1/1"), queue.poll().getDatapoint().getMainAddress());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testRetryKeepsPriority() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        queue.add(datapoint("1/1/1"), true);
+        queue.add(datapoint("1/1/2"), false);
+        ReadDatapoint failed = queue.poll();
+        assertTrue(failed.isPriority());
+
+        queue.add(datapoint("1/1/3"), false);
+        queue.add(failed, failed.isPriority());
+        assertSame(failed, queue.poll());
+        assertFalse(queue.poll().isPriority());
+    }
+
+    @Test
+    public void testPriorityDatapointsAreReadFirst() throws KNXFormatException {
+        ReadDatapointQueue queue = new ReadDatapointQueue();
+
+        queue.add(datapoint("1/1/1"), false);
+        queue.add(datapoint("1/1/2"), true);
+        queue.add(datapoint("1/1/3"), false);
+        queue.add(datapoint("1/1/4"), true);
+
+        assertEquals(new GroupAddress("1/1/2"), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress("1/1/4"), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress("1/1/1"), queue.poll().getDatapoint().getMainAddress());
+        assertEquals(new GroupAddress("1/1/3"), queue.poll().getDatapoint().getMainAddress());
+        assertNull(queue.poll());
+    }
+}
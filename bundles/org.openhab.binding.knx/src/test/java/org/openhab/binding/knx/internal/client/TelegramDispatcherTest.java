@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXFormatException;
+
+/**
+ *
+ * @author Karel Goderis - Initial contribution
+ *
+ */
+public class TelegramDispatcherTest {
+
+    private static final IndividualAddress SOURCE = new IndividualAddress(1, 1, 1);
+    private static final byte[] ASDU = new byte[] { 1 };
+
+    private static class TestListener implements GroupAddressListener {
+        private final String name;
+        private final Set<GroupAddress> groupAddresses;
+
+        private TestListener(String name, GroupAddress... groupAddresses) {
+            this.name = name;
+            this.groupAddresses = new HashSet<>(Arrays.asList(groupAddresses));
+        }
+
+        @Override
+        public boolean listensTo(GroupAddress destination) {
+            return groupAddresses.contains(destination);
+        }
+
+        @Override
+        public Set<GroupAddress> getGroupAddresses() {
+            return groupAddresses;
+        }
+
+        @Override
+        public void onGroupWrite(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupRead(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public void onGroupReadResponse(AbstractKNXClient client, IndividualAddress source, GroupAddress destination,
+                byte[] asdu) {
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<String> delivered = new ArrayList<>();
+    private final TelegramDispatcher.ListenerNotification action = (listener, source, destination, asdu) -> delivered
+            .add(listener + "@" + destination);
+
+    private TelegramDispatcher dispatcher;
+    private GroupAddress ga1;
+    private GroupAddress ga2;
+    private GroupAddress ga3;
+
+    @Before
+    public void setup() throws KNXFormatException {
+        dispatcher = new TelegramDispatcher(tasks::add, new BusStatistics());
+        ga1 = new GroupAddress("1/1/1");
+        ga2 = new GroupAddress("1/1/2");
+        ga3 = new GroupAddress("1/1/3");
+    }
+
+    private void runTasks() {
+        List<Runnable> current = new ArrayList<>(tasks);
+        tasks.clear();
+        current.forEach(Runnable::run);
+    }
+
+    @Test
+    public void testListenersAreIndexedByGroupAddress() {
+        TestListener a = new TestListener("a", ga1, ga2);
+        TestListener b = new TestListener("b", ga2);
+
+        assertTrue(dispatcher.register(a));
+        assertTrue(dispatcher.register(b));
+        assertFalse(dispatcher.register(b));
+
+        assertEquals(Collections.singleton(a), dispatcher.getListeners(ga1));
+        assertEquals(new HashSet<>(Arrays.asList(a, b)), dispatcher.getListeners(ga2));
+        assertTrue(dispatcher.getListeners(ga3).isEmpty());
+    }
+
+    @Test
+    public void testUnregisteredListenerIsRemovedFromItsGroupAddressesOnly() {
+        TestListener a = new TestListener("a", ga1, ga2);
+        TestListener b = new TestListener("b", ga2, ga3);
+        dispatcher.register(a);
+        dispatcher.register(b);
+
+        assertTrue(dispatcher.unregister(a));
+        assertFalse(dispatcher.unregister(a));
+
+        assertTrue(dispatcher.getListeners(ga1).isEmpty());
+        assertEquals(Collections.singleton(b), dispatcher.getListeners(ga2));
+        assertEquals(Collections.singleton(b), dispatcher.getListeners(ga3));
+    }
+
+    @Test
+    public void testTelegramsAreDeliveredToTheListenersOfTheirDestination() {
+        dispatcher.register(new TestListener("a", ga1));
+        dispatcher.register(new TestListener("b", ga2));
+
+        assertTrue(dispatcher.dispatch(action, SOURCE, ga1, ASDU));
+        assertFalse(dispatcher.dispatch(action, SOURCE, ga3, ASDU));
+        runTasks();
+
+        assertEquals(Arrays.asList("a@1/1/1"), delivered);
+    }
+
+    @Test
+    public void testBurstIsDeliveredByOneTask() {
+        dispatcher.register(new TestListener("a", ga1, ga2));
+        dispatcher.register(new TestListener("b", ga2));
+
+        dispatcher.dispatch(action, SOURCE, ga1, ASDU);
+        dispatcher.dispatch(action, SOURCE, ga2, ASDU);
+        dispatcher.dispatch(action, SOURCE, ga1, ASDU);
+        assertEquals(1, tasks.size());
+        assertTrue(delivered.isEmpty());
+
+        runTasks();
+        assertEquals(4, delivered.size());
+        assertEquals("a@1/1/1", delivered.get(0));
+        assertEquals(new HashSet<>(Arrays.asList("a@1/1/2", "b@1/1/2")), new HashSet<>(delivered.subList(1, 3)));
+        assertEquals("a@1/1/1", delivered.get(3));
+
+        // the next telegram after a delivery schedules a new task
+        dispatcher.dispatch(action, SOURCE, ga2, ASDU);
+        assertEquals(1, tasks.size());
+    }
+
+    @Test
+    public void testFailingListenerDoesNotStopTheDelivery() {
+        dispatcher.register(new TestListener("a", ga1));
+        dispatcher.register(new TestListener("b", ga2));
+        TelegramDispatcher.ListenerNotification failing = (listener, source, destination, asdu) -> {
+            if (destination.equals(ga1)) {
+                throw new IllegalStateException("test");
+            }
+            delivered.add(listener + "@" + destination);
+        };
+
+        dispatcher.dispatch(failing, SOURCE, ga1, ASDU);
+        dispatcher.dispatch(failing, SOURCE, ga2, ASDU);
+        runTasks();
+
+        assertEquals(Arrays.asList("b@1/1/2"), delivered);
+    }
+}
@@ -12,11 +12,21 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.junit.Test;
 
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
 /**
  *
  * @author Simon Kaufmann - initial contribution and API
@@ -30,4 +40,68 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testDecodersAreRegisteredForCommonDPTs() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertTrue(mapper.getDecodableDPTs().contains("1.001"));
+        assertTrue(mapper.getDecodableDPTs().contains("5.001"));
+        assertTrue(mapper.getDecodableDPTs().contains("9.001"));
+        assertTrue(mapper.getDecodableDPTs().contains("14.019"));
+    }
+
+    @Test
+    public void testToType_decoders() throws KNXFormatException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertEquals(OnOffType.ON, mapper.toType(datapoint("1.001"), new byte[] { 1 }));
+        assertEquals(new PercentType(100), mapper.toType(datapoint("5.001"), new byte[] { (byte) 0xFF }));
+        assertEquals(new DecimalType(21.5), mapper.toType(datapoint("9.001"), new byte[] { 0x0C, 0x33 }));
+    }
+
+    /**
+     * The decoders must yield exactly the same as the calimero translators, for every possible ASDU of the 1 and 2
+     * byte types and a sample of the 4 byte types.
+     */
+    @Test
+    public void testToType_decodersMatchTranslators() throws KNXFormatException {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        Random random = new Random(4711);
+        for (String dpt : mapper.getDecodableDPTs()) {
+            Datapoint datapoint = datapoint(dpt);
+            if (dpt.startsWith("14.")) {
+                for (int i = 0; i < 1000; i++) {
+                    byte[] data = new byte[4];
+                    random.nextBytes(data);
+                    assertSameType(mapper, datapoint, data);
+                }
+            } else if (dpt.startsWith("9.")) {
+                for (int i = 0; i <= 0xFFFF; i++) {
+                    assertSameType(mapper, datapoint, new byte[] { (byte) (i >> 8), (byte) i });
+                }
+            } else {
+                for (int i = 0; i <= 0xFF; i++) {
+                    assertSameType(mapper, datapoint, new byte[] { (byte) i });
+                }
+            }
+        }
+    }
+
+    private static Datapoint datapoint(String dpt) throws KNXFormatException {
+        return new CommandDP(new GroupAddress("1/2/3"), "test", 0, dpt);
+    }
+
+    private static void assertSameType(KNXCoreTypeMapper mapper, Datapoint datapoint, byte[] data) {
+        Object expected;
+        try {
+            expected = mapper.toTypeWithTranslator(datapoint, data);
+        } catch (IllegalArgumentException e) {
+            expected = e.getClass();
+        }
+        Object actual;
+        try {
+            actual = mapper.toType(datapoint, data);
+        } catch (IllegalArgumentException e) {
+            actual = e.getClass();
+        }
+        assertEquals(datapoint.getDPT() + " " + Arrays.toString(data), expected, actual);
+    }
 }
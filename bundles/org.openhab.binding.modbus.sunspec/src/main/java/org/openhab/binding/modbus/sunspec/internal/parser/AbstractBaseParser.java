@@ -15,7 +15,6 @@ package org.openhab.binding.modbus.sunspec.internal.parser;
 import java.util.Optional;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.openhab.io.transport.modbus.ModbusBitUtilities;
 import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
 import org.openhab.io.transport.modbus.ModbusRegisterArray;
@@ -37,8 +36,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        short value = (short) ModbusBitUtilities.extractLongFromRegisters(raw, index, ValueType.INT16);
+        return value == (short) 0x8000 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -61,8 +60,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Integer> extractOptionalUInt16(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.UINT16).map(DecimalType::intValue)
-                .filter(value -> value != 0xffff);
+        int value = (int) ModbusBitUtilities.extractLongFromRegisters(raw, index, ValueType.UINT16);
+        return value == 0xffff ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -85,8 +84,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Long> extractOptionalAcc32(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.UINT32).map(DecimalType::longValue)
-                .filter(value -> value != 0);
+        long value = ModbusBitUtilities.extractLongFromRegisters(raw, index, ValueType.UINT32);
+        return value == 0 ? Optional.empty() : Optional.of(value);
     }
 
     /**
@@ -109,8 +108,8 @@ public class AbstractBaseParser {
      * @return the parsed value or empty if the field is not implemented
      */
     protected Optional<Short> extractOptionalSunSSF(ModbusRegisterArray raw, int index) {
-        return ModbusBitUtilities.extractStateFromRegisters(raw, index, ValueType.INT16).map(DecimalType::shortValue)
-                .filter(value -> value != (short) 0x8000);
+        short value = (short) ModbusBitUtilities.extractLongFromRegisters(raw, index, ValueType.INT16);
+        return value == (short) 0x8000 ? Optional.empty() : Optional.of(value);
     }
 
     /**
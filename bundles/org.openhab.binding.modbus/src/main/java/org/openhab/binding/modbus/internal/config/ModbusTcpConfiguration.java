@@ -32,6 +32,7 @@ public class ModbusTcpConfiguration {
     private int connectMaxTries;
     private int reconnectAfterMillis;
     private int connectTimeoutMillis;
+    private int maxOutstandingTransactions = 1;
     private boolean enableDiscovery;
 
     public @Nullable String getHost() {
@@ -98,6 +99,14 @@ public class ModbusTcpConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxOutstandingTransactions() {
+        return maxOutstandingTransactions;
+    }
+
+    public void setMaxOutstandingTransactions(int maxOutstandingTransactions) {
+        this.maxOutstandingTransactions = maxOutstandingTransactions;
+    }
+
     public boolean isDiscoveryEnabled() {
         return enableDiscovery;
     }
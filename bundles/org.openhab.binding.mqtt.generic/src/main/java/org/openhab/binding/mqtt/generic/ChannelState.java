@@ -27,7 +27,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.types.Command;
-import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.io.transport.mqtt.MqttBrokerConnection;
 import org.eclipse.smarthome.io.transport.mqtt.MqttMessageSubscriber;
 import org.openhab.binding.mqtt.generic.values.TextValue;
@@ -152,32 +151,41 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
-        for (ChannelStateTransformation t : transformationsIn) {
-            String transformedValue = t.processValue(strValue);
-            if (transformedValue != null) {
-                strValue = transformedValue;
-            } else {
-                logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue, t.serviceName);
+        // Plain payloads without transformations might be parsed without decoding them first
+        Command command = null;
+        if (transformationsIn.isEmpty() && !config.trigger) {
+            command = cachedValue.parsePayload(payload);
+        }
+
+        if (command == null) {
+            // String value: Apply transformations
+            String strValue = new String(payload, StandardCharsets.UTF_8);
+            for (ChannelStateTransformation t : transformationsIn) {
+                String transformedValue = t.processValue(strValue);
+                if (transformedValue != null) {
+                    strValue = transformedValue;
+                } else {
+                    logger.debug("Transformation '{}' returned null on '{}', discarding message", strValue,
+                            t.serviceName);
+                    receivedOrTimeout();
+                    return;
+                }
+            }
+
+            // Is trigger?: Special handling
+            if (config.trigger) {
+                channelStateUpdateListener.triggerChannel(channelUID, strValue);
                 receivedOrTimeout();
                 return;
             }
-        }
-
-        // Is trigger?: Special handling
-        if (config.trigger) {
-            channelStateUpdateListener.triggerChannel(channelUID, strValue);
-            receivedOrTimeout();
-            return;
-        }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
-        if (command == null) {
-            logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
-                    cachedValue.getClass().getSimpleName());
-            receivedOrTimeout();
-            return;
+            command = cachedValue.parseCommand(strValue);
+            if (command == null) {
+                logger.warn("Incoming payload '{}' not supported by type '{}'", strValue,
+                        cachedValue.getClass().getSimpleName());
+                receivedOrTimeout();
+                return;
+            }
         }
 
         Command postOnlyCommand = cachedValue.isPostOnly(command);
@@ -191,7 +199,7 @@ public class ChannelState implements MqttMessageSubscriber {
         try {
             cachedValue.update(command);
         } catch (IllegalArgumentException | IllegalStateException e) {
-            logger.warn("Command '{}' not supported by type '{}': {}", strValue, cachedValue.getClass().getSimpleName(),
+            logger.warn("Command '{}' not supported by type '{}': {}", command, cachedValue.getClass().getSimpleName(),
                     e.getMessage());
             receivedOrTimeout();
             return;
@@ -44,6 +44,8 @@ import tec.uom.se.AbstractUnit;
  */
 @NonNullByDefault
 public class NumberValue extends Value {
+    private static final int MAX_PLAIN_NUMBER_LENGTH = 32;
+
     private final Logger logger = LoggerFactory.getLogger(NumberValue.class);
     private final @Nullable BigDecimal min;
     private final @Nullable BigDecimal max;
@@ -132,6 +134,62 @@ public class NumberValue extends Value {
         }
     }
 
+    /**
+     * Parses plain decimal payloads like "-12.5" without a String round trip. Payloads with a unit, exponent or
+     * surrounding whitespace are left to the generic parsing.
+     */
+    @Override
+    public @Nullable Command parsePayload(byte[] payload) {
+        int length = payload.length;
+        if (length == 0 || length > MAX_PLAIN_NUMBER_LENGTH) {
+            return null;
+        }
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (payload[i] & 0xFF);
+        }
+        return parsePlainNumber(chars);
+    }
+
+    /**
+     * Parses plain decimal values, for example the result of a JSONPATH transformation, without trying each of the
+     * supported command types in turn.
+     */
+    @Override
+    public @Nullable Command parseCommand(String value) {
+        if (!value.isEmpty() && value.length() <= MAX_PLAIN_NUMBER_LENGTH) {
+            Command command = parsePlainNumber(value.toCharArray());
+            if (command != null) {
+                return command;
+            }
+        }
+        return super.parseCommand(value);
+    }
+
+    private static @Nullable Command parsePlainNumber(char[] chars) {
+        int i = chars[0] == '-' ? 1 : 0;
+        int digitsBeforePoint = 0;
+        int digitsAfterPoint = -1;
+        for (; i < chars.length; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                if (digitsAfterPoint < 0) {
+                    digitsBeforePoint++;
+                } else {
+                    digitsAfterPoint++;
+                }
+            } else if (c == '.' && digitsAfterPoint < 0 && digitsBeforePoint > 0) {
+                digitsAfterPoint = 0;
+            } else {
+                return null;
+            }
+        }
+        if (digitsBeforePoint == 0 || digitsAfterPoint == 0) {
+            return null;
+        }
+        return new DecimalType(new BigDecimal(chars));
+    }
+
     @Override
     public StateDescriptionFragmentBuilder createStateDescription(boolean readOnly) {
         StateDescriptionFragmentBuilder builder = super.createStateDescription(readOnly);
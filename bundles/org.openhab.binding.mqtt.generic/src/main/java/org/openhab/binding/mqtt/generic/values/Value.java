@@ -26,6 +26,7 @@ import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.StateDescriptionFragmentBuilder;
+import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.core.types.UnDefType;
 
 /**
@@ -135,6 +136,26 @@ public abstract class Value {
         return null;
     }
 
+    /**
+     * Parses an untransformed MQTT payload straight into a command, without decoding it into a String first.
+     * Returns null if the payload has to go through the generic String based parsing instead.
+     *
+     * @param payload The raw MQTT payload
+     */
+    public @Nullable Command parsePayload(byte[] payload) {
+        return null;
+    }
+
+    /**
+     * Parses a received, possibly transformed, MQTT value into a command of one of the supported command types.
+     * Returns null if the value is not supported by this type.
+     *
+     * @param value The MQTT value
+     */
+    public @Nullable Command parseCommand(String value) {
+        return TypeParser.parseCommand(commandTypes, value);
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.mqtt.generic.values.NumberValue;
+import org.openhab.binding.mqtt.generic.values.OnOffValue;
+import org.openhab.binding.mqtt.generic.values.TextValue;
+import org.openhab.binding.mqtt.generic.values.Value;
+
+/**
+ * Benchmark of the messages processed by a {@link ChannelState}, for channels with and without an incoming
+ * transformation.
+ *
+ * This is not a unit test and is not run during the build. Run the main method to measure the number of messages
+ * that can be processed per second.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public final class ChannelStateBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    /**
+     * Transformation which returns the value after the last colon, standing in for a cheap JSONPATH or REGEX
+     */
+    private static final TransformationService SUFFIX_TRANSFORMATION = (function, source) -> source
+            .substring(source.lastIndexOf(':') + 1);
+
+    private static final ChannelUID CHANNEL_UID = new ChannelUID("mqtt:topic:broker:thing:channel");
+
+    private ChannelStateBenchmark() {
+        // Benchmark main class
+    }
+
+    private static class CountingListener implements ChannelStateUpdateListener {
+        private final AtomicInteger received = new AtomicInteger();
+
+        @Override
+        public void updateChannelState(ChannelUID channelUID, State value) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void postChannelCommand(ChannelUID channelUID, Command value) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void triggerChannel(ChannelUID channelUID, String eventPayload) {
+            received.incrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) {
+        run("number", new NumberValue(null, null, null, null), false, "21.5");
+        run("number, transformed", new NumberValue(null, null, null, null), true, "temperature:21.5");
+        run("number with unit", new NumberValue(null, null, null, null), false, "21.5 °C");
+        run("switch", new OnOffValue(), false, "ON");
+        run("text", new TextValue(), false, "online");
+    }
+
+    private static void run(String name, Value value, boolean transformed, String message) {
+        CountingListener listener = new CountingListener();
+        ChannelState channelState = new ChannelState(ChannelConfigBuilder.create("state", null).build(), CHANNEL_UID,
+                value, listener);
+        if (transformed) {
+            channelState.addTransformation(new ChannelStateTransformation("SUFFIX", "", type -> SUFFIX_TRANSFORMATION));
+        }
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+
+        process(channelState, payload, WARMUP_ITERATIONS);
+        listener.received.set(0);
+        long start = System.nanoTime();
+        process(channelState, payload, ITERATIONS);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-20s %8.3f us/message %10.0f messages/s (%d received)", name,
+                elapsed / 1000.0 / ITERATIONS, ITERATIONS * 1e9 / elapsed, listener.received.get()));
+    }
+
+    private static void process(ChannelState channelState, byte[] payload, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            channelState.processMessage("state", payload);
+        }
+    }
+}
@@ -82,6 +82,36 @@ public class ValueTests {
         v.update(OnOffType.OFF);
     }
 
+    @Test
+    public void numberParsePayload() {
+        NumberValue v = new NumberValue(null, null, null, null);
+        assertThat(v.parsePayload("15".getBytes()), is(new DecimalType(15)));
+        assertThat(v.parsePayload("-5.25".getBytes()), is(new DecimalType(new BigDecimal("-5.25"))));
+
+        // Anything else is left to the TypeParser
+        assertNull(v.parsePayload("".getBytes()));
+        assertNull(v.parsePayload("-".getBytes()));
+        assertNull(v.parsePayload("5.".getBytes()));
+        assertNull(v.parsePayload(".5".getBytes()));
+        assertNull(v.parsePayload("1e3".getBytes()));
+        assertNull(v.parsePayload(" 15".getBytes()));
+        assertNull(v.parsePayload("21.5 °C".getBytes()));
+        assertNull(v.parsePayload("INCREASE".getBytes()));
+        assertNull(new TextValue().parsePayload("15".getBytes()));
+    }
+
+    @Test
+    public void numberParseCommand() {
+        NumberValue v = new NumberValue(null, null, null, null);
+        assertThat(v.parseCommand("-5.25"), is(new DecimalType(new BigDecimal("-5.25"))));
+
+        // Anything else gives the same result as the TypeParser
+        for (String value : new String[] { "5.", "1e3", " 15", "INCREASE", "UP", "abc" }) {
+            assertThat(v.parseCommand(value), is(p(v, value)));
+        }
+        assertThat(new TextValue().parseCommand("15"), is(new StringType("15")));
+    }
+
     @Test(expected = IllegalStateException.class)
     public void illegalPercentCommand() {
         PercentageValue v = new PercentageValue(null, null, null, null, null);
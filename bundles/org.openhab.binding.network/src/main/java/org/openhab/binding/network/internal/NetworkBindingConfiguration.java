@@ -36,6 +36,8 @@ public class NetworkBindingConfiguration {
     public @NonNullByDefault({}) ArpPingUtilEnum arpPingUtilMethod;
     // For backwards compatibility reasons, the default is to use the ping method execution time as latency value
     public boolean preferResponseTimeAsLatency = false;
+    // ARP table entries might outlive the presence of a device, therefore this is opt-in
+    public boolean useArpTable = false;
 
     private List<NetworkBindingConfigurationListener> listeners = new ArrayList<>();
 
@@ -45,6 +47,7 @@ public class NetworkBindingConfiguration {
         this.cacheDeviceStateTimeInMS = newConfiguration.cacheDeviceStateTimeInMS;
         this.arpPingToolPath = newConfiguration.arpPingToolPath;
         this.preferResponseTimeAsLatency = newConfiguration.preferResponseTimeAsLatency;
+        this.useArpTable = newConfiguration.useArpTable;
 
         NetworkUtils networkUtils = new NetworkUtils();
         this.arpPingUtilMethod = networkUtils.determineNativeARPpingMethod(arpPingToolPath);
@@ -69,6 +72,7 @@ public class NetworkBindingConfiguration {
                 ", arpPingToolPath='" + arpPingToolPath + '\'' +
                 ", arpPingUtilMethod=" + arpPingUtilMethod +
                 ", preferResponseTimeAsLatency=" + preferResponseTimeAsLatency +
+                ", useArpTable=" + useArpTable +
                 '}';
     }
 }
@@ -63,6 +63,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     protected ArpPingUtilEnum arpPingMethod = ArpPingUtilEnum.UNKNOWN_TOOL;
     protected @Nullable IpPingMethodEnum pingMethod = null;
     private boolean iosDevice;
+    private boolean useArpTable = false;
     private Set<Integer> tcpPorts = new HashSet<>();
 
     private long refreshIntervalInMS = 60000;
@@ -152,6 +153,20 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.timeoutInMS = timeout;
     }
 
+    /**
+     * Enables or disables the ARP table of the operating system as presence source.
+     * Only available on Linux and for IPv4 addresses.
+     *
+     * @param enable Enable or disable the ARP table lookup
+     */
+    public void setUseArpTable(boolean enable) {
+        this.useArpTable = enable;
+    }
+
+    public boolean isUseArpTable() {
+        return useArpTable;
+    }
+
     public void setPreferResponseTimeAsLatency(boolean preferResponseTimeAsLatency) {
         this.preferResponseTimeAsLatency = preferResponseTimeAsLatency;
     }
@@ -322,6 +337,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             interfaceNames = networkUtils.getInterfaceNames();
             detectionChecks += interfaceNames.size();
         }
+        final boolean arpTableLookup = useArpTable && networkUtils.isArpTableAvailable();
+        if (arpTableLookup) {
+            detectionChecks += 1;
+        }
 
         if (detectionChecks == 0) {
             return false;
@@ -357,6 +376,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             }
         }
 
+        // ARP table lookup, does not cause any network traffic
+        if (arpTableLookup) {
+            executorService.execute(() -> {
+                performArpTableLookup();
+                checkIfFinished();
+            });
+        }
+
         // ICMP ping
         if (pingMethod != null) {
             executorService.execute(() -> {
@@ -528,6 +555,22 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         }
     }
 
+    /**
+     * Looks up the destination in the ARP table of the operating system. A complete entry means that the device
+     * answered an ARP request recently.
+     */
+    protected void performArpTableLookup() {
+        logger.trace("Perform ARP table presence detection for {}", hostname);
+        InetAddress destinationAddress = destination.getValue();
+        if (!(destinationAddress instanceof Inet4Address)) {
+            return;
+        }
+        if (networkUtils.getArpTableEntries().containsKey(destinationAddress.getHostAddress())) {
+            PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.ARP_TABLE, 0);
+            updateListener.partialDetectionResult(v);
+        }
+    }
+
     /**
      * Performs a java ping. It is not recommended to use this, as it is not interruptible,
      * and will not work on windows systems reliably and will fall back from ICMP pings to
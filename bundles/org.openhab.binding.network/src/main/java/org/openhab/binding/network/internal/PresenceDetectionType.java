@@ -23,6 +23,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 @NonNullByDefault
 public enum PresenceDetectionType {
     ARP_PING,
+    ARP_TABLE,
     ICMP_PING,
     TCP_CONNECTION,
     DHCP_REQUEST
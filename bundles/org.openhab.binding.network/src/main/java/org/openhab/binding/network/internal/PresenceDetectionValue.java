@@ -141,10 +141,11 @@ public class PresenceDetectionValue {
     }
 
     /**
-     * Return true if the target can be reached by ICMP or ARP pings.
+     * Return true if the target can be reached by ICMP or ARP pings, or is listed in the ARP table.
      */
     public boolean isPingReachable() {
         return reachableByType.contains(PresenceDetectionType.ARP_PING)
+                || reachableByType.contains(PresenceDetectionType.ARP_TABLE)
                 || reachableByType.contains(PresenceDetectionType.ICMP_PING);
     }
 
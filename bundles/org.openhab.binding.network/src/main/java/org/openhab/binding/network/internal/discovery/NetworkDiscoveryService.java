@@ -14,11 +14,17 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.internal.NetworkBindingConstants.*;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -47,7 +53,8 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link NetworkDiscoveryService} is responsible for discovering devices on
  * the current Network. It uses every Network Interface which is connected to a network.
- * It tries common TCP ports to connect to, ICMP pings and ARP pings.
+ * It tries common TCP ports to connect to, and reads the ARP table of the operating system afterwards.
+ * If the ARP table is not available, ICMP pings and ARP pings are used instead.
  *
  * @author Marc Mettke - Initial contribution
  * @author David Graeff - Rewritten
@@ -57,6 +64,8 @@ import org.slf4j.LoggerFactory;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int MAXIMUM_CONCURRENT_TCP_PROBES = 512;
+    static final int ARP_RESOLUTION_TIME_IN_MS = 1000;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -120,7 +129,11 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the discovery of every IP on each interface on the network.
+     *
+     * The TCP service ports of all IPs are probed concurrently on a single thread. Each probe makes the operating
+     * system resolve the hardware address of the IP, so afterwards the ARP table lists every host that is present.
+     * Only if the ARP table is not available, the IPs are pinged one by one with the ICMP and ARP ping tools.
      */
     @Override
     protected void startScan() {
@@ -137,8 +150,96 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
         scannedIPcount = 0;
 
+        service.execute(() -> {
+            Thread.currentThread().setName("Discovery thread TCP probes");
+            Map<String, List<Integer>> tcpReachable = probeServicePorts(networkIPs);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (networkUtils.isArpTableAvailable()) {
+                try {
+                    // Give late ARP replies (e.g. of iOS devices waking up) a chance
+                    Thread.sleep(ARP_RESOLUTION_TIME_IN_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                Set<String> arpTableIPs = networkUtils.getArpTableEntries().keySet();
+                for (String ip : networkIPs) {
+                    if (arpTableIPs.contains(ip)) {
+                        newPingDevice(ip);
+                    }
+                }
+                submitServiceDevices(tcpReachable, arpTableIPs);
+                logger.trace("Scan of {} IPs successful", networkIPs.size());
+                stopScan();
+            } else {
+                pingNetwork(service, networkIPs, tcpReachable);
+            }
+        });
+    }
+
+    /**
+     * Probes the TCP service ports of all IPs concurrently on the calling thread.
+     *
+     * @return The reachable ports per IP
+     */
+    private Map<String, List<Integer>> probeServicePorts(Set<String> networkIPs) {
+        Map<String, List<Integer>> tcpReachable = new HashMap<>();
+        List<InetAddress> addresses = new ArrayList<>(networkIPs.size());
+        List<InetSocketAddress> targets = new ArrayList<>(networkIPs.size() * tcpServicePorts.size());
+        for (String ip : networkIPs) {
+            try {
+                InetAddress address = InetAddress.getByName(ip);
+                addresses.add(address);
+                for (int port : tcpServicePorts) {
+                    targets.add(new InetSocketAddress(address, port));
+                }
+            } catch (UnknownHostException e) {
+                logger.trace("Invalid IP address {}", ip, e);
+            }
+        }
+        try {
+            // iOS devices are in a deep sleep mode, and need to be woken up first
+            networkUtils.wakeUpIOS(addresses);
+            networkUtils.servicePing(targets, PING_TIMEOUT_IN_MS, MAXIMUM_CONCURRENT_TCP_PROBES, (target, result) -> {
+                if (result.isSuccess()) {
+                    tcpReachable.computeIfAbsent(target.getAddress().getHostAddress(), ip -> new ArrayList<>())
+                            .add(target.getPort());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not probe TCP service ports: {}", e.getMessage());
+        }
+        logger.trace("Probed {} TCP services, {} IPs with reachable services", targets.size(), tcpReachable.size());
+        return tcpReachable;
+    }
+
+    /**
+     * Pings all the IPs one by one with the ICMP and ARP ping tools, using the thread pool.
+     */
+    private void pingNetwork(ExecutorService service, Set<String> networkIPs,
+            Map<String, List<Integer>> tcpReachable) {
+        final Set<String> pingReachable = ConcurrentHashMap.newKeySet();
+        final PresenceDetectionListener listener = new PresenceDetectionListener() {
+            @Override
+            public void partialDetectionResult(PresenceDetectionValue value) {
+                if (value.isPingReachable() && pingReachable.add(value.getHostAddress())) {
+                    newPingDevice(value.getHostAddress());
+                }
+            }
+
+            @Override
+            public void finalDetectionResult(PresenceDetectionValue value) {
+            }
+        };
+
+        if (networkIPs.isEmpty()) {
+            stopScan();
+            return;
+        }
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+            final PresenceDetection s = new PresenceDetection(listener, 2000);
             s.setHostname(ip);
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
@@ -146,8 +247,8 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             // Ping devices
             s.setUseIcmpPing(true);
             s.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
-            // TCP devices
-            s.setServicePorts(tcpServicePorts);
+            // TCP services have been probed already
+            s.setServicePorts(Collections.emptySet());
 
             service.execute(() -> {
                 Thread.currentThread().setName("Discovery thread " + ip);
@@ -155,6 +256,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
                 synchronized (scannedIPcount) {
                     scannedIPcount += 1;
                     if (scannedIPcount == networkIPs.size()) {
+                        submitServiceDevices(tcpReachable, pingReachable);
                         logger.trace("Scan of {} IPs successful", scannedIPcount);
                         stopScan();
                     }
@@ -163,6 +265,20 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
         }
     }
 
+    /**
+     * Submits the reachable TCP services as service devices. Hosts which are reachable by ping are submitted as
+     * ping devices instead.
+     */
+    private void submitServiceDevices(Map<String, List<Integer>> tcpReachable, Set<String> pingReachable) {
+        tcpReachable.forEach((ip, ports) -> {
+            if (!pingReachable.contains(ip)) {
+                for (int port : ports) {
+                    newServiceDevice(ip, port);
+                }
+            }
+        });
+    }
+
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
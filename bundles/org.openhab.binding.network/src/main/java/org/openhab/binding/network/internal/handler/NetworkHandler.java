@@ -180,6 +180,7 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
             presenceDetection.setUseDhcpSniffing(configuration.allowDHCPlisten);
             presenceDetection.setUseIcmpPing(configuration.allowSystemPings);
             presenceDetection.setUseArpPing(true, configuration.arpPingToolPath, configuration.arpPingUtilMethod);
+            presenceDetection.setUseArpTable(configuration.useArpTable);
         }
 
         this.retries = handlerConfiguration.retry.intValue();
@@ -220,5 +221,8 @@ public class NetworkHandler extends BaseThingHandler implements PresenceDetectio
     public void bindingConfigurationChanged() {
         // Make sure that changed binding configuration is reflected
         presenceDetection.setPreferResponseTimeAsLatency(configuration.preferResponseTimeAsLatency);
+        if (!isTCPServiceDevice) {
+            presenceDetection.setUseArpTable(configuration.useArpTable);
+        }
     }
 }
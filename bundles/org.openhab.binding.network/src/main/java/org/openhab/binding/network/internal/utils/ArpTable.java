@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the ARP table of the operating system kernel. Only Linux is supported, where the table is exposed
+ * in /proc/net/arp.
+ *
+ * The table is a free presence source: it contains every host on the local networks that this machine exchanged
+ * traffic with recently. Be aware that entries might stay in the table for a while after the host left the network.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class ArpTable {
+    public static final Path PROC_NET_ARP = Paths.get("/proc/net/arp");
+
+    private static final int ATF_COM = 0x2;
+    private static final String EMPTY_HARDWARE_ADDRESS = "00:00:00:00:00:00";
+    private static final long DEFAULT_MAX_AGE_MS = 1000;
+
+    private static final ArpTable SYSTEM_TABLE = new ArpTable(PROC_NET_ARP, DEFAULT_MAX_AGE_MS);
+
+    private final Logger logger = LoggerFactory.getLogger(ArpTable.class);
+
+    private final Path path;
+    private final long maxAgeNanos;
+
+    private Map<String, String> entries = Collections.emptyMap();
+    private long lastReadNanos;
+    private boolean read = false;
+
+    /**
+     * Creates a reader for the given table file
+     *
+     * @param path The table file, in the format of /proc/net/arp
+     * @param maxAgeInMS Time in milliseconds the table is cached before it is read again
+     */
+    public ArpTable(Path path, long maxAgeInMS) {
+        this.path = path;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeInMS);
+    }
+
+    /**
+     * Returns the ARP table of the system, shared by all users so that the table is read at most once per second.
+     */
+    public static ArpTable getSystemTable() {
+        return SYSTEM_TABLE;
+    }
+
+    /**
+     * Return true if the ARP table can be read on this system.
+     */
+    public boolean isAvailable() {
+        return Files.isReadable(path);
+    }
+
+    /**
+     * Returns all complete entries of the table.
+     *
+     * @return Map of IPv4 addresses to hardware (MAC) addresses. Empty if the table cannot be read.
+     */
+    public synchronized Map<String, String> getEntries() {
+        long now = System.nanoTime();
+        if (!read || now - lastReadNanos > maxAgeNanos) {
+            entries = readEntries();
+            lastReadNanos = now;
+            read = true;
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the hardware address of the given host, if the host has a complete entry in the table.
+     *
+     * @param ipV4address The IPv4 address of the host
+     * @return The hardware (MAC) address of the host
+     */
+    public Optional<String> getHardwareAddress(String ipV4address) {
+        return Optional.ofNullable(getEntries().get(ipV4address));
+    }
+
+    /**
+     * Forget the cached table. The next call of {@link #getEntries()} will read the table again.
+     */
+    public synchronized void invalidate() {
+        read = false;
+    }
+
+    private Map<String, String> readEntries() {
+        if (!isAvailable()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return parse(Files.readAllLines(path, StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            logger.debug("Failed to read the ARP table from {}", path, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Parse the lines of /proc/net/arp. Incomplete entries (hosts which did not answer the ARP request) are skipped.
+     *
+     * @param lines Lines of the table, including the header line
+     * @return Map of IPv4 addresses to hardware (MAC) addresses
+     */
+    static Map<String, String> parse(List<String> lines) {
+        Map<String, String> result = new HashMap<>();
+        // The first line is the header
+        for (int i = 1; i < lines.size(); i++) {
+            String[] columns = lines.get(i).trim().split("\\s+");
+            if (columns.length < 4) {
+                continue;
+            }
+            int flags;
+            try {
+                flags = Integer.decode(columns[2]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            String hardwareAddress = columns[3];
+            if ((flags & ATF_COM) == 0 || EMPTY_HARDWARE_ADDRESS.equals(hardwareAddress)) {
+                continue;
+            }
+            result.put(columns[0], hardwareAddress);
+        }
+        return result;
+    }
+}
@@ -343,6 +343,37 @@ public class NetworkUtils {
         }
     }
 
+    /**
+     * Return true if the ARP table of the operating system can be read (Linux only).
+     */
+    public boolean isArpTableAvailable() {
+        return ArpTable.getSystemTable().isAvailable();
+    }
+
+    /**
+     * Returns the IPv4 addresses of all hosts with a complete entry in the ARP table of the operating system.
+     * Reading the table is cheap and does not send any packets. The table is cached for a second.
+     *
+     * @return Map of IPv4 addresses to hardware (MAC) addresses. Empty if the table is not available.
+     */
+    public Map<String, String> getArpTableEntries() {
+        return ArpTable.getSystemTable().getEntries();
+    }
+
+    /**
+     * Try to establish tcp connections to all the given targets concurrently on the calling thread.
+     *
+     * @param targets The addresses to connect to
+     * @param timeoutInMS Timeout of a single connection attempt in milliseconds
+     * @param maxConcurrentProbes Maximum number of connection attempts in progress at the same time
+     * @param listener Receives the result of each attempt
+     * @throws IOException If the probing could not be started
+     */
+    public void servicePing(Collection<InetSocketAddress> targets, int timeoutInMS, int maxConcurrentProbes,
+            TcpConnectProber.ProbeListener listener) throws IOException {
+        new TcpConnectProber(maxConcurrentProbes).probe(targets, timeoutInMS, listener);
+    }
+
     /**
      * iOS devices are in a deep sleep mode, where they only listen to UDP traffic on port 5353 (Bonjour service
      * discovery). A packet on port 5353 will wake up the network stack to respond to ARP pings at least.
@@ -357,4 +388,25 @@ public class NetworkUtils {
             // We ignore the port unreachable error
         }
     }
+
+    /**
+     * Sends the iOS wake up packet of {@link #wakeUpIOS(InetAddress)} to all the given addresses, using a single
+     * socket.
+     *
+     * @throws IOException
+     */
+    public void wakeUpIOS(Collection<InetAddress> addresses) throws IOException {
+        try (DatagramSocket s = new DatagramSocket()) {
+            byte[] buffer = new byte[0];
+            for (InetAddress address : addresses) {
+                try {
+                    s.send(new DatagramPacket(buffer, buffer.length, address, 5353));
+                } catch (PortUnreachableException ignored) {
+                    // We ignore the port unreachable error
+                } catch (IOException e) {
+                    logger.trace("Failed to send the iOS wake up packet to {}", address, e);
+                }
+            }
+        }
+    }
 }
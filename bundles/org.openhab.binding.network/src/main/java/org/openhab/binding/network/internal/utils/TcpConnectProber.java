@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs many TCP connection attempts concurrently on a single thread, by using non-blocking sockets and a
+ * {@link Selector}. A target is reachable if the connection could be established within the timeout, exactly
+ * like with {@link NetworkUtils#servicePing(String, int, int)}.
+ *
+ * Java provides no ICMP sockets, therefore ICMP pings are not supported here.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnectProber {
+    /**
+     * Receives the result of every single connection attempt
+     */
+    @FunctionalInterface
+    public interface ProbeListener {
+        /**
+         * Called on the probing thread after a connection attempt finished.
+         *
+         * @param address The probed address
+         * @param result The result. Successful if the connection was established.
+         */
+        void probeFinished(InetSocketAddress address, PingResult result);
+    }
+
+    private static class Probe {
+        final InetSocketAddress address;
+        final @Nullable SocketChannel channel;
+        final long startNanos;
+        boolean finished = false;
+
+        Probe(InetSocketAddress address, @Nullable SocketChannel channel, long startNanos) {
+            this.address = address;
+            this.channel = channel;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnectProber.class);
+
+    private final int maxConcurrentProbes;
+
+    /**
+     * Creates a prober
+     *
+     * @param maxConcurrentProbes Maximum number of connection attempts in progress at the same time. Each of them
+     *            uses a file descriptor.
+     */
+    public TcpConnectProber(int maxConcurrentProbes) {
+        if (maxConcurrentProbes <= 0) {
+            throw new IllegalArgumentException("maxConcurrentProbes must be positive");
+        }
+        this.maxConcurrentProbes = maxConcurrentProbes;
+    }
+
+    /**
+     * Probes all the targets and returns after every attempt has finished. The probes are performed on the calling
+     * thread. If the thread is interrupted, the remaining attempts are cancelled without notifying the listener.
+     *
+     * @param targets The addresses to connect to
+     * @param timeoutInMS Timeout of a single connection attempt in milliseconds
+     * @param listener Receives the result of each attempt
+     * @throws IOException If no selector could be opened
+     */
+    public void probe(Collection<InetSocketAddress> targets, int timeoutInMS, ProbeListener listener)
+            throws IOException {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        // All probes have the same timeout, so they time out in the order they were started
+        Deque<Probe> started = new ArrayDeque<>();
+        Iterator<InetSocketAddress> pending = targets.iterator();
+        int active = 0;
+
+        try (Selector selector = Selector.open()) {
+            while (pending.hasNext() || active > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.trace("TCP probing interrupted, {} attempts still active", active);
+                    break;
+                }
+                while (active < maxConcurrentProbes && pending.hasNext()) {
+                    Probe probe = start(selector, pending.next());
+                    if (probe.channel == null) {
+                        finish(probe, false, listener);
+                    } else {
+                        started.addLast(probe);
+                        active++;
+                    }
+                }
+
+                // Expire timed out probes
+                long now = System.nanoTime();
+                while (!started.isEmpty()) {
+                    Probe oldest = started.peekFirst();
+                    if (oldest.finished) {
+                        started.removeFirst();
+                    } else if (now - oldest.startNanos >= timeoutNanos) {
+                        started.removeFirst();
+                        finish(oldest, false, listener);
+                        active--;
+                    } else {
+                        break;
+                    }
+                }
+                if (started.isEmpty()) {
+                    continue;
+                }
+
+                long waitMillis = TimeUnit.NANOSECONDS
+                        .toMillis(timeoutNanos - (now - started.peekFirst().startNanos));
+                selector.select(Math.max(1, waitMillis));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Probe probe = (Probe) key.attachment();
+                    if (probe == null || probe.finished) {
+                        continue;
+                    }
+                    boolean connected;
+                    try {
+                        connected = ((SocketChannel) key.channel()).finishConnect();
+                    } catch (IOException e) {
+                        // Connection refused, no route to host and similar
+                        connected = false;
+                        probe.finished = true;
+                    }
+                    if (connected || probe.finished) {
+                        finish(probe, connected, listener);
+                        active--;
+                    }
+                }
+            }
+        } finally {
+            for (Probe probe : started) {
+                closeQuietly(probe);
+            }
+        }
+    }
+
+    private Probe start(Selector selector, InetSocketAddress address) {
+        long startNanos = System.nanoTime();
+        SocketChannel channel = null;
+        try {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            Probe probe = new Probe(address, channel, startNanos);
+            if (channel.connect(address)) {
+                // Connected immediately, usually only happens for the local host
+                channel.register(selector, 0, probe);
+                finishLater(selector, channel);
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, probe);
+            }
+            return probe;
+        } catch (IOException | UnresolvedAddressException e) {
+            logger.trace("Failed to start TCP probe to {}", address, e);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            return new Probe(address, null, startNanos);
+        }
+    }
+
+    /**
+     * Makes the selector report an immediately connected channel on the next select. Connected channels are
+     * always ready for writing.
+     */
+    private void finishLater(Selector selector, SocketChannel channel) {
+        SelectionKey key = channel.keyFor(selector);
+        if (key != null) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void finish(Probe probe, boolean success, ProbeListener listener) {
+        probe.finished = true;
+        closeQuietly(probe);
+        double latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - probe.startNanos) / 1000.0;
+        try {
+            listener.probeFinished(probe.address, new PingResult(success, latency));
+        } catch (RuntimeException e) {
+            logger.warn("Listener failed to handle the probe result for {}", probe.address, e);
+        }
+    }
+
+    private void closeQuietly(Probe probe) {
+        SocketChannel channel = probe.channel;
+        if (channel != null && channel.isOpen()) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // The connection attempt is over anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Test;
+
+/**
+ * Tests the reader of the ARP table of the operating system.
+ *
+ * @author David Graeff - Initial contribution
+ */
+public class ArpTableTest {
+    private static final List<String> TABLE = Arrays.asList(
+            "IP address       HW type     Flags       HW address            Mask     Device",
+            "192.168.1.1      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0",
+            "192.168.1.20     0x1         0x0         00:00:00:00:00:00     *        eth0",
+            "192.168.1.21     0x1         0x6         aa:bb:cc:dd:ee:21     *        wlan0",
+            "192.168.1.22     0x1         0x2         00:00:00:00:00:00     *        eth0");
+
+    @Test
+    public void parseSkipsIncompleteEntries() {
+        Map<String, String> entries = ArpTable.parse(TABLE);
+
+        assertThat(entries.size(), is(2));
+        assertThat(entries.get("192.168.1.1"), is("aa:bb:cc:dd:ee:01"));
+        assertThat(entries.get("192.168.1.21"), is("aa:bb:cc:dd:ee:21"));
+    }
+
+    @Test
+    public void parseIgnoresMalformedLines() {
+        Map<String, String> entries = ArpTable.parse(Arrays.asList("IP address HW type Flags", "", "garbage",
+                "192.168.1.1 0x1 notAFlag aa:bb:cc:dd:ee:01 * eth0"));
+
+        assertTrue(entries.isEmpty());
+    }
+
+    @Test
+    public void readsAndCachesTableFile() throws IOException {
+        Path file = Files.createTempFile("arp", ".txt");
+        try {
+            Files.write(file, TABLE, StandardCharsets.US_ASCII);
+            ArpTable table = new ArpTable(file, 60000);
+
+            assertTrue(table.isAvailable());
+            assertThat(table.getHardwareAddress("192.168.1.1"), is(Optional.of("aa:bb:cc:dd:ee:01")));
+            assertThat(table.getHardwareAddress("192.168.1.20"), is(Optional.empty()));
+
+            // The table is cached until it is invalidated
+            Files.write(file, Collections.singletonList(TABLE.get(0)), StandardCharsets.US_ASCII);
+            assertThat(table.getEntries().size(), is(2));
+            table.invalidate();
+            assertTrue(table.getEntries().isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void missingTableFile() {
+        ArpTable table = new ArpTable(Paths.get("does", "not", "exist"), 0);
+
+        assertFalse(table.isAvailable());
+        assertTrue(table.getEntries().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.network.internal.utils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests the single threaded TCP prober against local server sockets.
+ *
+ * @author David Graeff - Initial contribution
+ */
+public class TcpConnectProberTest {
+
+    @Test
+    public void openAndClosedPorts() throws IOException {
+        InetAddress localhost = InetAddress.getLoopbackAddress();
+        List<ServerSocket> servers = new ArrayList<>();
+        List<InetSocketAddress> targets = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                ServerSocket server = new ServerSocket(0, 50, localhost);
+                servers.add(server);
+                targets.add(new InetSocketAddress(localhost, server.getLocalPort()));
+            }
+            // A port which was open a moment ago is closed now
+            ServerSocket closed = new ServerSocket(0, 50, localhost);
+            InetSocketAddress closedAddress = new InetSocketAddress(localhost, closed.getLocalPort());
+            closed.close();
+            targets.add(closedAddress);
+
+            Map<InetSocketAddress, PingResult> results = new HashMap<>();
+            // Less concurrent probes than targets, so that probes have to be queued
+            new TcpConnectProber(2).probe(targets, 2000, results::put);
+
+            assertThat(results.size(), is(targets.size()));
+            for (int i = 0; i < 5; i++) {
+                assertTrue(results.get(targets.get(i)).isSuccess());
+            }
+            assertFalse(results.get(closedAddress).isSuccess());
+        } finally {
+            for (ServerSocket server : servers) {
+                server.close();
+            }
+        }
+    }
+
+    @Test
+    public void unresolvedAddressFails() throws IOException {
+        InetSocketAddress unresolved = InetSocketAddress.createUnresolved("host.invalid", 80);
+        Map<InetSocketAddress, PingResult> results = new HashMap<>();
+
+        new TcpConnectProber(1).probe(Collections.singletonList(unresolved), 100, results::put);
+
+        assertFalse(results.get(unresolved).isSuccess());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidConcurrency() {
+        new TcpConnectProber(0);
+    }
+}
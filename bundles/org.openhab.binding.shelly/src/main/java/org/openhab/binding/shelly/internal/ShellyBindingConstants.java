@@ -141,6 +141,9 @@ public class ShellyBindingConstants {
     public static final String PROPERTY_COAP_DESCR = "coapDeviceDescr";
     public static final String PROPERTY_STATS_TIMEOUTS = "statsTimeoutErrors";
     public static final String PROPERTY_STATS_TRECOVERED = "statsTimeoutsRecovered";
+    public static final String PROPERTY_STATS_COIOT_PACKETS = "statsCoIoTPackets";
+    public static final String PROPERTY_STATS_COIOT_DROPPED = "statsCoIoTDropped";
+    public static final String PROPERTY_STATS_COIOT_UNKNOWN = "statsCoIoTUnknownSource";
     public static final String PROPERTY_COIOTAUTO = "coiotAutoEnable";
     public static final String PROPERTY_COIOTREFRESH = "coiotAutoRefresh";
 
@@ -22,6 +22,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.californium.core.CoapClient;
@@ -84,6 +85,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     private Request reqStatus = new Request(Code.GET, Type.CON);
 
     private int lastSerial = -1;
+    private final AtomicLong packetsReceived = new AtomicLong();
+    private final AtomicLong packetsDropped = new AtomicLong();
     private String lastPayload = "";
     private Map<String, CoIotDescrBlk> blockMap = new LinkedHashMap<>();
     private LinkedHashMap<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
@@ -122,7 +125,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 logger.debug("{}: Starting CoAP Listener", thingName);
                 reqDescription = sendRequest(reqDescription, config.deviceIp, COLOIT_URI_DEVDESC, Type.CON);
 
-                coapServer.start(config.localIp, this);
+                coapServer.start(config.localIp, config.deviceIp, this);
                 statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                         .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             }
@@ -137,6 +140,28 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         return statusClient != null;
     }
 
+    /**
+     * @return number of CoIoT packets received from the device
+     */
+    public long getPacketsReceived() {
+        return packetsReceived.get();
+    }
+
+    /**
+     * @return number of CoIoT packets from the device, which were discarded (duplicates, already processed serials,
+     *         unknown response codes)
+     */
+    public long getPacketsDropped() {
+        return packetsDropped.get();
+    }
+
+    /**
+     * @return number of CoIoT packets from devices without a thing, which were discarded by the shared listener
+     */
+    public long getUnknownSourcePackets() {
+        return coapServer.getUnknownSourcePackets();
+    }
+
     /**
      * Process an inbound Response (or mapped Request): decode CoAP options. handle discovery result or status updates
      *
@@ -147,10 +172,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         if (response == null) {
             return; // other device instance
         }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
-            return;
-        }
+        packetsReceived.incrementAndGet();
 
         String payload = "";
         String devId = "";
@@ -164,6 +186,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
             if (response.isCanceled() || response.isDuplicate() || response.isRejected()) {
                 logger.debug("{} ({}): Packet was canceled, rejected or is a duplicate -> discard", thingName, devId);
+                packetsDropped.incrementAndGet();
                 return;
             }
 
@@ -199,6 +222,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                                     break;
                                 }
                                 logger.trace("{}: Serial {} was already processed, ignore update", thingName, serial);
+                                packetsDropped.incrementAndGet();
                                 return;
                             }
                             break;
@@ -222,6 +246,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 // error handling
                 logger.debug("{}: Unknown Response Code {} received, payload={}", thingName, response.getCode(),
                         response.getPayloadString());
+                packetsDropped.incrementAndGet();
             }
 
             if (!discovering) {
@@ -17,7 +17,9 @@ import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_P
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
@@ -32,13 +34,15 @@ import org.eclipse.californium.core.network.config.NetworkConfig;
 import org.eclipse.californium.elements.UdpMulticastConnector;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.jetty.util.ConcurrentHashSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link ShellyCoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * The listeners are indexed by the IP address of their device. Each received packet is routed to the listener of the
+ * device that sent it, instead of being offered to all listeners.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
@@ -49,7 +53,8 @@ public class ShellyCoapServer {
     private CoapEndpoint statusEndpoint = new CoapEndpoint.Builder().build();
     private @Nullable UdpMulticastConnector statusConnector;
     private final CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);;
-    private final Set<ShellyCoapListener> coapListeners = new ConcurrentHashSet<>();
+    private final Map<String, ShellyCoapListener> coapListeners = new ConcurrentHashMap<>();
+    private final AtomicLong unknownSourcePackets = new AtomicLong();
 
     protected class ShellyStatusListener extends CoapResource {
 
@@ -77,7 +82,16 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, ShellyCoapListener listener) throws UnknownHostException {
+    /**
+     * Start the listener (if not yet started) and register a device
+     *
+     * @param localIp local IP address to bind the multicast listener to
+     * @param deviceIp IP address or host name of the device
+     * @param listener receives the packets sent by the device
+     * @throws UnknownHostException
+     */
+    public synchronized void start(String localIp, String deviceIp, ShellyCoapListener listener)
+            throws UnknownHostException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, COIOT_PORT);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -94,14 +108,41 @@ public class ShellyCoapServer {
             server.add(cit);
             started = true;
         }
+        addListener(deviceIp, listener);
+    }
 
-        if (!coapListeners.contains(listener)) {
-            coapListeners.add(listener);
+    /**
+     * Register the listener of a device, replacing the previous registration of the listener
+     *
+     * @param deviceIp IP address or host name of the device
+     * @param listener receives the packets sent by the device
+     * @throws UnknownHostException
+     */
+    synchronized void addListener(String deviceIp, ShellyCoapListener listener) throws UnknownHostException {
+        String deviceAddress = InetAddress.getByName(deviceIp).getHostAddress();
+        coapListeners.values().remove(listener);
+        ShellyCoapListener previous = coapListeners.put(deviceAddress, listener);
+        if (previous != null && previous != listener) {
+            logger.debug("CoIoT listener for device {} replaced, check for duplicate things", deviceAddress);
         }
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        InetAddress peerAddress = response.getSourceContext().getPeerAddress().getAddress();
+        ShellyCoapListener listener = coapListeners.get(peerAddress.getHostAddress());
+        if (listener != null) {
+            listener.processResponse(response);
+        } else {
+            long count = unknownSourcePackets.incrementAndGet();
+            logger.trace("CoIoT packet from unknown device {} discarded ({} in total)", peerAddress, count);
+        }
+    }
+
+    /**
+     * @return number of CoIoT packets received from devices without a registered listener, which were discarded
+     */
+    public long getUnknownSourcePackets() {
+        return unknownSourcePackets.get();
     }
 
     public static Response createResponse(Request request) {
@@ -123,7 +164,7 @@ public class ShellyCoapServer {
      * Cancel pending requests and shutdown the client
      */
     public void stop(ShellyCoapListener listener) {
-        coapListeners.remove(listener);
+        coapListeners.values().remove(listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -88,6 +88,8 @@ public class ShellyBaseHandler extends BaseThingHandler implements ShellyDeviceL
     private long lastUptime = 0;
     private long lastAlarmTs = 0;
     private long lastTimeoutErros = -1;
+    private long lastCoIoTStatsTs = 0;
+    private long lastCoIoTPackets = -1;
 
     private @Nullable ScheduledFuture<?> statusJob;
     public int scheduledUpdates = 0;
@@ -450,6 +452,16 @@ public class ShellyBaseHandler extends BaseThingHandler implements ShellyDeviceL
             lastTimeoutErros = api.getTimeoutErrors();
         }
 
+        // CoIoT statistics change with every packet, update the properties only once per health check interval
+        if (coap.isStarted() && (lastCoIoTPackets != coap.getPacketsReceived())
+                && (now() > (lastCoIoTStatsTs + HEALTH_CHECK_INTERVAL_SEC))) {
+            lastCoIoTPackets = coap.getPacketsReceived();
+            propertyUpdates.put(PROPERTY_STATS_COIOT_PACKETS, Long.toString(lastCoIoTPackets));
+            propertyUpdates.put(PROPERTY_STATS_COIOT_DROPPED, Long.toString(coap.getPacketsDropped()));
+            propertyUpdates.put(PROPERTY_STATS_COIOT_UNKNOWN, Long.toString(coap.getUnknownSourcePackets()));
+            lastCoIoTStatsTs = now();
+        }
+
         // Check various device indicators like overheating
         if ((status.uptime < lastUptime) && (profile.isInitialized()) && !profile.hasBattery) {
             alarm = ALARM_TYPE_RESTARTED;
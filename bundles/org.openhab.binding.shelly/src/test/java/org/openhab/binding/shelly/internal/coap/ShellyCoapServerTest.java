@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.californium.core.network.config.NetworkConfig;
+import org.eclipse.californium.elements.AddressEndpointContext;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the routing of CoIoT packets to the listener of the device which sent them
+ *
+ * @author Markus Michels - Initial contribution
+ */
+public class ShellyCoapServerTest {
+
+    private ShellyCoapServer server;
+
+    @BeforeClass
+    public static void setUpClass() {
+        // don't create a Californium.properties file in the working directory
+        NetworkConfig.setStandard(new NetworkConfig());
+    }
+
+    @Before
+    public void setUp() {
+        server = new ShellyCoapServer();
+    }
+
+    private static Response packetFrom(String deviceIp) {
+        Response response = new Response(ResponseCode.CONTENT);
+        response.setSourceContext(new AddressEndpointContext(new InetSocketAddress(deviceIp, 5683)));
+        return response;
+    }
+
+    @Test
+    public void testPacketsAreRoutedByDeviceAddress() throws UnknownHostException {
+        List<Response> received1 = new ArrayList<>();
+        List<Response> received2 = new ArrayList<>();
+        server.addListener("192.168.1.10", received1::add);
+        server.addListener("192.168.1.11", received2::add);
+
+        Response packet1 = packetFrom("192.168.1.10");
+        Response packet2 = packetFrom("192.168.1.11");
+        server.processResponse(packet1);
+        server.processResponse(packet2);
+        server.processResponse(packet1);
+
+        assertEquals(2, received1.size());
+        assertSame(packet1, received1.get(0));
+        assertEquals(1, received2.size());
+        assertSame(packet2, received2.get(0));
+        assertEquals(0, server.getUnknownSourcePackets());
+    }
+
+    @Test
+    public void testListenerMovesWithDeviceAddress() throws UnknownHostException {
+        List<Response> received = new ArrayList<>();
+        ShellyCoapListener listener = received::add;
+        server.addListener("192.168.1.10", listener);
+        server.addListener("192.168.1.20", listener);
+
+        server.processResponse(packetFrom("192.168.1.10"));
+        server.processResponse(packetFrom("192.168.1.20"));
+
+        assertEquals(1, received.size());
+        assertEquals(1, server.getUnknownSourcePackets());
+    }
+
+    @Test
+    public void testPacketsFromUnknownDevicesAreCounted() throws UnknownHostException {
+        List<Response> received = new ArrayList<>();
+        server.addListener("192.168.1.10", received::add);
+
+        server.processResponse(packetFrom("192.168.1.99"));
+        server.processResponse(packetFrom("192.168.1.98"));
+
+        assertTrue(received.isEmpty());
+        assertEquals(2, server.getUnknownSourcePackets());
+    }
+}
@@ -13,15 +13,19 @@
 package org.openhab.binding.sonos.internal;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BiPredicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +33,7 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -55,6 +60,17 @@ public class SonosXMLParser {
                     + "<desc id=\"cdudn\" nameSpace=\"urn:schemas-rinconnetworks-com:metadata-1-0/\">" + "{4}</desc>"
                     + "</item></DIDL-Lite>");
 
+    /**
+     * Creating an XMLReader looks up the implementation through the service loader every time, which is expensive
+     * compared to parsing the small documents of UPnP events. The readers are therefore reused, see
+     * {@link #parse(InputSource, ContentHandler)}.
+     */
+    private static final int MAX_POOLED_READERS = 8;
+    private static final BlockingQueue<XMLReader> READER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_READERS);
+    private static final ContentHandler NO_HANDLER = new DefaultHandler();
+
+    private static final BiPredicate<String, String> ALL_VARIABLES = (variable, value) -> true;
+
     private enum Element {
         TITLE,
         CLASS,
@@ -80,6 +96,30 @@ public class SonosXMLParser {
         desc
     }
 
+    /**
+     * Parses the document with a pooled XMLReader. A reader is used by one parse at a time only, parsing of
+     * embedded documents from within a handler takes another reader from the pool.
+     *
+     * @param source the document
+     * @param handler the handler receiving the content of the document
+     * @throws IOException
+     * @throws SAXException
+     */
+    private static void parse(InputSource source, ContentHandler handler) throws IOException, SAXException {
+        XMLReader reader = READER_POOL.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            // Do not keep the handler and its results alive
+            reader.setContentHandler(NO_HANDLER);
+            READER_POOL.offer(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -89,9 +129,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -107,11 +145,21 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static List<SonosEntry> getEntriesFromString(String xml) {
-        EntryHandler handler = new EntryHandler();
+        return getEntriesFromString(xml, new ArrayList<>());
+    }
+
+    /**
+     * Adds the entries of the given xml string to a list. Each entry is added as soon as it is parsed, so that
+     * the results of consecutive browse requests can be collected without copying them.
+     *
+     * @param xml
+     * @param entries the list to add the entries to
+     * @return the given list
+     */
+    public static List<SonosEntry> getEntriesFromString(String xml, List<SonosEntry> entries) {
+        EntryHandler handler = new EntryHandler(entries);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -130,11 +178,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -153,9 +199,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -169,9 +213,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -183,11 +225,21 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        return getRenderingControlFromXML(xml, ALL_VARIABLES);
+    }
+
+    /**
+     * Decodes a LastChange event of the RenderingControl service, keeping only the variables accepted by the filter.
+     * The filter is applied while the event is parsed, e.g. to drop the variables whose value did not change.
+     *
+     * @param xml the LastChange event
+     * @param filter accepts a variable name and its new value
+     * @return the accepted variables and their values, in the order of the event
+     */
+    public static Map<String, String> getRenderingControlFromXML(String xml, BiPredicate<String, String> filter) {
+        RenderingControlEventHandler handler = new RenderingControlEventHandler(filter);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
@@ -198,11 +250,21 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+        return getAVTransportFromXML(xml, ALL_VARIABLES);
+    }
+
+    /**
+     * Decodes a LastChange event of the AVTransport service, keeping only the variables accepted by the filter.
+     * The filter is applied while the event is parsed, e.g. to drop the variables whose value did not change.
+     *
+     * @param xml the LastChange event
+     * @param filter accepts a variable name and its new value
+     * @return the accepted variables and their values, in the order of the event
+     */
+    public static Map<String, String> getAVTransportFromXML(String xml, BiPredicate<String, String> filter) {
+        AVTransportEventHandler handler = new AVTransportEventHandler(filter);
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
@@ -215,9 +277,7 @@ public class SonosXMLParser {
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -231,9 +291,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(new InputSource(new StringReader(xml)), handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -261,10 +319,11 @@ public class SonosXMLParser {
         private StringBuilder desc = new StringBuilder();
         private Element element = null;
 
-        private List<SonosEntry> artists = new ArrayList<>();
+        private final List<SonosEntry> artists;
 
-        EntryHandler() {
+        EntryHandler(List<SonosEntry> artists) {
             // shouldn't be used outside of this package.
+            this.artists = artists;
         }
 
         @Override
@@ -678,7 +737,12 @@ public class SonosXMLParser {
          * </Event>
          */
 
-        private final Map<String, String> changes = new HashMap<>();
+        private final Map<String, String> changes = new LinkedHashMap<>();
+        private final BiPredicate<String, String> filter;
+
+        AVTransportEventHandler(BiPredicate<String, String> filter) {
+            this.filter = filter;
+        }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
@@ -687,8 +751,9 @@ public class SonosXMLParser {
              * the info we need from here.
              */
             try {
-                if (atts.getValue("val") != null) {
-                    changes.put(localName, atts.getValue("val"));
+                String value = atts.getValue("val");
+                if (value != null && filter.test(localName, value)) {
+                    changes.put(localName, value);
                 }
             } catch (IllegalArgumentException e) {
                 // this means that localName isn't defined in EventType, which is expected for some elements
@@ -790,25 +855,36 @@ public class SonosXMLParser {
 
     private static class RenderingControlEventHandler extends DefaultHandler {
 
-        private final Map<String, String> changes = new HashMap<>();
+        private final Map<String, String> changes = new LinkedHashMap<>();
+        private final BiPredicate<String, String> filter;
 
         private boolean getPresetName = false;
         private String presetName;
 
+        RenderingControlEventHandler(BiPredicate<String, String> filter) {
+            this.filter = filter;
+        }
+
+        private void put(String variable, String value) {
+            if (filter.test(variable, value)) {
+                changes.put(variable, value);
+            }
+        }
+
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
             if ("Volume".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Mute".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Bass".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("Treble".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("Loudness".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                put(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("OutputFixed".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                put(qName, atts.getValue("val"));
             } else if ("PresetNameList".equals(qName)) {
                 getPresetName = true;
             }
@@ -825,7 +901,7 @@ public class SonosXMLParser {
         public void endElement(String uri, String localName, String qName) throws SAXException {
             if (getPresetName) {
                 getPresetName = false;
-                changes.put(qName, presetName);
+                put(qName, presetName);
             }
         }
 
@@ -856,10 +932,10 @@ public class SonosXMLParser {
     public static String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream in = url.openStream()) {
+                parse(new InputSource(in), roomNameHandler);
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -894,10 +970,10 @@ public class SonosXMLParser {
     public static String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            try (InputStream in = url.openStream()) {
+                parse(new InputSource(in), modelNameHandler);
+            }
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
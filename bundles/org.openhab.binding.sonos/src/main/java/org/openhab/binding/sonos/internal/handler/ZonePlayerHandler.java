@@ -100,6 +100,9 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private static final String STATE_PAUSED_PLAYBACK = "PAUSED_PLAYBACK";
     private static final String STATE_STOPPED = "STOPPED";
 
+    // Upper bound of the initial capacity of the list collecting browse results
+    private static final int MAX_ENTRIES_CAPACITY = 10000;
+
     private final ThingRegistry localThingRegistry;
     private UpnpIOService service;
     private ScheduledFuture<?> pollingJob;
@@ -387,7 +390,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value,
+                        this::isAVTransportVariableChanged);
                 for (String parsedValue : parsedValues.keySet()) {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
@@ -409,7 +413,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
+                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value,
+                        (parsedVariable, parsedValue) -> hasValueChanged(parsedValue, stateMap.get(parsedVariable)));
                 for (String parsedValue : parsedValues.keySet()) {
                     onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
                 }
@@ -795,6 +800,22 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         return oldValue != null ? !oldValue.equals(value) : value != null;
     }
 
+    /**
+     * Only the changed variables of an AVTransport LastChange event have to be processed. AVTransportURI and
+     * AVTransportURIMetaData are also translated to CurrentURI and CurrentURIMetaData, which might have been changed
+     * by GetMediaInfo meanwhile.
+     */
+    private boolean isAVTransportVariableChanged(String variable, String value) {
+        if (hasValueChanged(value, stateMap.get(variable))) {
+            return true;
+        } else if ("AVTransportURI".equals(variable)) {
+            return hasValueChanged(value, stateMap.get("CurrentURI"));
+        } else if ("AVTransportURIMetaData".equals(variable)) {
+            return hasValueChanged(value, stateMap.get("CurrentURIMetaData"));
+        }
+        return false;
+    }
+
     /**
      * Similar to the AVTransport eventing, the Queue events its state variables
      * as sub values within a synthesized LastChange state variable.
@@ -1288,8 +1309,6 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
         inputs.put("RequestedCount", Integer.toString(200));
         inputs.put("SortCriteria", "");
 
-        List<SonosEntry> resultList = null;
-
         Map<String, String> result = service.invokeAction(this, "ContentDirectory", "Browse", inputs);
 
         long totalMatches = getResultEntry(result, "TotalMatches", type, filter);
@@ -1297,7 +1316,8 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
 
         String initialResult = result.get("Result");
 
-        resultList = SonosXMLParser.getEntriesFromString(initialResult);
+        List<SonosEntry> resultList = new ArrayList<>((int) Math.min(Math.max(totalMatches, 0), MAX_ENTRIES_CAPACITY));
+        SonosXMLParser.getEntriesFromString(initialResult, resultList);
         startAt = startAt + initialNumberReturned;
 
         while (startAt < totalMatches) {
@@ -1308,7 +1328,7 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
             String nextResult = result.get("Result");
             long numberReturned = getResultEntry(result, "NumberReturned", type, filter);
 
-            resultList.addAll(SonosXMLParser.getEntriesFromString(nextResult));
+            SonosXMLParser.getEntriesFromString(nextResult, resultList);
 
             startAt = startAt + numberReturned;
         }
@@ -121,6 +121,16 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_DRIVE_SERIAL = "drive#serial";
 
+    /**
+     * Physical storage drive read operations per second
+     */
+    public static final String CHANNEL_DRIVE_READ_RATE = "drive#readRate";
+
+    /**
+     * Physical storage drive write operations per second
+     */
+    public static final String CHANNEL_DRIVE_WRITE_RATE = "drive#writeRate";
+
     /**
      * Name of the logical volume storage
      */
@@ -197,7 +207,7 @@ public class SysteminfoBindingConstants {
     public static final String CHANNEL_CPU_DESCRIPTION = "cpu#description";
 
     /**
-     * Average recent CPU load
+     * CPU usage in percent since the previous refresh
      */
     public static final String CHANNEL_CPU_LOAD = "cpu#load";
 
@@ -256,6 +266,16 @@ public class SysteminfoBindingConstants {
      */
     public static final String CHANNEL_NETWORK_DATA_RECEIVED = "network#dataReceived";
 
+    /**
+     * Network data sent per second
+     */
+    public static final String CHANNEL_NETWORK_DATA_SENT_RATE = "network#dataSentRate";
+
+    /**
+     * Network data received per second
+     */
+    public static final String CHANNEL_NETWORK_DATA_RECEIVED_RATE = "network#dataReceivedRate";
+
     /**
      * Network packets sent
      */
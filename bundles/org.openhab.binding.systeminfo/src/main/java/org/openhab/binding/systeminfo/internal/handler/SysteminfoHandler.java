@@ -15,6 +15,7 @@ package org.openhab.binding.systeminfo.internal.handler;
 import static org.openhab.binding.systeminfo.internal.SysteminfoBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -237,12 +238,20 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     }
 
+    /**
+     * Publishes the state of the linked channels. All of them are read from one new snapshot of the system
+     * information. The service is shared with the other systeminfo things, so the refresh holds its lock until all
+     * channels are read.
+     */
     private void publishData(Set<ChannelUID> channels) {
-        Iterator<ChannelUID> iter = channels.iterator();
-        while (iter.hasNext()) {
-            ChannelUID channeUID = iter.next();
-            if (isLinked(channeUID.getId())) {
-                publishDataForChannel(channeUID);
+        synchronized (systeminfo) {
+            systeminfo.takeSnapshot();
+            Iterator<ChannelUID> iter = channels.iterator();
+            while (iter.hasNext()) {
+                ChannelUID channeUID = iter.next();
+                if (isLinked(channeUID.getId())) {
+                    publishDataForChannel(channeUID);
+                }
             }
         }
     }
@@ -312,6 +321,9 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_SENSORS_FAN_SPEED:
                     state = systeminfo.getSensorsFanSpeed(deviceIndex);
                     break;
+                case CHANNEL_CPU_LOAD:
+                    state = systeminfo.getCpuLoad();
+                    break;
                 case CHANNEL_CPU_LOAD_1:
                     state = systeminfo.getCpuLoad1();
                     break;
@@ -369,6 +381,12 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_DRIVE_SERIAL:
                     state = systeminfo.getDriveSerialNumber(deviceIndex);
                     break;
+                case CHANNEL_DRIVE_READ_RATE:
+                    state = systeminfo.getDriveReadRate(deviceIndex);
+                    break;
+                case CHANNEL_DRIVE_WRITE_RATE:
+                    state = systeminfo.getDriveWriteRate(deviceIndex);
+                    break;
                 case CHANNEL_DRIVE_NAME:
                     state = systeminfo.getDriveName(deviceIndex);
                     break;
@@ -414,6 +432,12 @@ public class SysteminfoHandler extends BaseThingHandler {
                 case CHANNEL_NETWORK_DATA_RECEIVED:
                     state = systeminfo.getNetworkDataReceived(deviceIndex);
                     break;
+                case CHANNEL_NETWORK_DATA_SENT_RATE:
+                    state = systeminfo.getNetworkDataSentRate(deviceIndex);
+                    break;
+                case CHANNEL_NETWORK_DATA_RECEIVED_RATE:
+                    state = systeminfo.getNetworkDataReceivedRate(deviceIndex);
+                    break;
                 case CHANNEL_NETWORK_PACKETS_RECEIVED:
                     state = systeminfo.getNetworkPacketsReceived(deviceIndex);
                     break;
@@ -514,7 +538,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
-                publishDataForChannel(channelUID);
+                publishData(Collections.singleton(channelUID));
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
             }
@@ -580,7 +604,7 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
                 newValue);
-        publishDataForChannel(channel.getUID());
+        publishData(Collections.singleton(channel.getUID()));
     }
 
     private void stopScheduledUpdates() {
@@ -13,6 +13,12 @@
 package org.openhab.binding.systeminfo.internal.model;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -25,6 +31,7 @@ import org.slf4j.LoggerFactory;
 
 import oshi.SystemInfo;
 import oshi.hardware.CentralProcessor;
+import oshi.hardware.CentralProcessor.TickType;
 import oshi.hardware.ComputerSystem;
 import oshi.hardware.Display;
 import oshi.hardware.GlobalMemory;
@@ -75,11 +82,65 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     public static final int PRECISION_AFTER_DECIMAL_SIGN = 1;
 
+    /**
+     * Minimum time between two samples of a counter used to calculate a rate. Snapshots taken shortly one after
+     * another (e.g. by the high and the medium priority refresh) reuse the previously calculated rate.
+     */
+    private static final long MIN_RATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Values read from the system since the last call of {@link #takeSnapshot()}, by key
+     */
+    private Map<String, Object> snapshot = new HashMap<>();
+    private long snapshotTime;
+
+    private final LongSupplier nanoClock;
+
+    /**
+     * Last sample of each counter a rate is calculated from, by key
+     */
+    private final Map<String, CounterSample> counterSamples = new HashMap<>();
+
+    /**
+     * Calculates a rate from two samples of a counter
+     */
+    @FunctionalInterface
+    interface RateFunction {
+        /**
+         * @param previous the previous values of the counter
+         * @param current the current values of the counter
+         * @param seconds time between the samples in seconds
+         * @return the rate or {@link Double#NaN}, if the counter was reset
+         */
+        double calculate(long[] previous, long[] current, double seconds);
+    }
+
+    private static class CounterSample {
+        private final long time;
+        private final long[] values;
+        private final double rate;
+
+        private CounterSample(long time, long[] values, double rate) {
+            this.time = time;
+            this.values = values;
+            this.rate = rate;
+        }
+    }
+
     /**
      * Some of the methods used in this constructor execute native code and require execute permissions
      *
      */
     public OSHISysteminfo() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock clock the snapshots are timed with, like {@link System#nanoTime()}
+     */
+    OSHISysteminfo(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.snapshotTime = nanoClock.getAsLong();
         logger.debug("OSHISysteminfo service is created");
     }
 
@@ -104,6 +165,112 @@ public class OSHISysteminfo implements SysteminfoInterface {
         drives = hal.getDiskStores();
     }
 
+    @Override
+    public synchronized void takeSnapshot() {
+        snapshot = new HashMap<>();
+        snapshotTime = nanoClock.getAsLong();
+    }
+
+    /**
+     * Returns the value with the given key from the current snapshot. The value is read from the system only on the
+     * first request after the snapshot was taken.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized <T> T sample(String key, Supplier<T> reader) {
+        Object value = snapshot.get(key);
+        if (value == null) {
+            value = reader.get();
+            snapshot.put(key, value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Runs the update of a device at most once per snapshot. The attributes of the device are read afterwards from
+     * the device object itself.
+     */
+    private void update(String key, Runnable update) {
+        sample(key, () -> {
+            update.run();
+            return Boolean.TRUE;
+        });
+    }
+
+    /**
+     * Returns the rate of a counter between the previous and the current snapshot, calculated only once per
+     * snapshot.
+     *
+     * @return the rate or {@link Double#NaN}, if there is no previous sample of the counter yet
+     */
+    double rate(String key, Supplier<long[]> counter, RateFunction function) {
+        return sample("rate." + key, () -> {
+            long[] values = counter.get();
+            CounterSample previous = counterSamples.get(key);
+            if (previous == null) {
+                counterSamples.put(key, new CounterSample(snapshotTime, values, Double.NaN));
+                return Double.NaN;
+            }
+            long elapsed = snapshotTime - previous.time;
+            if (elapsed < MIN_RATE_INTERVAL_NANOS) {
+                return previous.rate;
+            }
+            double rate = function.calculate(previous.values, values, elapsed / 1e9);
+            counterSamples.put(key, new CounterSample(snapshotTime, values, rate));
+            return rate;
+        });
+    }
+
+    static double perSecond(long[] previous, long[] current, double seconds) {
+        long delta = current[0] - previous[0];
+        return delta < 0 ? Double.NaN : delta / seconds;
+    }
+
+    static double cpuLoad(long[] previous, long[] current, double seconds) {
+        long total = 0;
+        for (int i = 0; i < current.length; i++) {
+            total += current[i] - previous[i];
+        }
+        long idle = current[TickType.IDLE.getIndex()] - previous[TickType.IDLE.getIndex()]
+                + current[TickType.IOWAIT.getIndex()] - previous[TickType.IOWAIT.getIndex()];
+        return total <= 0 || idle < 0 ? Double.NaN : (double) (total - idle) / total;
+    }
+
+    private long getMemoryAvailableBytes() {
+        return sample("memory.available", memory::getAvailable);
+    }
+
+    private long getSwapTotalBytes() {
+        return sample("swap.total", () -> memory.getVirtualMemory().getSwapTotal());
+    }
+
+    private long getSwapUsedBytes() {
+        return sample("swap.used", () -> memory.getVirtualMemory().getSwapUsed());
+    }
+
+    private OSFileStore getFileStore(int index) throws DeviceNotFoundException {
+        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
+        update("storage." + index, fileStore::updateAtrributes);
+        return fileStore;
+    }
+
+    private NetworkIF getNetwork(int index) throws DeviceNotFoundException {
+        NetworkIF network = (NetworkIF) getDevice(networks, index);
+        update("network." + index, network::updateAttributes);
+        return network;
+    }
+
+    private PowerSource getPowerSource(int index) throws DeviceNotFoundException {
+        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
+        update("battery." + index, powerSource::updateAttributes);
+        return powerSource;
+    }
+
+    private HWDiskStore getDrive(int index) throws DeviceNotFoundException {
+        HWDiskStore drive = (HWDiskStore) getDevice(drives, index);
+        update("drive." + index, drive::updateAttributes);
+        return drive;
+    }
+
     private Object getDevice(Object @Nullable [] devices, int index) throws DeviceNotFoundException {
         if ((devices == null) || (devices.length <= index)) {
             throw new DeviceNotFoundException("Device with index: " + index + " can not be found!");
@@ -112,7 +279,9 @@ public class OSHISysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        Optional<OSProcess> sampledProcess = sample("process." + pid,
+                () -> Optional.ofNullable(operatingSystem.getProcess(pid)));
+        OSProcess process = sampledProcess.orElse(null);
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -179,7 +348,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemoryAvailableBytes();
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
@@ -187,7 +356,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
     @Override
     public DecimalType getMemoryUsed() {
         long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemoryAvailableBytes();
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -195,8 +364,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageTotal(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        OSFileStore fileStore = getFileStore(index);
         long totalSpace = fileStore.getTotalSpace();
         totalSpace = getSizeInMB(totalSpace);
         return new DecimalType(totalSpace);
@@ -204,8 +372,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageAvailable(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        OSFileStore fileStore = getFileStore(index);
         long freeSpace = fileStore.getUsableSpace();
         freeSpace = getSizeInMB(freeSpace);
         return new DecimalType(freeSpace);
@@ -213,8 +380,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getStorageUsed(int index) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, index);
-        fileStore.updateAtrributes();
+        OSFileStore fileStore = getFileStore(index);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -224,8 +390,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageAvailablePercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        OSFileStore fileStore = getFileStore(deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         if (totalSpace > 0) {
@@ -239,8 +404,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getStorageUsedPercent(int deviceIndex) throws DeviceNotFoundException {
-        OSFileStore fileStore = (OSFileStore) getDevice(fileStores, deviceIndex);
-        fileStore.updateAtrributes();
+        OSFileStore fileStore = getFileStore(deviceIndex);
         long totalSpace = fileStore.getTotalSpace();
         long freeSpace = fileStore.getUsableSpace();
         long usedSpace = totalSpace - freeSpace;
@@ -276,8 +440,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public StringType getNetworkIp(int index) throws DeviceNotFoundException {
-        NetworkIF netInterface = (NetworkIF) getDevice(networks, index);
-        netInterface.updateAttributes();
+        NetworkIF netInterface = getNetwork(index);
         String[] ipAddresses = netInterface.getIPv4addr();
         String ipv4 = (String) getDevice(ipAddresses, 0);
         return new StringType(ipv4);
@@ -315,29 +478,30 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        double cpuTemperature = sample("sensors.cpuTemperature", sensors::getCpuTemperature);
+        BigDecimal cpuTemp = new BigDecimal(cpuTemperature);
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        double voltage = sample("sensors.cpuVoltage", sensors::getCpuVoltage);
+        BigDecimal cpuVoltage = new BigDecimal(voltage);
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public @Nullable DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = sample("sensors.fanSpeeds", sensors::getFanSpeeds);
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
 
     @Override
     public @Nullable DecimalType getBatteryRemainingTime(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        PowerSource powerSource = getPowerSource(index);
         double remainingTimeInSeconds = powerSource.getTimeRemainingEstimated();
         // The getTimeRemaining() method returns (-1.0) if is calculating or (-2.0) if the time is unlimited.
         BigDecimal remainingTime = getTimeInMinutes(remainingTimeInSeconds);
@@ -346,8 +510,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getBatteryRemainingCapacity(int index) throws DeviceNotFoundException {
-        PowerSource powerSource = (PowerSource) getDevice(powerSources, index);
-        powerSource.updateAttributes();
+        PowerSource powerSource = getPowerSource(index);
         double remainingCapacity = powerSource.getRemainingCapacityPercent();
         BigDecimal remainingCapacityPercents = getPercentsValue(remainingCapacity);
         return new DecimalType(remainingCapacityPercents);
@@ -362,7 +525,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemoryAvailableBytes();
         long totalMemory = memory.getTotal();
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
@@ -375,7 +538,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getMemoryUsedPercent() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = getMemoryAvailableBytes();
         long totalMemory = memory.getTotal();
         long usedMemory = totalMemory - availableMemory;
         if (totalMemory > 0) {
@@ -410,15 +573,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapTotal() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
+        long swapTotal = getSwapTotalBytes();
         swapTotal = getSizeInMB(swapTotal);
         return new DecimalType(swapTotal);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailable() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSwapTotalBytes();
+        long swapUsed = getSwapUsedBytes();
         long swapAvailable = swapTotal - swapUsed;
         swapAvailable = getSizeInMB(swapAvailable);
         return new DecimalType(swapAvailable);
@@ -426,15 +589,15 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsed() {
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapUsed = getSwapUsedBytes();
         swapUsed = getSizeInMB(swapUsed);
         return new DecimalType(swapUsed);
     }
 
     @Override
     public @Nullable DecimalType getSwapAvailablePercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSwapTotalBytes();
+        long swapUsed = getSwapUsedBytes();
         long swapAvailable = swapTotal - swapUsed;
         if (swapTotal > 0) {
             double swapAvailablePercentDecimal = (double) swapAvailable / (double) swapTotal;
@@ -447,8 +610,8 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public @Nullable DecimalType getSwapUsedPercent() {
-        long swapTotal = memory.getVirtualMemory().getSwapTotal();
-        long swapUsed = memory.getVirtualMemory().getSwapUsed();
+        long swapTotal = getSwapTotalBytes();
+        long swapUsed = getSwapUsedBytes();
         if (swapTotal > 0) {
             double swapUsedPercentDecimal = (double) swapUsed / (double) swapTotal;
             BigDecimal swapUsedPercent = getPercentsValue(swapUsedPercentDecimal);
@@ -523,7 +686,7 @@ public class OSHISysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = sample("cpu.loadAverage", () -> cpu.getSystemLoadAverage(3));
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -531,13 +694,13 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuUptime() {
-        long seconds = operatingSystem.getSystemUptime();
+        long seconds = sample("cpu.uptime", operatingSystem::getSystemUptime);
         return new DecimalType(getTimeInMinutes(seconds));
     }
 
     @Override
     public DecimalType getCpuThreads() {
-        int threadCount = operatingSystem.getThreadCount();
+        int threadCount = sample("cpu.threads", operatingSystem::getThreadCount);
         return new DecimalType(threadCount);
     }
 
@@ -550,32 +713,28 @@ public class OSHISysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateAttributes();
+        NetworkIF network = getNetwork(networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
@@ -636,4 +795,56 @@ public class OSHISysteminfo implements SysteminfoInterface {
             return null;
         }
     }
+
+    @Override
+    public @Nullable DecimalType getCpuLoad() {
+        double load = rate("cpu.ticks", () -> sample("cpu.ticks", cpu::getSystemCpuLoadTicks),
+                OSHISysteminfo::cpuLoad);
+        return Double.isNaN(load) ? null : new DecimalType(getPercentsValue(load));
+    }
+
+    @Override
+    public @Nullable DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException {
+        NetworkIF network = getNetwork(networkIndex);
+        double bytesPerSecond = rate("network.bytesSent." + networkIndex, () -> new long[] { network.getBytesSent() },
+                OSHISysteminfo::perSecond);
+        return getSizeInKBValue(bytesPerSecond);
+    }
+
+    @Override
+    public @Nullable DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException {
+        NetworkIF network = getNetwork(networkIndex);
+        double bytesPerSecond = rate("network.bytesRecv." + networkIndex, () -> new long[] { network.getBytesRecv() },
+                OSHISysteminfo::perSecond);
+        return getSizeInKBValue(bytesPerSecond);
+    }
+
+    @Override
+    public @Nullable DecimalType getDriveReadRate(int deviceIndex) throws DeviceNotFoundException {
+        HWDiskStore drive = getDrive(deviceIndex);
+        double readsPerSecond = rate("drive.reads." + deviceIndex, () -> new long[] { drive.getReads() },
+                OSHISysteminfo::perSecond);
+        return getRateValue(readsPerSecond);
+    }
+
+    @Override
+    public @Nullable DecimalType getDriveWriteRate(int deviceIndex) throws DeviceNotFoundException {
+        HWDiskStore drive = getDrive(deviceIndex);
+        double writesPerSecond = rate("drive.writes." + deviceIndex, () -> new long[] { drive.getWrites() },
+                OSHISysteminfo::perSecond);
+        return getRateValue(writesPerSecond);
+    }
+
+    private @Nullable DecimalType getSizeInKBValue(double bytes) {
+        return getRateValue(bytes / 1024);
+    }
+
+    private @Nullable DecimalType getRateValue(double rate) {
+        if (Double.isNaN(rate)) {
+            return null;
+        }
+        BigDecimal result = new BigDecimal(rate);
+        result = result.setScale(PRECISION_AFTER_DECIMAL_SIGN, BigDecimal.ROUND_HALF_UP);
+        return new DecimalType(result);
+    }
 }
@@ -31,6 +31,16 @@ public interface SysteminfoInterface {
      */
     public void initializeSysteminfo();
 
+    /**
+     * Take a new snapshot of the system information. Until the next snapshot, each value is read from the system at
+     * most once and all getters return values from the same point in time. Rates are calculated from the difference
+     * between snapshots.
+     *
+     * The service is shared by all things, so callers have to hold the lock of the service while they take a snapshot
+     * and read its values. Otherwise another caller might replace the snapshot in between.
+     */
+    public void takeSnapshot();
+
     // Operating system info
     /**
      * Get the Family of the operating system /e.g. Windows,Unix,.../
@@ -92,6 +102,13 @@ public interface SysteminfoInterface {
      */
     public @Nullable DecimalType getCpuLoad15();
 
+    /**
+     * Returns the CPU usage since the previous snapshot.
+     *
+     * @return the usage in percent or null, if no previous snapshot is available
+     */
+    public @Nullable DecimalType getCpuLoad();
+
     /**
      * Get the System uptime (time since boot).
      *
@@ -270,6 +287,24 @@ public interface SysteminfoInterface {
      */
     public StringType getDriveSerialNumber(int deviceIndex) throws DeviceNotFoundException;
 
+    /**
+     * Gets the read operations per second of the physical storage drive since the previous snapshot
+     *
+     * @param deviceIndex - index of the storage drive
+     * @return reads per second or null, if no previous snapshot is available
+     * @throws DeviceNotFoundException
+     */
+    public @Nullable DecimalType getDriveReadRate(int deviceIndex) throws DeviceNotFoundException;
+
+    /**
+     * Gets the write operations per second of the physical storage drive since the previous snapshot
+     *
+     * @param deviceIndex - index of the storage drive
+     * @return writes per second or null, if no previous snapshot is available
+     * @throws DeviceNotFoundException
+     */
+    public @Nullable DecimalType getDriveWriteRate(int deviceIndex) throws DeviceNotFoundException;
+
     // Network info
     /**
      * Get the Host IP address of the network.
@@ -336,6 +371,24 @@ public interface SysteminfoInterface {
      */
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException;
 
+    /**
+     * Get data sent in KB per second for this network since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return the rate or null, if no previous snapshot is available
+     * @throws DeviceNotFoundException
+     */
+    public @Nullable DecimalType getNetworkDataSentRate(int networkIndex) throws DeviceNotFoundException;
+
+    /**
+     * Get data received in KB per second for this network since the previous snapshot
+     *
+     * @param networkIndex - the index of the network
+     * @return the rate or null, if no previous snapshot is available
+     * @throws DeviceNotFoundException
+     */
+    public @Nullable DecimalType getNetworkDataReceivedRate(int networkIndex) throws DeviceNotFoundException;
+
     // Display info
     /**
      * Get information about the display device as product number, manufacturer, serial number, width and height in cm";
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import oshi.hardware.CentralProcessor.TickType;
+
+/**
+ * Tests the snapshots and the rate calculation of {@link OSHISysteminfo} with a fake clock
+ *
+ * @author Svilen Valkanov - Initial contribution
+ */
+public class OSHISysteminfoTest {
+
+    private static final double DELTA = 1e-9;
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final AtomicLong counter = new AtomicLong();
+    private final AtomicInteger counterReads = new AtomicInteger();
+
+    private OSHISysteminfo systeminfo;
+
+    @Before
+    public void setUp() {
+        systeminfo = new OSHISysteminfo(clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private double counterRate() {
+        return systeminfo.rate("counter", () -> {
+            counterReads.incrementAndGet();
+            return new long[] { counter.get() };
+        }, OSHISysteminfo::perSecond);
+    }
+
+    @Test
+    public void testValuesAreReadOncePerSnapshot() {
+        systeminfo.takeSnapshot();
+        counter.set(1);
+        assertEquals(1L, (long) systeminfo.sample("value", counter::get));
+        counter.set(2);
+        assertEquals(1L, (long) systeminfo.sample("value", counter::get));
+
+        systeminfo.takeSnapshot();
+        assertEquals(2L, (long) systeminfo.sample("value", counter::get));
+    }
+
+    @Test
+    public void testRateIsCalculatedBetweenSnapshots() {
+        systeminfo.takeSnapshot();
+        counter.set(1000);
+        assertTrue(Double.isNaN(counterRate()));
+
+        advanceMillis(2000);
+        counter.set(1500);
+        systeminfo.takeSnapshot();
+        assertEquals(250.0, counterRate(), DELTA);
+        // the counter is read only once per snapshot
+        counter.set(9999);
+        assertEquals(250.0, counterRate(), DELTA);
+        assertEquals(2, counterReads.get());
+    }
+
+    @Test
+    public void testSnapshotsWithinMinimumIntervalReuseTheRate() {
+        systeminfo.takeSnapshot();
+        counter.set(0);
+        counterRate();
+
+        advanceMillis(1000);
+        counter.set(100);
+        systeminfo.takeSnapshot();
+        assertEquals(100.0, counterRate(), DELTA);
+
+        // e.g. the medium priority refresh right after the high priority one
+        advanceMillis(200);
+        counter.set(300);
+        systeminfo.takeSnapshot();
+        assertEquals(100.0, counterRate(), DELTA);
+
+        // the rate is calculated from the last sample the rate was calculated from, not from the reused one
+        advanceMillis(800);
+        counter.set(500);
+        systeminfo.takeSnapshot();
+        assertEquals(400.0, counterRate(), DELTA);
+    }
+
+    @Test
+    public void testCounterReset() {
+        systeminfo.takeSnapshot();
+        counter.set(1000);
+        counterRate();
+
+        advanceMillis(1000);
+        counter.set(10);
+        systeminfo.takeSnapshot();
+        assertTrue(Double.isNaN(counterRate()));
+
+        advanceMillis(1000);
+        counter.set(30);
+        systeminfo.takeSnapshot();
+        assertEquals(20.0, counterRate(), DELTA);
+    }
+
+    @Test
+    public void testCpuLoad() {
+        long[] previous = new long[TickType.values().length];
+        long[] current = new long[TickType.values().length];
+        current[TickType.USER.getIndex()] = 30;
+        current[TickType.SYSTEM.getIndex()] = 10;
+        current[TickType.IDLE.getIndex()] = 50;
+        current[TickType.IOWAIT.getIndex()] = 10;
+
+        assertEquals(0.4, OSHISysteminfo.cpuLoad(previous, current, 1), DELTA);
+        assertTrue(Double.isNaN(OSHISysteminfo.cpuLoad(current, current, 1)));
+    }
+}
@@ -12,8 +12,9 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
@@ -30,17 +31,22 @@ import io.github.hapjava.HomekitCharacteristicChangeCallback;
  * HomeKit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * The subscriptions are indexed by item name. Each subscribed item has a single state change listener, which
+ * notifies the characteristics of all accessories subscribed to this item.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitAccessoryUpdater {
+    private static final String NO_KEY = "";
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
-    private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final Map<String, ItemSubscriptions> subscriptionsByItemName = new HashMap<>();
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
         subscribe(item, null, callback);
     }
 
-    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
+    public synchronized void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
         logger.trace("Received subscription request for {} / {}", item, key);
         if (item == null) {
             return;
@@ -49,91 +55,86 @@ public class HomekitAccessoryUpdater {
             logger.trace("The received subscription contains a null callback, skipping");
             return;
         }
-        ItemKey itemKey = new ItemKey(item, key);
-        subscriptionsByName.compute(itemKey, (k, v) -> {
-            if (v != null) {
-                logger.debug("Received duplicate subscription for {} / {}", item, key);
-                unsubscribe(item, key);
-            }
+        ItemSubscriptions subscriptions = subscriptionsByItemName.computeIfAbsent(item.getName(),
+                name -> new ItemSubscriptions(item));
+        subscriptions.attach(item);
+        if (subscriptions.callbacks.put(key == null ? NO_KEY : key, callback) != null) {
+            logger.debug("Received duplicate subscription for {} / {}, replaced it", item, key);
+        } else {
             logger.debug("Adding subscription for {} / {}", item, key);
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
-            item.addStateChangeListener(subscription);
-            return subscription;
-        });
+        }
     }
 
     public void unsubscribe(GenericItem item) {
         unsubscribe(item, null);
     }
 
-    public void unsubscribe(GenericItem item, String key) {
+    public synchronized void unsubscribe(GenericItem item, String key) {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
+        ItemSubscriptions subscriptions = subscriptionsByItemName.get(item.getName());
+        if (subscriptions != null && subscriptions.callbacks.remove(key == null ? NO_KEY : key) != null) {
             logger.debug("Removing existing subscription for {} / {}", item, key);
-            item.removeStateChangeListener(v);
-            return null;
-        });
+            if (subscriptions.callbacks.isEmpty()) {
+                subscriptions.detach();
+                subscriptionsByItemName.remove(item.getName());
+            }
+        }
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
-
-        @Override
-        void stateChanged(Item item, State oldState, State newState);
-
-        @Override
-        default void stateUpdated(Item item, State state) {
-            // Do nothing on non-change update
+    /**
+     * Moves the subscriptions of an item to the new instance of the item, after it was updated in the item registry.
+     * The accessories of an item are kept if only the item instance changed.
+     *
+     * @param item The new instance of the item
+     */
+    public synchronized void itemUpdated(GenericItem item) {
+        ItemSubscriptions subscriptions = subscriptionsByItemName.get(item.getName());
+        if (subscriptions != null) {
+            subscriptions.attach(item);
         }
     }
 
-    private static class ItemKey {
-        public GenericItem item;
-        public String key;
+    /**
+     * All subscriptions of one item, by key
+     */
+    private class ItemSubscriptions implements StateChangeListener {
+        private final Map<String, HomekitCharacteristicChangeCallback> callbacks = new ConcurrentHashMap<>();
+        private GenericItem item;
 
-        public ItemKey(GenericItem item, String key) {
+        ItemSubscriptions(GenericItem item) {
             this.item = item;
-            this.key = key;
+            item.addStateChangeListener(this);
         }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((item == null) ? 0 : item.hashCode());
-            result = prime * result + ((key == null) ? 0 : key.hashCode());
-            return result;
+        void attach(GenericItem newItem) {
+            if (newItem != item) {
+                item.removeStateChangeListener(this);
+                item = newItem;
+                newItem.addStateChangeListener(this);
+            }
+        }
+
+        void detach() {
+            item.removeStateChangeListener(this);
         }
 
         @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            ItemKey other = (ItemKey) obj;
-            if (item == null) {
-                if (other.item != null) {
-                    return false;
+        public void stateChanged(Item changedItem, State oldState, State newState) {
+            for (HomekitCharacteristicChangeCallback callback : callbacks.values()) {
+                try {
+                    callback.changed();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to notify HomeKit about the change of {}: {}", changedItem.getName(),
+                            e.getMessage());
                 }
-            } else if (!item.equals(other.item)) {
-                return false;
             }
-            if (key == null) {
-                if (other.key != null) {
-                    return false;
-                }
-            } else if (!key.equals(other.key)) {
-                return false;
-            }
-            return true;
+        }
+
+        @Override
+        public void stateUpdated(Item updatedItem, State state) {
+            // Do nothing on non-change update
         }
     }
 }
@@ -15,13 +15,19 @@ package org.openhab.io.homekit.internal;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -37,6 +43,11 @@ import io.github.hapjava.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for HomeKit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Only accessories whose tagged items actually changed are recreated. For this, the listener remembers a description
+ * of the items each accessory was created from. The item registry replaces the item instance on every update, so the
+ * accessories look up their items by name and the state subscriptions are moved to the new instance. An accessory
+ * whose description did not change is kept.
+ *
  * @author Andy Lintner - Initial contribution
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
@@ -48,6 +59,13 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     private Set<String> pendingUpdates = new HashSet<>();
 
+    /**
+     * Guards the accessories and their descriptions while updates are applied. Changes of the item registry are
+     * recorded meanwhile, without waiting for the updates to finish.
+     */
+    private final Object accessoriesLock = new Object();
+    private final Map<String, String> accessoryDescriptions = new HashMap<>();
+
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
 
@@ -68,10 +86,34 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
                 Clock.systemUTC(), this::applyUpdates);
 
         itemRegistry.addRegistryChangeListener(this);
-        itemRegistry.getAll().stream().map(item -> new HomekitTaggedItem(item, itemRegistry))
-                .filter(taggedItem -> taggedItem.isAccessory())
-                .filter(taggedItem -> !taggedItem.isMemberOfAccessoryGroup())
-                .forEach(rootTaggedItem -> createRootAccessory(rootTaggedItem));
+        synchronized (accessoriesLock) {
+            itemRegistry.getAll().stream().map(item -> new HomekitTaggedItem(item, itemRegistry))
+                    .filter(taggedItem -> taggedItem.isAccessory())
+                    .filter(taggedItem -> !taggedItem.isMemberOfAccessoryGroup())
+                    .forEach(rootTaggedItem -> createRootAccessory(rootTaggedItem));
+        }
+    }
+
+    /**
+     * Describes everything the accessory of a root item is created from: the item, and for accessory groups also
+     * their members. Item states are not part of the description, the accessories read them on demand.
+     */
+    private static String describe(Item rootItem) {
+        StringBuilder description = new StringBuilder();
+        describeItem(description, rootItem);
+        if (rootItem instanceof GroupItem) {
+            Item baseItem = ((GroupItem) rootItem).getBaseItem();
+            description.append("base=").append(baseItem == null ? null : baseItem.getType()).append(';');
+            ((GroupItem) rootItem).getMembers().stream().sorted(Comparator.comparing(Item::getName))
+                    .forEach(member -> describeItem(description, member));
+        }
+        return description.toString();
+    }
+
+    private static void describeItem(StringBuilder description, Item item) {
+        description.append(item.getName()).append('|').append(item.getType()).append('|').append(item.getLabel())
+                .append('|').append(new TreeSet<>(item.getTags())).append('|')
+                .append(new TreeSet<>(item.getGroupNames())).append(';');
     }
 
     @Override
@@ -116,27 +158,53 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
         }
     }
 
-    private synchronized void applyUpdates() {
-        Iterator<String> iter = pendingUpdates.iterator();
-
-        while (iter.hasNext()) {
-            String name = iter.next();
-            accessoryRegistry.remove(name);
+    /**
+     * Recreates the accessories of the items marked as dirty, unless their description did not change. Called by the
+     * debouncer, package-private to be called by tests.
+     */
+    void applyUpdates() {
+        Set<String> updates;
+        synchronized (this) {
+            updates = pendingUpdates;
+            pendingUpdates = new HashSet<>();
+        }
 
-            getItemOptional(name).map(i -> new HomekitTaggedItem(i, itemRegistry))
-                    .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup())
-                    .ifPresent(rootItem -> createRootAccessory(rootItem));
+        synchronized (accessoriesLock) {
+            int recreated = 0;
+            for (String name : updates) {
+                Optional<HomekitTaggedItem> rootItem = getItemOptional(name)
+                        .map(i -> new HomekitTaggedItem(i, itemRegistry))
+                        .filter(i -> i.isAccessory() && !i.isMemberOfAccessoryGroup());
+                String description = rootItem.map(i -> describe(i.getItem())).orElse(null);
+                if (Objects.equals(description, accessoryDescriptions.get(name))) {
+                    continue;
+                }
+
+                accessoryRegistry.remove(name);
+                accessoryDescriptions.remove(name);
+                if (rootItem.isPresent()) {
+                    createRootAccessory(rootItem.get());
+                }
+                recreated++;
+            }
+            logger.debug("Applied {} HomeKit item changes, {} accessories changed", updates.size(), recreated);
         }
     }
 
     @Override
     public void updated(Item oldElement, Item element) {
+        if (element instanceof GenericItem) {
+            updater.itemUpdated((GenericItem) element);
+        }
         markDirty(oldElement);
         markDirty(element);
     }
 
-    public synchronized void clearAccessories() {
-        accessoryRegistry.clear();
+    public void clearAccessories() {
+        synchronized (accessoriesLock) {
+            accessoryRegistry.clear();
+            accessoryDescriptions.clear();
+        }
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
@@ -169,6 +237,7 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
             logger.debug("Adding HomeKit device {}", taggedItem.getItem().getUID());
             accessoryRegistry.addRootAccessory(taggedItem.getName(),
                     HomekitAccessoryFactory.create(taggedItem, itemRegistry, updater, settings));
+            accessoryDescriptions.put(taggedItem.getName(), describe(taggedItem.getItem()));
             logger.debug("Added HomeKit device {}", taggedItem.getItem().getUID());
         } catch (HomekitException | IncompleteAccessoryException e) {
             logger.warn("Could not add device {}: {}", taggedItem.getItem().getUID(), e.getMessage());
@@ -13,6 +13,7 @@
 package org.openhab.io.homekit.internal.accessories;
 
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.ContactItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -24,11 +25,15 @@ import org.slf4j.LoggerFactory;
 /**
  * Wraps either a SwitchItem or a ContactItem, interpretting the open / closed states accordingly.
  *
+ * The item is looked up by name on each read, so the reader keeps working after the item was replaced by a new instance
+ * in the item registry.
+ *
  * @author Tim Harper - Initial contribution
  *
  */
 public class BooleanItemReader {
-    private final Item item;
+    private final ItemRegistry itemRegistry;
+    private final String itemName;
     private final OnOffType trueOnOffValue;
     private final OpenClosedType trueOpenClosedValue;
 
@@ -36,12 +41,15 @@ public class BooleanItemReader {
 
     /**
      *
+     * @param itemRegistry The registry to look up the item
      * @param item The item to read
      * @param trueOnOffValue If OnOffType, then consider true if this value
      * @param trueOpenClosedValue if OpenClosedType, then consider true if this value
      */
-    BooleanItemReader(Item item, OnOffType trueOnOffValue, OpenClosedType trueOpenClosedValue) {
-        this.item = item;
+    BooleanItemReader(ItemRegistry itemRegistry, Item item, OnOffType trueOnOffValue,
+            OpenClosedType trueOpenClosedValue) {
+        this.itemRegistry = itemRegistry;
+        this.itemName = item.getName();
         this.trueOnOffValue = trueOnOffValue;
         this.trueOpenClosedValue = trueOpenClosedValue;
         if (!(item instanceof SwitchItem) && !(item instanceof ContactItem)) {
@@ -51,6 +59,10 @@ public class BooleanItemReader {
     }
 
     Boolean getValue() {
+        Item item = itemRegistry.get(itemName);
+        if (item == null) {
+            return null;
+        }
         State state = item.getState();
         if (state instanceof OnOffType) {
             return state.equals(trueOnOffValue);
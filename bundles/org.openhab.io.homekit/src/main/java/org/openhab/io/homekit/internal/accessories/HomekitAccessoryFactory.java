@@ -55,7 +55,7 @@ public class HomekitAccessoryFactory {
                                 () -> new HomekitException("Leak accessory group should have a leak sensor in it"));
 
                 return new HomekitLeakSensorImpl(leakSensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case VALVE:
                 return new HomekitValveImpl(taggedItem, itemRegistry, updater);
             case MOTION_SENSOR:
@@ -64,21 +64,21 @@ public class HomekitAccessoryFactory {
                                 .orElseThrow(() -> new HomekitException(
                                         "Motion sensor accessory group should have a motion sensor item in it"));
                 return new HomekitMotionSensorImpl(motionSensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case OCCUPANCY_SENSOR:
                 HomekitTaggedItem occupancySensorAccessory = getPrimaryAccessory(taggedItem,
                         HomekitAccessoryType.OCCUPANCY_SENSOR, itemRegistry)
                                 .orElseThrow(() -> new HomekitException(
                                         "Occupancy sensor accessory group should have a occupancy sensor item in it"));
                 return new HomekitOccupancySensorImpl(occupancySensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case CONTACT_SENSOR:
                 HomekitTaggedItem contactSensorAccessory = getPrimaryAccessory(taggedItem,
                         HomekitAccessoryType.CONTACT_SENSOR, itemRegistry)
                                 .orElseThrow(() -> new HomekitException(
                                         "Contact sensor accessory group should have a occupancy sensor item in it"));
                 return new HomekitContactSensorImpl(contactSensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case LIGHTBULB:
                 return new HomekitLightbulbImpl(taggedItem, itemRegistry, updater);
             case DIMMABLE_LIGHTBULB:
@@ -105,14 +105,14 @@ public class HomekitAccessoryFactory {
                         HomekitAccessoryType.SMOKE_SENSOR, itemRegistry).orElseThrow(
                                 () -> new HomekitException("Smoke accessory group should have a smoke sensor in it"));
                 return new HomekitSmokeSensorImpl(smokeSensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case CARBON_MONOXIDE_SENSOR:
                 HomekitTaggedItem carbonMonoxideSensorAccessory = getPrimaryAccessory(taggedItem,
                         HomekitAccessoryType.CARBON_MONOXIDE_SENSOR, itemRegistry)
                                 .orElseThrow(() -> new HomekitException(
                                         "Carbon monoxide accessory group should have a carbon monoxide sensor in it"));
                 return new HomekitSmokeSensorImpl(carbonMonoxideSensorAccessory, itemRegistry, updater,
-                        BatteryStatus.getFromCharacteristics(characteristicItems));
+                        BatteryStatus.getFromCharacteristics(characteristicItems, itemRegistry));
             case LOCK:
                 return new HomekitLockImpl(taggedItem, itemRegistry, updater);
         }
@@ -44,7 +44,7 @@ public class HomekitCarbonMonoxideSensorImpl extends AbstractHomekitAccessoryImp
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
 
-        this.carbonMonoxideDetectedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.ON,
+        this.carbonMonoxideDetectedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.ON,
                 OpenClosedType.OPEN);
         this.batteryStatus = batteryStatus;
     }
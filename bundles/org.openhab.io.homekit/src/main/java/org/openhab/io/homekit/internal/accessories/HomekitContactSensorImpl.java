@@ -39,7 +39,8 @@ public class HomekitContactSensorImpl extends AbstractHomekitAccessoryImpl<Gener
     public HomekitContactSensorImpl(HomekitTaggedItem taggedItem, ItemRegistry itemRegistry,
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
-        this.contactSensedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.OFF, OpenClosedType.CLOSED);
+        this.contactSensedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.OFF,
+                OpenClosedType.CLOSED);
         this.batteryStatus = batteryStatus;
     }
 
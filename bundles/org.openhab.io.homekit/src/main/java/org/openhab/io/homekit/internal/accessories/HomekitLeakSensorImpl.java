@@ -43,7 +43,8 @@ public class HomekitLeakSensorImpl extends AbstractHomekitAccessoryImpl<GenericI
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
 
-        this.leakDetectedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.ON, OpenClosedType.OPEN);
+        this.leakDetectedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.ON,
+                OpenClosedType.OPEN);
         this.batteryStatus = batteryStatus;
     }
 
@@ -38,7 +38,8 @@ public class HomekitMotionSensorImpl extends AbstractHomekitAccessoryImpl<Generi
     public HomekitMotionSensorImpl(HomekitTaggedItem taggedItem, ItemRegistry itemRegistry,
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
-        this.motionSensedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.ON, OpenClosedType.OPEN);
+        this.motionSensedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.ON,
+                OpenClosedType.OPEN);
         this.batteryStatus = batteryStatus;
     }
 
@@ -38,7 +38,8 @@ public class HomekitOccupancySensorImpl extends AbstractHomekitAccessoryImpl<Gen
     public HomekitOccupancySensorImpl(HomekitTaggedItem taggedItem, ItemRegistry itemRegistry,
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
-        this.occupancySensedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.ON, OpenClosedType.OPEN);
+        this.occupancySensedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.ON,
+                OpenClosedType.OPEN);
         this.batteryStatus = batteryStatus;
     }
 
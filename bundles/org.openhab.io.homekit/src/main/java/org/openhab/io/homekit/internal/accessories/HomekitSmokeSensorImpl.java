@@ -44,7 +44,8 @@ public class HomekitSmokeSensorImpl extends AbstractHomekitAccessoryImpl<Generic
             HomekitAccessoryUpdater updater, BatteryStatus batteryStatus) {
         super(taggedItem, itemRegistry, updater, GenericItem.class);
 
-        this.smokeDetectedReader = new BooleanItemReader(taggedItem.getItem(), OnOffType.ON, OpenClosedType.OPEN);
+        this.smokeDetectedReader = new BooleanItemReader(itemRegistry, taggedItem.getItem(), OnOffType.ON,
+                OpenClosedType.OPEN);
         this.batteryStatus = batteryStatus;
     }
 
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
@@ -27,7 +28,6 @@ import org.eclipse.smarthome.core.library.items.NumberItem;
 import org.eclipse.smarthome.core.library.items.StringItem;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.StringType;
-import org.eclipse.smarthome.core.types.State;
 import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
 import org.openhab.io.homekit.internal.HomekitCharacteristicType;
 import org.openhab.io.homekit.internal.HomekitSettings;
@@ -48,15 +48,18 @@ import io.github.hapjava.accessories.thermostat.BasicThermostat;
  * <li>Target Heating/Cooling Mode: String type (see HomekitSettings.thermostat*Mode)</li>
  * </ul>
  *
+ * The items are looked up by name, so the thermostat keeps working after an item was replaced by a new instance in the
+ * item registry.
+ *
  * @author Andy Lintner - Initial contribution
  */
 class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<GroupItem> implements BasicThermostat {
     private final HomekitSettings settings;
 
-    private @NonNull NumberItem currentTemperatureItem;
-    private @NonNull StringItem targetHeatingCoolingModeItem;
-    private @Nullable StringItem currentHeatingCoolingModeItem;
-    private @NonNull NumberItem targetTemperatureItem;
+    private @NonNull String currentTemperatureItemName;
+    private @NonNull String targetHeatingCoolingModeItemName;
+    private @Nullable String currentHeatingCoolingModeItemName;
+    private @NonNull String targetTemperatureItemName;
 
     private Logger logger = LoggerFactory.getLogger(HomekitThermostatImpl.class);
 
@@ -70,7 +73,7 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
         this.settings = settings;
 
         if (currentTemperatureItem instanceof NumberItem) {
-            this.currentTemperatureItem = (NumberItem) currentTemperatureItem;
+            this.currentTemperatureItemName = currentTemperatureItem.getName();
         } else {
             throw new IncompleteAccessoryException(currentTemperatureItem.getUID()
                     + "tagged as thermostat currentTemperatureItem has wrong item type (NumberItem needed)");
@@ -81,7 +84,7 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
                 HomekitCharacteristicType.OLD_TARGET_HEATING_COOLING_MODE).orElseThrow(
                         () -> new IncompleteAccessoryException(HomekitCharacteristicType.TARGET_HEATING_COOLING_MODE));
         if (targetHeatingCoolingModeItem instanceof StringItem) {
-            this.targetHeatingCoolingModeItem = (StringItem) targetHeatingCoolingModeItem;
+            this.targetHeatingCoolingModeItemName = targetHeatingCoolingModeItem.getName();
         } else {
             throw new IncompleteAccessoryException(targetHeatingCoolingModeItem.getUID()
                     + " tagged as thermostat targetHeatingCoolingMode has wrong item type (String needed)");
@@ -92,7 +95,7 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
                         .orElseThrow(
                                 () -> new IncompleteAccessoryException(HomekitCharacteristicType.TARGET_TEMPERATURE));
         if (targetTemperatureItem instanceof NumberItem) {
-            this.targetTemperatureItem = (NumberItem) targetTemperatureItem;
+            this.targetTemperatureItemName = targetTemperatureItem.getName();
         } else {
             throw new IncompleteAccessoryException(targetTemperatureItem.getUID()
                     + " tagged as thermostat targetTemperature has wrong item type (Number needed)");
@@ -100,8 +103,10 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
 
         Item currentHeatingCoolingModeItem = characteristicItems
                 .remove(HomekitCharacteristicType.CURRENT_HEATING_COOLING_STATE);
-        if (currentHeatingCoolingModeItem instanceof StringItem || currentHeatingCoolingModeItem == null) {
-            this.currentHeatingCoolingModeItem = (StringItem) currentHeatingCoolingModeItem;
+        if (currentHeatingCoolingModeItem == null) {
+            this.currentHeatingCoolingModeItemName = null;
+        } else if (currentHeatingCoolingModeItem instanceof StringItem) {
+            this.currentHeatingCoolingModeItemName = currentHeatingCoolingModeItem.getName();
         } else {
             throw new IncompleteAccessoryException(currentHeatingCoolingModeItem.getUID()
                     + " tagged as thermostat currentHeatingCoolingMode has wrong item type (String needed)");
@@ -126,9 +131,14 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
         return targetTempItem;
     }
 
+    private @Nullable GenericItem getItem(@Nullable String itemName) {
+        return itemName == null ? null : (GenericItem) getItemRegistry().get(itemName);
+    }
+
     @Override
     public CompletableFuture<ThermostatMode> getCurrentMode() {
         String stringValue = settings.thermostatCurrentModeOff;
+        GenericItem currentHeatingCoolingModeItem = getItem(currentHeatingCoolingModeItemName);
         if (currentHeatingCoolingModeItem != null) {
             stringValue = currentHeatingCoolingModeItem.getState().toString();
         }
@@ -154,7 +164,9 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
 
     @Override
     public CompletableFuture<Double> getCurrentTemperature() {
-        DecimalType state = currentTemperatureItem.getStateAs(DecimalType.class);
+        GenericItem currentTemperatureItem = getItem(currentTemperatureItemName);
+        DecimalType state = currentTemperatureItem == null ? null
+                : currentTemperatureItem.getStateAs(DecimalType.class);
         if (state == null) {
             return CompletableFuture.completedFuture(null);
         }
@@ -163,10 +175,11 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
 
     @Override
     public CompletableFuture<ThermostatMode> getTargetMode() {
-        State state = targetHeatingCoolingModeItem.getState();
+        GenericItem targetHeatingCoolingModeItem = getItem(targetHeatingCoolingModeItemName);
         ThermostatMode mode;
 
-        String stringValue = state.toString();
+        String stringValue = targetHeatingCoolingModeItem == null ? "NULL"
+                : targetHeatingCoolingModeItem.getState().toString();
         if (stringValue.equalsIgnoreCase(settings.thermostatTargetModeCool)) {
             mode = ThermostatMode.COOL;
         } else if (stringValue.equalsIgnoreCase(settings.thermostatTargetModeHeat)) {
@@ -189,7 +202,8 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
 
     @Override
     public CompletableFuture<Double> getTargetTemperature() {
-        DecimalType state = targetTemperatureItem.getStateAs(DecimalType.class);
+        GenericItem targetTemperatureItem = getItem(targetTemperatureItemName);
+        DecimalType state = targetTemperatureItem == null ? null : targetTemperatureItem.getStateAs(DecimalType.class);
         if (state == null) {
             return CompletableFuture.completedFuture(null);
         }
@@ -216,53 +230,59 @@ class HomekitThermostatImpl extends AbstractTemperatureHomekitAccessoryImpl<Grou
                 modeString = settings.thermostatTargetModeOff;
                 break;
         }
-        targetHeatingCoolingModeItem.send(new StringType(modeString));
+        GenericItem targetHeatingCoolingModeItem = getItem(targetHeatingCoolingModeItemName);
+        if (targetHeatingCoolingModeItem instanceof StringItem) {
+            ((StringItem) targetHeatingCoolingModeItem).send(new StringType(modeString));
+        }
     }
 
     @Override
     public void setTargetTemperature(Double value) throws Exception {
-        targetTemperatureItem.send(new DecimalType(BigDecimal.valueOf(convertFromCelsius(value))));
+        GenericItem targetTemperatureItem = getItem(targetTemperatureItemName);
+        if (targetTemperatureItem instanceof NumberItem) {
+            ((NumberItem) targetTemperatureItem).send(new DecimalType(BigDecimal.valueOf(convertFromCelsius(value))));
+        }
     }
 
     @Override
     public void subscribeCurrentMode(HomekitCharacteristicChangeCallback callback) {
-        if (currentHeatingCoolingModeItem != null) {
-            getUpdater().subscribe(currentHeatingCoolingModeItem, callback);
+        if (currentHeatingCoolingModeItemName != null) {
+            getUpdater().subscribe(getItem(currentHeatingCoolingModeItemName), callback);
         }
     }
 
     @Override
     public void subscribeCurrentTemperature(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(currentTemperatureItem, callback);
+        getUpdater().subscribe(getItem(currentTemperatureItemName), callback);
     }
 
     @Override
     public void subscribeTargetMode(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(targetHeatingCoolingModeItem, callback);
+        getUpdater().subscribe(getItem(targetHeatingCoolingModeItemName), callback);
     }
 
     @Override
     public void subscribeTargetTemperature(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(targetTemperatureItem, callback);
+        getUpdater().subscribe(getItem(targetTemperatureItemName), callback);
     }
 
     @Override
     public void unsubscribeCurrentMode() {
-        getUpdater().unsubscribe(targetHeatingCoolingModeItem);
+        getUpdater().unsubscribe(getItem(targetHeatingCoolingModeItemName));
     }
 
     @Override
     public void unsubscribeCurrentTemperature() {
-        getUpdater().unsubscribe(currentTemperatureItem);
+        getUpdater().unsubscribe(getItem(currentTemperatureItemName));
     }
 
     @Override
     public void unsubscribeTargetMode() {
-        getUpdater().unsubscribe(targetHeatingCoolingModeItem);
+        getUpdater().unsubscribe(getItem(targetHeatingCoolingModeItemName));
     }
 
     @Override
     public void unsubscribeTargetTemperature() {
-        getUpdater().unsubscribe(targetTemperatureItem);
+        getUpdater().unsubscribe(getItem(targetTemperatureItemName));
     }
 }
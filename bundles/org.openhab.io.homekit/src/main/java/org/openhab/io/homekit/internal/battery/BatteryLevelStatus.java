@@ -14,6 +14,8 @@ package org.openhab.io.homekit.internal.battery;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.NumberItem;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
@@ -21,20 +23,32 @@ import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
 import io.github.hapjava.HomekitCharacteristicChangeCallback;
 
 /**
+ * The item is looked up by name, so the status follows the item when it is replaced by a new instance in the item
+ * registry.
  *
  * @author Tim Harper - Initial contribution
  */
 @NonNullByDefault
 public class BatteryLevelStatus implements BatteryStatus {
-    private NumberItem batteryLevelItem;
+    private final ItemRegistry itemRegistry;
+    private final String itemName;
 
-    BatteryLevelStatus(NumberItem batteryLevelItem) {
-        this.batteryLevelItem = batteryLevelItem;
+    BatteryLevelStatus(ItemRegistry itemRegistry, NumberItem batteryLevelItem) {
+        this.itemRegistry = itemRegistry;
+        this.itemName = batteryLevelItem.getName();
+    }
+
+    private @Nullable GenericItem getItem() {
+        return (GenericItem) itemRegistry.get(itemName);
     }
 
     @Override
     public @Nullable Boolean isLow() {
-        DecimalType level = batteryLevelItem.getStateAs(DecimalType.class);
+        GenericItem item = getItem();
+        if (item == null) {
+            return null;
+        }
+        DecimalType level = item.getStateAs(DecimalType.class);
 
         if (level == null) {
             return null;
@@ -45,11 +59,11 @@ public class BatteryLevelStatus implements BatteryStatus {
 
     @Override
     public void subscribe(HomekitAccessoryUpdater updater, HomekitCharacteristicChangeCallback callback) {
-        updater.subscribe(batteryLevelItem, callback);
+        updater.subscribe(getItem(), callback);
     }
 
     @Override
     public void unsubscribe(HomekitAccessoryUpdater updater) {
-        updater.unsubscribe(batteryLevelItem);
+        updater.unsubscribe(getItem());
     }
 }
@@ -14,6 +14,8 @@ package org.openhab.io.homekit.internal.battery;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
@@ -21,21 +23,33 @@ import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
 import io.github.hapjava.HomekitCharacteristicChangeCallback;
 
 /**
+ * The item is looked up by name, so the status follows the item when it is replaced by a new instance in the item
+ * registry.
  *
  * @author Tim Harper - Initial contribution
  */
 @NonNullByDefault
 public class BatteryLowStatus implements BatteryStatus {
-    private SwitchItem batterySwitchItem;
+    private final ItemRegistry itemRegistry;
+    private final String itemName;
 
-    BatteryLowStatus(SwitchItem batterySwitchItem) {
-        this.batterySwitchItem = batterySwitchItem;
+    BatteryLowStatus(ItemRegistry itemRegistry, SwitchItem batterySwitchItem) {
+        this.itemRegistry = itemRegistry;
+        this.itemName = batterySwitchItem.getName();
+    }
+
+    private @Nullable GenericItem getItem() {
+        return (GenericItem) itemRegistry.get(itemName);
     }
 
     @Override
     @Nullable
     public Boolean isLow() {
-        OnOffType state = batterySwitchItem.getStateAs(OnOffType.class);
+        GenericItem item = getItem();
+        if (item == null) {
+            return null;
+        }
+        OnOffType state = item.getStateAs(OnOffType.class);
         if (state == null) {
             return null;
         } else {
@@ -45,11 +59,11 @@ public class BatteryLowStatus implements BatteryStatus {
 
     @Override
     public void subscribe(HomekitAccessoryUpdater updater, HomekitCharacteristicChangeCallback callback) {
-        updater.subscribe(batterySwitchItem, callback);
+        updater.subscribe(getItem(), callback);
     }
 
     @Override
     public void unsubscribe(HomekitAccessoryUpdater updater) {
-        updater.unsubscribe(batterySwitchItem);
+        updater.unsubscribe(getItem());
     }
 }
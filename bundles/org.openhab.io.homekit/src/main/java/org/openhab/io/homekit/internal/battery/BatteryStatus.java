@@ -17,6 +17,7 @@ import java.util.Map;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.library.items.NumberItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
 import org.openhab.io.homekit.internal.HomekitAccessoryUpdater;
@@ -37,12 +38,13 @@ public interface BatteryStatus {
 
     public void unsubscribe(HomekitAccessoryUpdater updater);
 
-    static BatteryStatus getFromCharacteristics(Map<HomekitCharacteristicType, Item> characteristicItems) {
+    static BatteryStatus getFromCharacteristics(Map<HomekitCharacteristicType, Item> characteristicItems,
+            ItemRegistry itemRegistry) {
         if (characteristicItems.containsKey(HomekitCharacteristicType.BATTERY_LEVEL)) {
-            return new BatteryLevelStatus(
+            return new BatteryLevelStatus(itemRegistry,
                     (NumberItem) characteristicItems.get(HomekitCharacteristicType.BATTERY_LEVEL));
         } else if (characteristicItems.containsKey(HomekitCharacteristicType.BATTERY_LOW_STATUS)) {
-            return new BatteryLowStatus(
+            return new BatteryLowStatus(itemRegistry,
                     (SwitchItem) characteristicItems.get(HomekitCharacteristicType.BATTERY_LOW_STATUS));
         } else {
             return new NoBatteryStatus();
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.library.items.ContactItem;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.github.hapjava.HomekitAccessory;
+import io.github.hapjava.HomekitRoot;
+import io.github.hapjava.accessories.ContactSensor;
+import io.github.hapjava.accessories.properties.ContactState;
+
+/**
+ *
+ * @author Andy Lintner - Initial contribution
+ */
+public class HomekitChangeListenerTest {
+
+    private static final String ITEM_NAME = "door";
+
+    private final Map<String, Item> items = new HashMap<>();
+    private ItemRegistry itemRegistry;
+    private HomekitRoot bridge;
+    private HomekitChangeListener listener;
+
+    @Before
+    public void setUp() throws ItemNotFoundException {
+        itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getAll()).thenAnswer(invocation -> items.values());
+        when(itemRegistry.get(any())).thenAnswer(invocation -> items.get(invocation.getArgument(0)));
+        when(itemRegistry.getItem(any())).thenAnswer(invocation -> {
+            Item item = items.get(invocation.getArgument(0));
+            if (item == null) {
+                throw new ItemNotFoundException((String) invocation.getArgument(0));
+            }
+            return item;
+        });
+        bridge = mock(HomekitRoot.class);
+
+        items.put(ITEM_NAME, contactSensor("Door"));
+        listener = new HomekitChangeListener(itemRegistry, new HomekitSettings());
+        listener.setBridge(bridge);
+    }
+
+    @After
+    public void tearDown() {
+        listener.stop();
+    }
+
+    private static ContactItem contactSensor(String label) {
+        ContactItem item = new ContactItem(ITEM_NAME);
+        item.setLabel(label);
+        item.addTags(Collections.singleton("ContactSensor"));
+        return item;
+    }
+
+    private HomekitAccessory getAddedAccessory() {
+        ArgumentCaptor<HomekitAccessory> accessory = ArgumentCaptor.forClass(HomekitAccessory.class);
+        verify(bridge).addAccessory(accessory.capture());
+        return accessory.getValue();
+    }
+
+    private void update(ContactItem newItem) {
+        Item oldItem = items.put(ITEM_NAME, newItem);
+        listener.updated(oldItem, newItem);
+        listener.applyUpdates();
+    }
+
+    @Test
+    public void testUnchangedAccessorySurvivesRegistryUpdate() throws Exception {
+        HomekitAccessory accessory = getAddedAccessory();
+
+        ContactItem newItem = contactSensor("Door");
+        update(newItem);
+
+        verify(bridge, never()).removeAccessory(any());
+        verify(bridge, times(1)).addAccessory(any());
+
+        // the kept accessory reads the state of the new item instance
+        newItem.setState(OpenClosedType.CLOSED);
+        assertEquals(ContactState.DETECTED, ((ContactSensor) accessory).getCurrentState().get());
+        newItem.setState(OpenClosedType.OPEN);
+        assertEquals(ContactState.NOT_DETECTED, ((ContactSensor) accessory).getCurrentState().get());
+    }
+
+    @Test
+    public void testChangedAccessoryIsRecreated() {
+        HomekitAccessory accessory = getAddedAccessory();
+
+        update(contactSensor("Front door"));
+
+        verify(bridge).removeAccessory(accessory);
+        verify(bridge, times(2)).addAccessory(any());
+    }
+}
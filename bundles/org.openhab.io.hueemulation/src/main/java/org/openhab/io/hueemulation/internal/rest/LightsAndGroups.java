@@ -27,7 +27,9 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -51,6 +53,7 @@ import org.openhab.io.hueemulation.internal.dto.HueNewLights;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueChangeRequest;
 import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
 import org.openhab.io.hueemulation.internal.dto.response.HueResponse;
+import org.openhab.io.hueemulation.internal.rest.LightsJsonCache.CachedJson;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -88,6 +91,8 @@ import io.swagger.annotations.ApiResponses;
  * </p>
  *
  * <p>
+ * The serialized lights are cached in a {@link LightsJsonCache} and served with an entity tag, so that
+ * polling clients receive unchanged lights without serializing them again or even a "304 Not Modified".
  * </p>
  *
  * @author David Graeff - Initial contribution
@@ -113,12 +118,15 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Reference(policy = ReferencePolicy.DYNAMIC, cardinality = ReferenceCardinality.OPTIONAL)
     protected volatile @Nullable EventPublisher eventPublisher;
 
+    private final LightsJsonCache lightsJsonCache = new LightsJsonCache();
+
     /**
      * Registers to the {@link ItemRegistry} and enumerates currently existing items.
      */
     @Activate
     protected void activate() {
         cs.ds.resetGroupsAndLights();
+        lightsJsonCache.clear();
 
         itemRegistry.removeRegistryChangeListener(this);
         itemRegistry.addRegistryChangeListener(this);
@@ -243,12 +251,12 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Path("{username}/lights")
     @ApiOperation(value = "Return all lights")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getAllLightsApi(@Context UriInfo uri,
+    public Response getAllLightsApi(@Context UriInfo uri, @Context Request request,
             @PathParam("username") @ApiParam(value = "username") String username) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights)).build();
+        return cachedResponse(request, lightsJsonCache.getAllLights(cs.gson, cs.ds.lights));
     }
 
     @GET
@@ -279,13 +287,28 @@ public class LightsAndGroups implements RegistryChangeListener<Item> {
     @Path("{username}/lights/{id}")
     @ApiOperation(value = "Return a light")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "OK") })
-    public Response getLightApi(@Context UriInfo uri, //
+    public Response getLightApi(@Context UriInfo uri, @Context Request request, //
             @PathParam("username") @ApiParam(value = "username") String username,
             @PathParam("id") @ApiParam(value = "light id") String id) {
         if (!userManagement.authorizeUser(username)) {
             return NetworkUtils.singleError(cs.gson, uri, HueResponse.UNAUTHORIZED, "Not Authorized");
         }
-        return Response.ok(cs.gson.toJson(cs.ds.lights.get(id))).build();
+        HueLightEntry hueDevice = cs.ds.lights.get(id);
+        if (hueDevice == null) {
+            return Response.ok(cs.gson.toJson(null)).build();
+        }
+        return cachedResponse(request, lightsJsonCache.getLight(cs.gson, id, hueDevice));
+    }
+
+    /**
+     * Responds with "304 Not Modified", if the client already has the current version of the document
+     */
+    private Response cachedResponse(Request request, CachedJson cached) {
+        ResponseBuilder notModified = request.evaluatePreconditions(cached.etag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(cached.json).tag(cached.etag).build();
     }
 
     @SuppressWarnings({ "null", "unused" })
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.hueemulation.internal.rest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.hueemulation.internal.dto.HueLightEntry;
+import org.openhab.io.hueemulation.internal.dto.changerequest.HueStateChange;
+
+import com.google.gson.Gson;
+
+/**
+ * Caches the serialized JSON of the lights of the {@link org.openhab.io.hueemulation.internal.dto.HueDataStore}.
+ * <p>
+ * Hue clients like Alexa or the Harmony hub poll the list of lights very often, while the lights rarely change.
+ * The serialized form of a light only depends on its item (state and label) and the last hue command.
+ * Each cached light remembers those and is only serialized again if one of them was replaced. The list of all lights
+ * is assembled from the cached lights and only rebuilt if a light was added, removed or changed.
+ * <p>
+ * Every serialization gets a new version, which is used as entity tag for conditional requests.
+ *
+ * @author David Graeff - Initial contribution
+ */
+@NonNullByDefault
+public class LightsJsonCache {
+    /**
+     * Versions start at the current time, so that entity tags of a previous run are not valid anymore.
+     */
+    private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * A serialized JSON document and its entity tag
+     */
+    public static class CachedJson {
+        public final byte[] json;
+        public final EntityTag etag;
+
+        CachedJson(String json, long version) {
+            this.json = json.getBytes(StandardCharsets.UTF_8);
+            this.etag = new EntityTag(Long.toHexString(version));
+        }
+    }
+
+    /**
+     * A serialized light together with everything its serialization depends on
+     */
+    private static class LightJson {
+        final HueLightEntry light;
+        final GenericItem item;
+        final @Nullable State state;
+        final @Nullable String label;
+        final @Nullable Command lastCommand;
+        final @Nullable HueStateChange lastHueChange;
+        final String json;
+        final long version;
+        final CachedJson cached;
+
+        LightJson(Gson gson, HueLightEntry light) {
+            this.light = light;
+            this.item = light.item;
+            this.state = light.item.getState();
+            this.label = light.item.getLabel();
+            this.lastCommand = light.lastCommand;
+            this.lastHueChange = light.lastHueChange;
+            this.json = gson.toJson(light);
+            this.version = VERSIONS.incrementAndGet();
+            this.cached = new CachedJson(json, version);
+        }
+
+        /**
+         * Item states and commands are immutable, therefore comparing the references is sufficient
+         */
+        boolean isValidFor(HueLightEntry other) {
+            String otherLabel = other.item.getLabel();
+            return light == other && item == other.item && state == other.item.getState()
+                    && (label == null ? otherLabel == null : label.equals(otherLabel))
+                    && lastCommand == other.lastCommand && lastHueChange == other.lastHueChange;
+        }
+    }
+
+    private final Map<String, LightJson> lights = new HashMap<>();
+
+    private List<String> allLightsIds = new ArrayList<>();
+    private List<Long> allLightsVersions = new ArrayList<>();
+    private @Nullable CachedJson allLights;
+
+    /**
+     * Returns the serialized light. The light is only serialized, if it changed since the last call.
+     *
+     * @param gson The gson instance with the light serializer
+     * @param id The hue ID of the light
+     * @param light The light
+     */
+    public synchronized CachedJson getLight(Gson gson, String id, HueLightEntry light) {
+        return getLightJson(gson, id, light).cached;
+    }
+
+    /**
+     * Returns all lights, serialized as JSON object with the hue IDs as keys. Only lights that changed since the last
+     * call are serialized again.
+     *
+     * @param gson The gson instance with the light serializer
+     * @param lightsById All lights by hue ID
+     */
+    public synchronized CachedJson getAllLights(Gson gson, Map<String, HueLightEntry> lightsById) {
+        List<String> ids = new ArrayList<>(lightsById.size());
+        List<Long> versions = new ArrayList<>(lightsById.size());
+        List<String> jsons = new ArrayList<>(lightsById.size());
+        for (Map.Entry<String, HueLightEntry> light : lightsById.entrySet()) {
+            LightJson entry = getLightJson(gson, light.getKey(), light.getValue());
+            ids.add(light.getKey());
+            versions.add(entry.version);
+            jsons.add(entry.json);
+        }
+        lights.keySet().retainAll(lightsById.keySet());
+
+        CachedJson cached = allLights;
+        if (cached != null && ids.equals(allLightsIds) && versions.equals(allLightsVersions)) {
+            return cached;
+        }
+
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(gson.toJson(ids.get(i))).append(':').append(jsons.get(i));
+        }
+        json.append('}');
+
+        cached = new CachedJson(json.toString(), VERSIONS.incrementAndGet());
+        allLights = cached;
+        allLightsIds = ids;
+        allLightsVersions = versions;
+        return cached;
+    }
+
+    /**
+     * Forget all serialized lights
+     */
+    public synchronized void clear() {
+        lights.clear();
+        allLights = null;
+        allLightsIds = new ArrayList<>();
+        allLightsVersions = new ArrayList<>();
+    }
+
+    private LightJson getLightJson(Gson gson, String id, HueLightEntry light) {
+        LightJson entry = lights.get(id);
+        if (entry == null || !entry.isValidFor(light)) {
+            entry = new LightJson(gson, light);
+            lights.put(id, entry);
+        }
+        return entry;
+    }
+}
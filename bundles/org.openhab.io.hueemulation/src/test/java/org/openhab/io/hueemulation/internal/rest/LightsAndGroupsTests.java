@@ -20,6 +20,8 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 
 import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -335,6 +337,46 @@ public class LightsAndGroupsTests {
         assertThat(body, containsString("color"));
     }
 
+    @Test
+    public void allLightsNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(etag, is(notNullValue()));
+        assertThat(response.readEntity(String.class), containsString("\"on\":false"));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(304, response.getStatus());
+
+        // A changed item state results in a new document
+        cs.ds.lights.get("1").item.setState(OnOffType.ON);
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.getEntityTag(), is(not(etag)));
+        assertThat(response.readEntity(String.class), containsString("\"on\":true"));
+    }
+
+    @Test
+    public void singleLightNotModified() {
+        Response response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights/2").request().get();
+        assertEquals(200, response.getStatus());
+        EntityTag etag = response.getEntityTag();
+        assertThat(etag, is(notNullValue()));
+
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights/2").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(304, response.getStatus());
+
+        // A renamed light results in a new document
+        cs.ds.lights.get("2").item.setLabel("renamed");
+        response = commonSetup.client.target(commonSetup.basePath + "/testuser/lights/2").request()
+                .header(HttpHeaders.IF_NONE_MATCH, etag.toString()).get();
+        assertEquals(200, response.getStatus());
+        assertThat(response.readEntity(String.class), containsString("renamed"));
+    }
+
     private boolean assertHueValue(ItemCommandEvent ce, int hueValue) {
         assertThat(((HSBType) ce.getItemCommand()).getHue().intValue(), is(hueValue * 360 / HueStateColorBulb.MAX_HUE));
         return true;
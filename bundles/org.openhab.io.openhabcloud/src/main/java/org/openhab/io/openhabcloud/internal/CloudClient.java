@@ -12,6 +12,7 @@
  */
 package org.openhab.io.openhabcloud.internal;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
@@ -26,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
@@ -37,6 +39,7 @@ import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
 import org.eclipse.jetty.util.BufferUtil;
@@ -67,6 +70,29 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Time in milliseconds item updates are collected before the latest state of each item is sent
+     */
+    private static final long ITEM_UPDATE_WINDOW_MILLIS = 250;
+
+    /*
+     * Minimum size in bytes of a response body which is compressed before it is sent to the openHAB Cloud
+     */
+    private static final int COMPRESSION_THRESHOLD = 1024;
+
+    /*
+     * Response content is collected up to this size in bytes before it is sent to the openHAB Cloud
+     */
+    private static final int CONTENT_FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Content types of response bodies which are worth to be compressed
+     */
+    private static final String[] COMPRESSIBLE_CONTENT_TYPES = { "text/", "application/json",
+            "application/javascript", "application/xml", "image/svg+xml" };
+
     /*
      * Logger for this class
      */
@@ -131,6 +157,11 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the item updates which are not sent yet
+     */
+    private final ItemUpdateCoalescer itemUpdateCoalescer;
+
     /**
      * Constructor of CloudClient
      *
@@ -149,6 +180,9 @@ public class CloudClient {
         this.exposedItems = exposedItems;
         runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
+        this.itemUpdateCoalescer = new ItemUpdateCoalescer(
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD), ITEM_UPDATE_WINDOW_MILLIS,
+                this::emitItemUpdate);
     }
 
     /**
@@ -334,7 +368,7 @@ public class CloudClient {
                 logger.warn("Unsupported request method {}", requestMethod);
                 return;
             }
-            ResponseListener listener = new ResponseListener(requestId);
+            ResponseListener listener = new ResponseListener(requestId, acceptsGzip(requestHeadersJson));
             request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
@@ -363,6 +397,19 @@ public class CloudClient {
         }
     }
 
+    private boolean acceptsGzip(JSONObject requestHeadersJson) {
+        @SuppressWarnings("unchecked")
+        Iterator<String> headersIterator = requestHeadersJson.keys();
+        while (headersIterator.hasNext()) {
+            String headerName = headersIterator.next();
+            if (HttpHeader.ACCEPT_ENCODING.is(headerName)) {
+                String headerValue = requestHeadersJson.optString(headerName);
+                return headerValue.contains("gzip");
+            }
+        }
+        return false;
+    }
+
     private void handleCancelEvent(JSONObject data) {
         try {
             int requestId = data.getInt("id");
@@ -469,13 +516,22 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are collected for a short time and only the latest state
+     * of each item is sent.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        if (isConnected()) {
+            itemUpdateCoalescer.update(itemName, itemState);
+        } else {
+            logger.debug("No connection, Item update is not sent");
+        }
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -503,6 +559,8 @@ public class CloudClient {
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        // send the latest states collected in the current window while the connection is still up
+        itemUpdateCoalescer.flush();
         socket.disconnect();
     }
 
@@ -524,30 +582,108 @@ public class CloudClient {
     private class ResponseListener
             implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
+        private final boolean mAcceptsGzip;
 
-        public ResponseListener(int requestId) {
+        /*
+         * Content is collected in mBody before it is sent, if the response has a known length or is compressed.
+         * Other responses might be streams, their content is sent immediately.
+         */
+        private boolean mBuffered = false;
+        private final ByteArrayOutputStream mBody = new ByteArrayOutputStream();
+        private GZIPOutputStream mGzip;
+
+        public ResponseListener(int requestId, boolean acceptsGzip) {
             mRequestId = requestId;
+            mAcceptsGzip = acceptsGzip;
         }
 
         private JSONObject getJSONHeaders(HttpFields httpFields) {
             JSONObject headersJSON = new JSONObject();
             try {
                 for (HttpField field : httpFields) {
+                    if (mGzip != null && HttpHeader.CONTENT_LENGTH.equals(field.getHeader())) {
+                        // The length of the compressed body is not known in advance
+                        continue;
+                    }
                     headersJSON.put(field.getName(), field.getValue());
                 }
+                if (mGzip != null) {
+                    headersJSON.put(HttpHeader.CONTENT_ENCODING.asString(), "gzip");
+                    if (!httpFields.containsKey(HttpHeader.VARY.asString())) {
+                        headersJSON.put(HttpHeader.VARY.asString(), HttpHeader.ACCEPT_ENCODING.asString());
+                    }
+                }
             } catch (JSONException e) {
                 logger.warn("Error forming response headers: {}", e.getMessage());
             }
             return headersJSON;
         }
 
+        private boolean shouldCompress(HttpFields httpFields) {
+            if (!mAcceptsGzip || httpFields.containsKey(HttpHeader.CONTENT_ENCODING.asString())) {
+                return false;
+            }
+            String contentType = httpFields.get(HttpHeader.CONTENT_TYPE);
+            if (contentType == null || contentType.startsWith("text/event-stream")) {
+                return false;
+            }
+            boolean compressible = false;
+            for (String type : COMPRESSIBLE_CONTENT_TYPES) {
+                if (contentType.startsWith(type)) {
+                    compressible = true;
+                    break;
+                }
+            }
+            long contentLength = getContentLength(httpFields);
+            return compressible && (contentLength < 0 || contentLength >= COMPRESSION_THRESHOLD);
+        }
+
+        private long getContentLength(HttpFields httpFields) {
+            try {
+                return httpFields.getLongField(HttpHeader.CONTENT_LENGTH.asString());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private void sendContent(byte[] content) {
+            JSONObject responseJson = new JSONObject();
+            try {
+                responseJson.put("id", mRequestId);
+                responseJson.put("body", content);
+                socket.emit("responseContentBinary", responseJson);
+                logger.debug("Sent {} bytes of content to request {}", content.length, mRequestId);
+            } catch (JSONException e) {
+                logger.debug("{}", e.getMessage());
+            }
+        }
+
+        private void flushContent() {
+            if (mBody.size() > 0) {
+                sendContent(mBody.toByteArray());
+                mBody.reset();
+            }
+        }
+
+        private void finishContent() {
+            try {
+                if (mGzip != null) {
+                    mGzip.finish();
+                }
+            } catch (IOException e) {
+                logger.debug("Error compressing content of request {}: {}", mRequestId, e.getMessage());
+            }
+            flushContent();
+        }
+
         @Override
         public void onComplete(Result result) {
             // Remove this request from list of running requests
             runningRequests.remove(mRequestId);
+            // The remaining content has to be sent before the response is finished
+            finishContent();
             if ((result != null && result.isFailed())
                     && (result.getResponse() != null && result.getResponse().getStatus() != HttpStatus.OK_200)) {
                 if (result.getFailure() != null) {
@@ -593,14 +729,17 @@ public class CloudClient {
         @Override
         public void onContent(Response response, ByteBuffer content) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
-            JSONObject responseJson = new JSONObject();
+            if (!mBuffered) {
+                sendContent(BufferUtil.toArray(content));
+                return;
+            }
             try {
-                responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
-                socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
-            } catch (JSONException e) {
-                logger.debug("{}", e.getMessage());
+                BufferUtil.writeTo(content, mGzip != null ? mGzip : mBody);
+            } catch (IOException e) {
+                logger.debug("Error compressing content of request {}: {}", mRequestId, e.getMessage());
+            }
+            if (mBody.size() >= CONTENT_FRAME_SIZE) {
+                flushContent();
             }
         }
 
@@ -610,9 +749,18 @@ public class CloudClient {
                 logger.debug("Jetty finished receiving response header");
                 JSONObject responseJson = new JSONObject();
                 mHeadersSent = true;
+                HttpFields httpFields = response.getHeaders();
+                if (shouldCompress(httpFields)) {
+                    try {
+                        mGzip = new GZIPOutputStream(mBody);
+                    } catch (IOException e) {
+                        logger.debug("Cannot compress content of request {}: {}", mRequestId, e.getMessage());
+                    }
+                }
+                mBuffered = mGzip != null || getContentLength(httpFields) >= 0;
                 try {
                     responseJson.put("id", mRequestId);
-                    responseJson.put("headers", getJSONHeaders(response.getHeaders()));
+                    responseJson.put("headers", getJSONHeaders(httpFields));
                     responseJson.put("responseStatusCode", response.getStatus());
                     responseJson.put("responseStatusText", "OK");
                     socket.emit("responseHeader", responseJson);
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * This class collects item updates for a short time window and then sends them in one batch. Only the latest state of
+ * each item within the window is sent, so fast changing items cause at most one update per window.
+ *
+ * @author Victor Belov - Initial contribution
+ *
+ */
+public class ItemUpdateCoalescer {
+
+    /*
+     * This variable holds the latest state of each updated item since the last batch, in order of the first update
+     */
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final BiConsumer<String, String> sender;
+
+    /*
+     * This variable holds the scheduled sending of the pending updates, null if there are no pending updates
+     */
+    private ScheduledFuture<?> flushJob;
+
+    /**
+     * Constructor of ItemUpdateCoalescer
+     *
+     * @param scheduler the scheduler used to send the batches
+     * @param windowMillis the time in milliseconds updates are collected before they are sent
+     * @param sender receives the item name and state of each update of a batch
+     */
+    public ItemUpdateCoalescer(ScheduledExecutorService scheduler, long windowMillis,
+            BiConsumer<String, String> sender) {
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.sender = sender;
+    }
+
+    /**
+     * Adds an item update to the current batch. An earlier update of the same item in the batch is replaced.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public synchronized void update(String itemName, String itemState) {
+        pendingUpdates.put(itemName, itemState);
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Sends all pending updates immediately
+     */
+    public void flush() {
+        Map<String, String> batch;
+        synchronized (this) {
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                flushJob = null;
+            }
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            batch = new LinkedHashMap<>(pendingUpdates);
+            pendingUpdates.clear();
+        }
+        batch.forEach(sender);
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ItemUpdateCoalescer}.
+ *
+ * @author Victor Belov - Initial contribution
+ */
+public class ItemUpdateCoalescerTest {
+
+    private static final long WINDOW_MILLIS = 250;
+
+    /**
+     * Scheduler which does not run the scheduled jobs by itself, but when its clock is advanced
+     */
+    private static class ManualScheduler extends ScheduledThreadPoolExecutor {
+        private final List<ManualJob> jobs = new ArrayList<>();
+        private long now;
+
+        ManualScheduler() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            ManualJob job = new ManualJob(command, now + unit.toMillis(delay));
+            jobs.add(job);
+            return job;
+        }
+
+        void advance(long millis) {
+            now += millis;
+            for (ManualJob job : new ArrayList<>(jobs)) {
+                if (job.dueTime <= now) {
+                    jobs.remove(job);
+                    if (!job.isCancelled()) {
+                        job.command.run();
+                    }
+                }
+            }
+        }
+
+        int getScheduledJobCount() {
+            return (int) jobs.stream().filter(job -> !job.isCancelled()).count();
+        }
+
+        private class ManualJob implements ScheduledFuture<Object> {
+            private final Runnable command;
+            private final long dueTime;
+            private boolean cancelled;
+
+            private ManualJob(Runnable command, long dueTime) {
+                this.command = command;
+                this.dueTime = dueTime;
+            }
+
+            @Override
+            public long getDelay(TimeUnit unit) {
+                return unit.convert(dueTime - now, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public int compareTo(Delayed other) {
+                return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+            }
+
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                cancelled = true;
+                return true;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+
+            @Override
+            public boolean isDone() {
+                return cancelled || !jobs.contains(this);
+            }
+
+            @Override
+            public Object get() {
+                return null;
+            }
+
+            @Override
+            public Object get(long timeout, TimeUnit unit) {
+                return null;
+            }
+        }
+    }
+
+    private ManualScheduler scheduler;
+    private List<String> sent;
+    private ItemUpdateCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        scheduler = new ManualScheduler();
+        sent = new ArrayList<>();
+        coalescer = new ItemUpdateCoalescer(scheduler, WINDOW_MILLIS,
+                (itemName, itemState) -> sent.add(itemName + "=" + itemState));
+    }
+
+    @Test
+    public void testUpdatesAreSentAfterWindow() {
+        coalescer.update("Light", "ON");
+
+        scheduler.advance(WINDOW_MILLIS - 1);
+        assertEquals(Collections.emptyList(), sent);
+
+        scheduler.advance(1);
+        assertEquals(Arrays.asList("Light=ON"), sent);
+    }
+
+    @Test
+    public void testLastValueWinsPerItem() {
+        coalescer.update("Light", "ON");
+        coalescer.update("Temperature", "20.5");
+        coalescer.update("Light", "OFF");
+        coalescer.update("Temperature", "20.6");
+        assertEquals(1, scheduler.getScheduledJobCount());
+
+        scheduler.advance(WINDOW_MILLIS);
+        assertEquals(Arrays.asList("Light=OFF", "Temperature=20.6"), sent);
+    }
+
+    @Test
+    public void testUpdateAfterBatchStartsNewWindow() {
+        coalescer.update("Light", "ON");
+        scheduler.advance(WINDOW_MILLIS);
+        scheduler.advance(100);
+
+        coalescer.update("Light", "OFF");
+        scheduler.advance(WINDOW_MILLIS - 1);
+        assertEquals(Arrays.asList("Light=ON"), sent);
+
+        scheduler.advance(1);
+        assertEquals(Arrays.asList("Light=ON", "Light=OFF"), sent);
+    }
+
+    @Test
+    public void testFlushSendsPendingUpdatesImmediately() {
+        coalescer.update("Light", "ON");
+        coalescer.update("Light", "OFF");
+
+        coalescer.flush();
+        assertEquals(Arrays.asList("Light=OFF"), sent);
+        assertEquals(0, scheduler.getScheduledJobCount());
+
+        // nothing is sent twice when the window would have ended
+        scheduler.advance(WINDOW_MILLIS);
+        assertEquals(Arrays.asList("Light=OFF"), sent);
+    }
+
+    @Test
+    public void testFlushWithoutPendingUpdates() {
+        coalescer.flush();
+        assertEquals(Collections.emptyList(), sent);
+    }
+}
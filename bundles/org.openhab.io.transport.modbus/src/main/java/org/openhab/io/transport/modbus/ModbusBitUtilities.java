@@ -13,9 +13,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -101,6 +98,78 @@ public class ModbusBitUtilities {
      */
     public static Optional<DecimalType> extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP: {
+                float value = Float.intBitsToFloat((int) decodeLong(registers, index, type));
+                if (Float.isNaN(value) || Float.isInfinite(value)) {
+                    // floating point NaN or infinity encountered
+                    return Optional.empty();
+                }
+                return Optional.of(new DecimalType(value));
+            }
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = decodeLong(registers, index, type);
+                if (value < 0) {
+                    // value does not fit to signed long
+                    return Optional.of(new DecimalType(new BigDecimal(Long.toUnsignedString(value))));
+                }
+                return Optional.of(new DecimalType(value));
+            }
+            default:
+                return Optional.of(new DecimalType(decodeLong(registers, index, type)));
+        }
+    }
+
+    /**
+     * Read integer data from registers without intermediate objects
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}.
+     *
+     * Note that with UINT64 and UINT64_SWAP, the unsigned 64 bit value is returned as is. Values larger than
+     * {@link Long#MAX_VALUE} are returned as negative numbers, use e.g. {@link Long#toUnsignedString(long)} to
+     * interpret them.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type. Floating point types are not supported.
+     * @return value of the item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or type is floating point
+     *             type
+     */
+    public static long extractLongFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
+        if (type == ModbusConstants.ValueType.FLOAT32 || type == ModbusConstants.ValueType.FLOAT32_SWAP) {
+            throw new IllegalArgumentException(
+                    String.format("Type %s is floating point type, use extractDoubleFromRegisters", type));
+        }
+        return decodeLong(registers, index, type);
+    }
+
+    /**
+     * Read data from registers as double without intermediate objects
+     *
+     * Interpretation of <tt>index</tt> and <tt>type</tt> is the same as with
+     * {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}. Floating point NaN and
+     * infinity are returned as such. 64 bit integers might lose precision.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index
+     * @param type item type
+     * @return value of the item
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers
+     */
+    public static double extractDoubleFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
+        return decodeDouble(registers, index, type);
+    }
+
+    private static void checkBounds(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
         int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
         // each register has 16 bits
         int lastValidIndex = registers.size() * 16 - 1;
@@ -109,104 +178,64 @@ public class ModbusBitUtilities {
                     String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
                             registers.size()));
         }
+    }
+
+    private static double decodeDouble(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return Float.intBitsToFloat((int) decodeLong(registers, index, type));
+            case UINT64:
+            case UINT64_SWAP: {
+                long value = decodeLong(registers, index, type);
+                if (value >= 0) {
+                    return value;
+                }
+                // unsigned value does not fit to signed long. Halve it, keeping the lowest bit for correct rounding
+                return ((value >>> 1) | (value & 1)) * 2.0;
+            }
+            default:
+                return decodeLong(registers, index, type);
+        }
+    }
+
+    /**
+     * Decode the item from registers. Bounds must be checked by the caller.
+     *
+     * With 32 bit floating point types, raw bits of the float are returned.
+     */
+    private static long decodeLong(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
         switch (type) {
             case BIT:
-                return Optional
-                        .of(new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1));
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
             case INT8:
-                return Optional.of(new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]));
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return Optional.of(new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff));
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0)));
-            }
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
             case UINT16:
-                return Optional.of(new DecimalType(registers.getRegister(index).toUnsignedShort()));
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 3).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0)));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                try {
-                    return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0)));
-                } catch (NumberFormatException e) {
-                    // floating point NaN or infinity encountered
-                    return Optional.empty();
-                }
-            }
-            case INT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0)));
-            }
-            case UINT64_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.put(registers.getRegister(index + 3).getBytes());
-                buff.put(registers.getRegister(index + 2).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return Optional.of(
-                        new DecimalType(new BigDecimal(new BigInteger(1, buff.order(ByteOrder.BIG_ENDIAN).array()))));
-            }
+                return registers.getUnsignedShort(index);
+            case INT32:
+                return (registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case UINT32:
+            case FLOAT32:
+                return ((long) registers.getUnsignedShort(index) << 16) | registers.getUnsignedShort(index + 1);
+            case INT32_SWAP:
+                return (registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case UINT32_SWAP:
+            case FLOAT32_SWAP:
+                return ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
+            case INT64:
+            case UINT64:
+                return ((long) registers.getUnsignedShort(index) << 48)
+                        | ((long) registers.getUnsignedShort(index + 1) << 32)
+                        | ((long) registers.getUnsignedShort(index + 2) << 16) | registers.getUnsignedShort(index + 3);
+            case INT64_SWAP:
+            case UINT64_SWAP:
+                return ((long) registers.getUnsignedShort(index + 3) << 48)
+                        | ((long) registers.getUnsignedShort(index + 2) << 32)
+                        | ((long) registers.getUnsignedShort(index + 1) << 16) | registers.getUnsignedShort(index);
             default:
                 throw new IllegalArgumentException(type.getConfigValue());
         }
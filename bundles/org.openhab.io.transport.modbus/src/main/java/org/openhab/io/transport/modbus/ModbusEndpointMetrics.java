@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Transaction metrics of a single Modbus endpoint
+ *
+ * Counters are cumulative since the metrics were created or last reset. Rates are calculated over a sliding window,
+ * see {@link #getRateWindowSeconds()}.
+ *
+ * Byte counts include unit id, function code and data of the Modbus messages, but not the transport specific framing
+ * (MBAP header with TCP and UDP, CRC with serial RTU).
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public interface ModbusEndpointMetrics {
+
+    /**
+     * Get number of successful transactions
+     */
+    public long getTransactionCount();
+
+    /**
+     * Get number of failed transaction attempts, including failures to connect
+     */
+    public long getErrorCount();
+
+    /**
+     * Get number of failed transaction attempts, per exception type
+     *
+     * @return map with simple class names of the exceptions as keys
+     */
+    public Map<String, Long> getErrorCountsByType();
+
+    /**
+     * Get number of bytes sent to the endpoint in successful transactions
+     */
+    public long getBytesSent();
+
+    /**
+     * Get number of bytes received from the endpoint in successful transactions
+     */
+    public long getBytesReceived();
+
+    /**
+     * Get the length of the sliding window used to calculate rates, in seconds
+     */
+    public int getRateWindowSeconds();
+
+    /**
+     * Get successful transactions per second over the rate window
+     */
+    public double getTransactionsPerSecond();
+
+    /**
+     * Get bytes sent and received per second over the rate window
+     */
+    public double getBytesPerSecond();
+
+    /**
+     * Get upper bounds (inclusive) of the latency histogram buckets, in milliseconds
+     *
+     * The histogram has one more bucket than there are bounds, for latencies exceeding the last bound.
+     *
+     * @return bucket bounds in ascending order
+     */
+    public long[] getLatencyBucketBoundsMillis();
+
+    /**
+     * Get histogram of transaction latencies, that is, the time from sending the request until the response has been
+     * received
+     *
+     * @return number of successful transactions per latency bucket
+     */
+    public long[] getLatencyHistogram();
+
+    /**
+     * Get latency estimated from the histogram for the given percentile
+     *
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket containing the percentile in milliseconds, -1 if the percentile falls into
+     *         the last bucket, or 0 when there are no transactions
+     */
+    public long getLatencyPercentileMillis(double percentile);
+
+    /**
+     * Get number of completed operations, i.e. tasks executed including all of their tries
+     */
+    public long getOperationCount();
+
+    /**
+     * Get average total time of an operation, in milliseconds
+     */
+    public double getAverageOperationMillis();
+
+    /**
+     * Get average time an operation spends acquiring and releasing connections, in milliseconds
+     */
+    public double getAverageConnectionMillis();
+
+    /**
+     * Get average time an operation spends in transactions with the slave, in milliseconds
+     */
+    public double getAverageTransactionMillis();
+
+    /**
+     * Get average time an operation spends in callbacks, in milliseconds
+     */
+    public double getAverageCallbackMillis();
+
+    /**
+     * Get number of operations currently waiting in the queue of the endpoint
+     */
+    public int getQueueDepth();
+
+    /**
+     * Get the largest number of operations that have been waiting in the queue at the same time
+     */
+    public int getMaxQueueDepth();
+
+    /**
+     * Get average time operations have waited in the queue before their execution started, in milliseconds
+     */
+    public double getAverageQueueWaitMillis();
+
+    /**
+     * Get the longest time an operation has waited in the queue before its execution started, in milliseconds
+     */
+    public long getMaxQueueWaitMillis();
+
+    /**
+     * Get number of regular polls dropped since the previous poll of the same task was still waiting in the queue
+     */
+    public long getDroppedPollCount();
+
+    /**
+     * Get number of writes replaced by a later write to the same registers or coils while waiting in the queue
+     */
+    public long getMergedWriteCount();
+}
@@ -12,6 +12,8 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -60,7 +62,8 @@ public interface ModbusManager {
      * background.
      *
      * @param task
-     * @return future representing the task
+     * @return future representing the task. The future is done once the write has been executed, and cancelling it
+     *         prevents the write unless its execution has started already.
      */
     public ScheduledFuture<?> submitOneTimeWrite(WriteTask task);
 
@@ -104,4 +107,23 @@ public interface ModbusManager {
      */
     public Set<PollTask> getRegisteredRegularPolls();
 
+    /**
+     * Get transaction metrics of all endpoints that have been communicated with
+     *
+     * Implementations not collecting metrics return an empty map.
+     *
+     * @return map of metrics, per endpoint. The metrics are updated live as new transactions are executed.
+     */
+    public default Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Reset transaction metrics of all endpoints
+     *
+     * Implementations not collecting metrics do nothing.
+     */
+    public default void resetEndpointMetrics() {
+    }
+
 }
@@ -42,6 +42,19 @@ public interface ModbusRegisterArray extends Iterable<ModbusRegister> {
      */
     int size();
 
+    /**
+     * Return value of the register at the given index, interpreted as unsigned 16 bit integer
+     *
+     * Implementations are encouraged to override this to avoid creating intermediate register objects.
+     *
+     * @param index the index of the register
+     * @return unsigned value of the register, between 0 and 65535 (inclusive)
+     * @throws IndexOutOfBoundsException if the index is out of bounds.
+     */
+    default int getUnsignedShort(int index) {
+        return getRegister(index).toUnsignedShort();
+    }
+
     /**
      * Iterator over all the registers
      */
@@ -61,6 +61,12 @@ public class EndpointPoolConfiguration {
      */
     private int connectTimeoutMillis;
 
+    /**
+     * Maximum number of requests sent to the endpoint before waiting for the responses. Only applies to TCP
+     * endpoints, and only to regular polls. Default of 1 means that requests are not pipelined.
+     */
+    private int maxOutstandingTransactions = 1;
+
     private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
 
     static {
@@ -107,10 +113,19 @@ public class EndpointPoolConfiguration {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
 
+    public int getMaxOutstandingTransactions() {
+        return maxOutstandingTransactions;
+    }
+
+    public void setMaxOutstandingTransactions(int maxOutstandingTransactions) {
+        this.maxOutstandingTransactions = maxOutstandingTransactions;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(2149, 3117).append(interTransactionDelayMillis).append(interConnectDelayMillis)
-                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis).toHashCode();
+                .append(connectMaxTries).append(reconnectAfterMillis).append(connectTimeoutMillis)
+                .append(maxOutstandingTransactions).toHashCode();
     }
 
     @Override
@@ -119,7 +134,8 @@ public class EndpointPoolConfiguration {
                 .append("interTransactionDelayMillis", interTransactionDelayMillis)
                 .append("interConnectDelayMillis", interConnectDelayMillis).append("connectMaxTries", connectMaxTries)
                 .append("reconnectAfterMillis", reconnectAfterMillis)
-                .append("connectTimeoutMillis", connectTimeoutMillis).toString();
+                .append("connectTimeoutMillis", connectTimeoutMillis)
+                .append("maxOutstandingTransactions", maxOutstandingTransactions).toString();
     }
 
     @Override
@@ -137,7 +153,8 @@ public class EndpointPoolConfiguration {
         return new EqualsBuilder().append(interTransactionDelayMillis, rhs.interTransactionDelayMillis)
                 .append(interConnectDelayMillis, rhs.interConnectDelayMillis)
                 .append(connectMaxTries, rhs.connectMaxTries).append(reconnectAfterMillis, rhs.reconnectAfterMillis)
-                .append(connectTimeoutMillis, rhs.connectTimeoutMillis).isEquals();
+                .append(connectTimeoutMillis, rhs.connectTimeoutMillis)
+                .append(maxOutstandingTransactions, rhs.maxOutstandingTransactions).isEquals();
     }
 
 }
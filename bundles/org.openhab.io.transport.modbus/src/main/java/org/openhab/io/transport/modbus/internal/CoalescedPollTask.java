@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegister;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusSlaveErrorResponseException;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Poll task executing several compatible poll tasks with a single Modbus transaction
+ *
+ * The request of this task covers the data of all member tasks. The data received is split back to the member
+ * tasks, each member callback receiving exactly the registers or bits it requested.
+ *
+ * If the slave responds with illegal data address or value to the combined request, the error is not propagated to
+ * the members. Instead, {@link #isFallbackRequired()} returns true and the caller should execute the members one by
+ * one.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final ModbusReadRequestBlueprint request;
+    private final List<PollTask> members;
+    private final ModbusReadCallback callback = new SplittingCallback();
+    private volatile boolean fallbackRequired;
+
+    /**
+     * Construct coalesced task
+     *
+     * @param endpoint endpoint shared by all the members
+     * @param request request covering the data of all the members
+     * @param members member tasks, all having the same unit id and function code as the request
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request,
+            List<PollTask> members) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.members = Collections.unmodifiableList(members);
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return callback;
+    }
+
+    /**
+     * Get the member tasks served by this task
+     *
+     * @return unmodifiable list of the member tasks
+     */
+    public List<PollTask> getMembers() {
+        return members;
+    }
+
+    /**
+     * Whether the slave rejected the combined request such that members should be executed individually
+     *
+     * @return true if slave responded with an exception response indicating illegal address range
+     */
+    public boolean isFallbackRequired() {
+        return fallbackRequired;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("members", members.size()).toString();
+    }
+
+    /**
+     * Callback splitting the combined response to the member callbacks
+     */
+    private class SplittingCallback implements ModbusReadCallback {
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint combinedRequest, ModbusRegisterArray registers) {
+            for (PollTask member : members) {
+                ModbusReadCallback memberCallback = member.getCallback();
+                if (memberCallback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                int offset = memberRequest.getReference() - combinedRequest.getReference();
+                ModbusRegister[] slice = new ModbusRegister[memberRequest.getDataLength()];
+                for (int i = 0; i < slice.length; i++) {
+                    slice[i] = registers.getRegister(offset + i);
+                }
+                try {
+                    memberCallback.onRegisters(memberRequest, new BasicModbusRegisterArray(slice));
+                } catch (RuntimeException e) {
+                    logger.warn("Callback {} for request {} failed unexpectedly: {} {}", memberCallback,
+                            memberRequest, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint combinedRequest, BitArray bits) {
+            for (PollTask member : members) {
+                ModbusReadCallback memberCallback = member.getCallback();
+                if (memberCallback == null) {
+                    continue;
+                }
+                ModbusReadRequestBlueprint memberRequest = member.getRequest();
+                int offset = memberRequest.getReference() - combinedRequest.getReference();
+                BasicBitArray slice = new BasicBitArray(memberRequest.getDataLength());
+                for (int i = 0; i < slice.size(); i++) {
+                    slice.setBit(i, bits.getBit(offset + i));
+                }
+                try {
+                    memberCallback.onBits(memberRequest, slice);
+                } catch (RuntimeException e) {
+                    logger.warn("Callback {} for request {} failed unexpectedly: {} {}", memberCallback,
+                            memberRequest, e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint combinedRequest, Exception error) {
+            if (members.size() > 1 && error instanceof ModbusSlaveErrorResponseException) {
+                int code = ((ModbusSlaveErrorResponseException) error).getExceptionCode();
+                if (code == ModbusSlaveErrorResponseException.ILLEGAL_DATA_ACCESS
+                        || code == ModbusSlaveErrorResponseException.ILLEGAL_DATA_VALUE) {
+                    fallbackRequired = true;
+                    return;
+                }
+            }
+            for (PollTask member : members) {
+                ModbusReadCallback memberCallback = member.getCallback();
+                if (memberCallback == null) {
+                    continue;
+                }
+                try {
+                    memberCallback.onError(member.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.warn("Callback {} for request {} failed unexpectedly: {} {}", memberCallback,
+                            member.getRequest(), e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+
+/**
+ * Thread-safe collector of {@link ModbusEndpointMetrics}
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointMetrics implements ModbusEndpointMetrics {
+
+    private static final long[] LATENCY_BUCKET_BOUNDS_MILLIS = { 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000 };
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder transactions = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS_MILLIS.length + 1);
+
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder operationMillis = new LongAdder();
+    private final LongAdder connectionMillis = new LongAdder();
+    private final LongAdder transactionMillis = new LongAdder();
+    private final LongAdder callbackMillis = new LongAdder();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAccumulator maxQueueDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder queueWaits = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder droppedPolls = new LongAdder();
+    private final LongAdder mergedWrites = new LongAdder();
+
+    /**
+     * Per-second buckets of the rate window, indexed by second modulo window length
+     */
+    private final long[] windowSeconds = new long[RATE_WINDOW_SECONDS];
+    private final long[] windowTransactions = new long[RATE_WINDOW_SECONDS];
+    private final long[] windowBytes = new long[RATE_WINDOW_SECONDS];
+    private long createdSecond;
+
+    public EndpointMetrics() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Construct metrics with custom clock
+     *
+     * @param nanoClock clock returning nanoseconds, like {@link System#nanoTime()}
+     */
+    public EndpointMetrics(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.createdSecond = currentSecond();
+        resetWindow();
+    }
+
+    /**
+     * Record successful transaction
+     *
+     * @param latencyNanos time from sending the request until the response was received
+     * @param sent number of bytes sent
+     * @param received number of bytes received
+     */
+    public void recordTransaction(long latencyNanos, int sent, int received) {
+        transactions.increment();
+        bytesSent.add(sent);
+        bytesReceived.add(received);
+        latencyHistogram.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMillis(latencyNanos)));
+        long second = currentSecond();
+        synchronized (windowSeconds) {
+            int index = (int) Math.floorMod(second, (long) RATE_WINDOW_SECONDS);
+            if (windowSeconds[index] != second) {
+                windowSeconds[index] = second;
+                windowTransactions[index] = 0;
+                windowBytes[index] = 0;
+            }
+            windowTransactions[index]++;
+            windowBytes[index] += sent + received;
+        }
+    }
+
+    /**
+     * Record failed transaction attempt
+     *
+     * @param error error of the attempt
+     */
+    public void recordError(Throwable error) {
+        errors.computeIfAbsent(error.getClass().getSimpleName(), key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record completed operation
+     *
+     * @param timer timing of the operation
+     */
+    public void recordOperation(AggregateStopWatch timer) {
+        operations.increment();
+        operationMillis.add(timer.total.getTotalTimeMillis());
+        connectionMillis.add(timer.connection.getTotalTimeMillis());
+        transactionMillis.add(timer.transaction.getTotalTimeMillis());
+        callbackMillis.add(timer.callback.getTotalTimeMillis());
+    }
+
+    /**
+     * Record the number of operations waiting in the queue, after it has changed
+     *
+     * @param depth number of queued operations
+     */
+    public void recordQueueDepth(int depth) {
+        queueDepth.set(depth);
+        maxQueueDepth.accumulate(depth);
+    }
+
+    /**
+     * Record operation taken from the queue for execution
+     *
+     * @param waitNanos time the operation waited in the queue
+     */
+    public void recordQueueWait(long waitNanos) {
+        queueWaits.increment();
+        queueWaitNanos.add(waitNanos);
+        maxQueueWaitNanos.accumulate(waitNanos);
+    }
+
+    /**
+     * Record regular poll dropped since it was queued already
+     */
+    public void recordDroppedPoll() {
+        droppedPolls.increment();
+    }
+
+    /**
+     * Record queued write replaced by a later write
+     */
+    public void recordMergedWrite() {
+        mergedWrites.increment();
+    }
+
+    /**
+     * Reset all metrics
+     *
+     * The current queue depth is kept, since the operations are still waiting in the queue.
+     */
+    public void reset() {
+        transactions.reset();
+        bytesSent.reset();
+        bytesReceived.reset();
+        errors.clear();
+        for (int i = 0; i < latencyHistogram.length(); i++) {
+            latencyHistogram.set(i, 0);
+        }
+        operations.reset();
+        operationMillis.reset();
+        connectionMillis.reset();
+        transactionMillis.reset();
+        callbackMillis.reset();
+        maxQueueDepth.reset();
+        maxQueueDepth.accumulate(queueDepth.get());
+        queueWaits.reset();
+        queueWaitNanos.reset();
+        maxQueueWaitNanos.reset();
+        droppedPolls.reset();
+        mergedWrites.reset();
+        synchronized (windowSeconds) {
+            createdSecond = currentSecond();
+            resetWindow();
+        }
+    }
+
+    @Override
+    public long getTransactionCount() {
+        return transactions.sum();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public Map<String, Long> getErrorCountsByType() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    @Override
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    @Override
+    public int getRateWindowSeconds() {
+        return RATE_WINDOW_SECONDS;
+    }
+
+    @Override
+    public double getTransactionsPerSecond() {
+        return windowRate(windowTransactions);
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return windowRate(windowBytes);
+    }
+
+    @Override
+    public long[] getLatencyBucketBoundsMillis() {
+        return LATENCY_BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[latencyHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latencyHistogram.get(i);
+        }
+        return histogram;
+    }
+
+    @Override
+    public long getLatencyPercentileMillis(double percentile) {
+        long[] histogram = getLatencyHistogram();
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * Math.max(0, Math.min(100, percentile)) / 100.0);
+        long cumulative = 0;
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MILLIS.length; i++) {
+            cumulative += histogram[i];
+            if (cumulative >= threshold) {
+                return LATENCY_BUCKET_BOUNDS_MILLIS[i];
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long getOperationCount() {
+        return operations.sum();
+    }
+
+    @Override
+    public double getAverageOperationMillis() {
+        return average(operationMillis);
+    }
+
+    @Override
+    public double getAverageConnectionMillis() {
+        return average(connectionMillis);
+    }
+
+    @Override
+    public double getAverageTransactionMillis() {
+        return average(transactionMillis);
+    }
+
+    @Override
+    public double getAverageCallbackMillis() {
+        return average(callbackMillis);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        return (int) maxQueueDepth.get();
+    }
+
+    @Override
+    public double getAverageQueueWaitMillis() {
+        long count = queueWaits.sum();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMicros(queueWaitNanos.sum()) / count / 1000;
+    }
+
+    @Override
+    public long getMaxQueueWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get());
+    }
+
+    @Override
+    public long getDroppedPollCount() {
+        return droppedPolls.sum();
+    }
+
+    @Override
+    public long getMergedWriteCount() {
+        return mergedWrites.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{transactions: %d, errors: %d, tps: %.2f, bytes/s: %.1f, latency p50: %d ms, p95: %d ms, operations: %d, queue depth: %d, queue wait avg: %.1f ms, max: %d ms}",
+                getTransactionCount(), getErrorCount(), getTransactionsPerSecond(), getBytesPerSecond(),
+                getLatencyPercentileMillis(50), getLatencyPercentileMillis(95), getOperationCount(), getQueueDepth(),
+                getAverageQueueWaitMillis(), getMaxQueueWaitMillis());
+    }
+
+    private static int bucketIndex(long latencyMillis) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (latencyMillis <= LATENCY_BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    private double average(LongAdder millis) {
+        long count = operations.sum();
+        return count == 0 ? 0 : (double) millis.sum() / count;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong());
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            windowSeconds[i] = Long.MIN_VALUE;
+            windowTransactions[i] = 0;
+            windowBytes[i] = 0;
+        }
+    }
+
+    /**
+     * Calculate rate over the completed seconds of the window. While the metrics are younger than the window, the rate
+     * is calculated over the lifetime of the metrics.
+     */
+    private double windowRate(long[] counts) {
+        long now = currentSecond();
+        synchronized (windowSeconds) {
+            long seconds = Math.max(1, Math.min(RATE_WINDOW_SECONDS, now - createdSecond));
+            long sum = 0;
+            for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+                long age = now - windowSeconds[i];
+                if (age >= 1 && age <= seconds) {
+                    sum += counts[i];
+                }
+            }
+            return (double) sum / seconds;
+        }
+    }
+}
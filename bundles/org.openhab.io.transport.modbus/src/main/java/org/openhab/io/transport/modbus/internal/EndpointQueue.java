@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusWriteCoilRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprintVisitor;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.WriteTask;
+
+/**
+ * Queue of operations waiting for execution with a single endpoint
+ *
+ * Writes are served before polls. A write queued right after another write to the same registers or coils replaces
+ * it, see {@link MergedWriteTask}. A regular poll that is queued again before its previous execution has started is
+ * dropped, since executing the same poll twice in a row would not produce any new information.
+ *
+ * The depth of the queue and how long operations wait in the queue before their execution starts are recorded to the
+ * {@link EndpointMetrics} of the endpoint.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointQueue {
+
+    private static class QueuedWrite {
+        private WriteTask task;
+        private final long queuedNanos;
+
+        private QueuedWrite(WriteTask task, long queuedNanos) {
+            this.task = task;
+            this.queuedNanos = queuedNanos;
+        }
+    }
+
+    private final Deque<QueuedWrite> writes = new ArrayDeque<>();
+    private final Map<PollTask, Long> polls = new LinkedHashMap<>();
+    private final AtomicBoolean executing = new AtomicBoolean();
+    private final EndpointMetrics metrics;
+
+    /**
+     * @param metrics metrics of the endpoint, to record the queue metrics to
+     */
+    public EndpointQueue(EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Queue regular poll
+     *
+     * @param task poll task
+     * @return false if the task was already queued, and the poll was dropped
+     */
+    public synchronized boolean offerPoll(PollTask task) {
+        if (polls.containsKey(task)) {
+            metrics.recordDroppedPoll();
+            return false;
+        }
+        polls.put(task, System.nanoTime());
+        recordDepth();
+        return true;
+    }
+
+    /**
+     * Queue write
+     *
+     * If the previously queued write targets the same registers or coils, it is replaced by a
+     * {@link MergedWriteTask}.
+     *
+     * @param task write task
+     */
+    public synchronized void offerWrite(WriteTask task) {
+        QueuedWrite last = writes.peekLast();
+        if (last != null && isSameTarget(last.task.getRequest(), task.getRequest())) {
+            last.task = new MergedWriteTask(last.task, task);
+            metrics.recordMergedWrite();
+            return;
+        }
+        writes.addLast(new QueuedWrite(task, System.nanoTime()));
+        recordDepth();
+    }
+
+    /**
+     * Take the next write for execution
+     *
+     * @return next write, or null if no writes are queued
+     */
+    public synchronized @Nullable WriteTask pollWrite() {
+        QueuedWrite write = writes.pollFirst();
+        if (write == null) {
+            return null;
+        }
+        metrics.recordQueueWait(System.nanoTime() - write.queuedNanos);
+        recordDepth();
+        return write.task;
+    }
+
+    /**
+     * Remove write from the queue, e.g. when it is cancelled
+     *
+     * If the write has been merged with other writes, it is removed from the {@link MergedWriteTask}, and the request
+     * of the latest remaining write is sent instead.
+     *
+     * @param task write task, as offered to the queue
+     * @return false if the write is not queued anymore, e.g. since its execution has started already
+     */
+    public synchronized boolean removeWrite(WriteTask task) {
+        for (Iterator<QueuedWrite> iterator = writes.iterator(); iterator.hasNext();) {
+            QueuedWrite write = iterator.next();
+            if (write.task == task) {
+                iterator.remove();
+                recordDepth();
+                return true;
+            }
+            if (write.task instanceof MergedWriteTask) {
+                List<WriteTask> tasks = ((MergedWriteTask) write.task).getTasks();
+                WriteTask remaining = null;
+                boolean found = false;
+                for (WriteTask merged : tasks) {
+                    if (merged == task) {
+                        found = true;
+                    } else {
+                        remaining = remaining == null ? merged : new MergedWriteTask(remaining, merged);
+                    }
+                }
+                if (found && remaining != null) {
+                    write.task = remaining;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take all queued writes, e.g. to fail them when the queue is discarded
+     *
+     * @return queued writes in the order they were queued
+     */
+    public synchronized List<WriteTask> drainWrites() {
+        List<WriteTask> drained = new ArrayList<>(writes.size());
+        writes.forEach(write -> drained.add(write.task));
+        writes.clear();
+        recordDepth();
+        return drained;
+    }
+
+    /**
+     * Take the longest waiting polls for execution
+     *
+     * @param maxPolls maximum number of polls to take
+     * @return at most maxPolls queued polls in the order they were queued
+     */
+    public synchronized List<PollTask> drainPolls(int maxPolls) {
+        long now = System.nanoTime();
+        List<PollTask> batch = new ArrayList<>(Math.min(maxPolls, polls.size()));
+        for (Iterator<Map.Entry<PollTask, Long>> iterator = polls.entrySet().iterator(); iterator.hasNext()
+                && batch.size() < maxPolls;) {
+            Map.Entry<PollTask, Long> queued = iterator.next();
+            metrics.recordQueueWait(now - queued.getValue());
+            batch.add(queued.getKey());
+            iterator.remove();
+        }
+        recordDepth();
+        return batch;
+    }
+
+    /**
+     * Remove poll from the queue, e.g. when it is unregistered
+     *
+     * @param task poll task
+     */
+    public synchronized void removePoll(PollTask task) {
+        if (polls.remove(task) != null) {
+            recordDepth();
+        }
+    }
+
+    /**
+     * Remove all polls from the queue, e.g. when the queue is discarded
+     */
+    public synchronized void clearPolls() {
+        polls.clear();
+        recordDepth();
+    }
+
+    public synchronized boolean hasWrites() {
+        return !writes.isEmpty();
+    }
+
+    public synchronized boolean isEmpty() {
+        return writes.isEmpty() && polls.isEmpty();
+    }
+
+    /**
+     * Try to reserve the queue for execution by the calling thread
+     *
+     * @return true if the calling thread should execute the queue, and call {@link #finishExecuting()} afterwards
+     */
+    public boolean tryStartExecuting() {
+        return executing.compareAndSet(false, true);
+    }
+
+    public void finishExecuting() {
+        executing.set(false);
+    }
+
+    /**
+     * Get number of operations currently waiting in the queue
+     */
+    public synchronized int getDepth() {
+        return writes.size() + polls.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return new StringBuilder("EndpointQueue(depth=").append(getDepth()).append(", writes=").append(writes.size())
+                .append(", polls=").append(polls.size()).append(", executing=").append(executing.get()).append(')')
+                .toString();
+    }
+
+    private void recordDepth() {
+        metrics.recordQueueDepth(getDepth());
+    }
+
+    private static boolean isSameTarget(ModbusWriteRequestBlueprint a, ModbusWriteRequestBlueprint b) {
+        return a.getUnitID() == b.getUnitID() && a.getFunctionCode() == b.getFunctionCode()
+                && a.getReference() == b.getReference() && getDataLength(a) == getDataLength(b);
+    }
+
+    private static int getDataLength(ModbusWriteRequestBlueprint request) {
+        int[] length = new int[1];
+        request.accept(new ModbusWriteRequestBlueprintVisitor() {
+
+            @Override
+            public void visit(ModbusWriteRegisterRequestBlueprint blueprint) {
+                length[0] = blueprint.getRegisters().size();
+            }
+
+            @Override
+            public void visit(ModbusWriteCoilRequestBlueprint blueprint) {
+                length[0] = blueprint.getCoils().size();
+            }
+        });
+        return length[0];
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write task replacing queued writes to the same registers or coils
+ *
+ * Only the request of the latest write is sent to the slave. The outcome of that request is reported to the callbacks
+ * of all the merged writes, each callback receiving its own request.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class MergedWriteTask implements WriteTask {
+
+    private static final StandardToStringStyle TO_STRING_STYLE = new StandardToStringStyle();
+    static {
+        TO_STRING_STYLE.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(MergedWriteTask.class);
+
+    private final WriteTask latest;
+    private final List<WriteTask> tasks;
+    private final ModbusWriteCallback callback = new ForwardingCallback();
+
+    /**
+     * Construct merged task
+     *
+     * @param previous previously queued write, possibly merged task itself
+     * @param latest write superseding the previous write
+     */
+    public MergedWriteTask(WriteTask previous, WriteTask latest) {
+        List<WriteTask> tasks = new ArrayList<>();
+        if (previous instanceof MergedWriteTask) {
+            tasks.addAll(((MergedWriteTask) previous).getTasks());
+        } else {
+            tasks.add(previous);
+        }
+        tasks.add(latest);
+        this.latest = latest;
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    /**
+     * Get the merged tasks, oldest first
+     *
+     * @return unmodifiable list of the merged tasks
+     */
+    public List<WriteTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return latest.getEndpoint();
+    }
+
+    @Override
+    public ModbusWriteRequestBlueprint getRequest() {
+        return latest.getRequest();
+    }
+
+    @Override
+    public ModbusWriteCallback getCallback() {
+        return callback;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, TO_STRING_STYLE).append("latest", latest).append("merged", tasks.size())
+                .toString();
+    }
+
+    /**
+     * Callback forwarding the outcome of the latest request to all the merged tasks
+     */
+    private class ForwardingCallback implements ModbusWriteCallback {
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            for (WriteTask task : tasks) {
+                ModbusWriteCallback taskCallback = task.getCallback();
+                if (taskCallback == null) {
+                    continue;
+                }
+                try {
+                    taskCallback.onError(task.getRequest(), error);
+                } catch (RuntimeException e) {
+                    logger.warn("Callback {} for request {} failed unexpectedly: {} {}", taskCallback,
+                            task.getRequest(), e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            for (WriteTask task : tasks) {
+                ModbusWriteCallback taskCallback = task.getCallback();
+                if (taskCallback == null) {
+                    continue;
+                }
+                try {
+                    taskCallback.onWriteResponse(task.getRequest(), response);
+                } catch (RuntimeException e) {
+                    logger.warn("Callback {} for request {} failed unexpectedly: {} {}", taskCallback,
+                            task.getRequest(), e.getClass().getName(), e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -13,7 +13,10 @@
 package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -37,6 +40,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.io.transport.modbus.ModbusCallback;
 import org.openhab.io.transport.modbus.ModbusConnectionException;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
 import org.openhab.io.transport.modbus.ModbusManager;
 import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
@@ -56,6 +60,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer.CoalescingKey;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -68,9 +73,11 @@ import net.wimpi.modbus.ModbusException;
 import net.wimpi.modbus.ModbusIOException;
 import net.wimpi.modbus.ModbusSlaveException;
 import net.wimpi.modbus.io.ModbusTransaction;
+import net.wimpi.modbus.msg.ExceptionResponse;
 import net.wimpi.modbus.msg.ModbusRequest;
 import net.wimpi.modbus.msg.ModbusResponse;
 import net.wimpi.modbus.net.ModbusSlaveConnection;
+import net.wimpi.modbus.net.TCPMasterConnection;
 
 /**
  * Main implementation of ModbusManager
@@ -79,6 +86,17 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * Since transactions to single endpoint are executed one after another anyways, regular polls of an endpoint are
+ * executed by one thread at a time. Poll tasks becoming due while the endpoint is busy are queued, and compatible
+ * queued tasks are combined to single transactions using {@link PollTaskCoalescer}. With TCP endpoints configured
+ * to allow multiple outstanding transactions (see {@link EndpointPoolConfiguration#getMaxOutstandingTransactions()}),
+ * the queued requests are pipelined over single connection using {@link ModbusTCPPipeline}.
+ *
+ * One-off writes go through the same per-endpoint {@link EndpointQueue} and are executed before any queued polls.
+ * Consecutive writes to the same registers are merged, and regular polls which are still waiting for execution are
+ * not queued again. Writes still waiting in the queue when the manager is deactivated are failed with their error
+ * callbacks.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -203,13 +221,17 @@ public class ModbusManagerImpl implements ModbusManager {
                     request.getFunctionCode(), libRequest.getHexMessage(), operationId);
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
+            long transactionStart = System.nanoTime();
             timer.transaction.timeRunnableWithModbusException(() -> transaction.execute());
+            long latencyNanos = System.nanoTime() - transactionStart;
             ModbusResponse response = transaction.getResponse();
             logger.trace("Response for read request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, operationId);
             checkFunctionCode(response, libRequest, operationId);
             checkResponseSize(response, request, operationId);
+            getEndpointMetrics(endpoint).recordTransaction(latencyNanos, libRequest.getOutputLength(),
+                    response.getOutputLength());
             if (callback != null) {
                 timer.callback.timeRunnable(
                         () -> ModbusLibraryWrapper.invokeCallbackWithResponse(request, callback, response));
@@ -242,12 +264,16 @@ public class ModbusManagerImpl implements ModbusManager {
 
             // Might throw ModbusIOException (I/O error) or ModbusSlaveException (explicit exception response from
             // slave)
+            long transactionStart = System.nanoTime();
             timer.transaction.timeRunnableWithModbusException(() -> transaction.execute());
+            long latencyNanos = System.nanoTime() - transactionStart;
             ModbusResponse response = transaction.getResponse();
             logger.trace("Response for write request (FC={}, transaction ID={}): {} [operation ID {}]",
                     response.getFunctionCode(), response.getTransactionID(), response.getHexMessage(), operationId);
             checkTransactionId(response, libRequest, operationId);
             checkFunctionCode(response, libRequest, operationId);
+            getEndpointMetrics(endpoint).recordTransaction(latencyNanos, libRequest.getOutputLength(),
+                    response.getOutputLength());
             if (callback != null) {
                 timer.callback.timeRunnable(
                         () -> invokeCallbackWithResponse(request, callback, new ModbusResponseImpl(response)));
@@ -280,6 +306,15 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     private static final String MODBUS_POLLER_THREAD_POOL_NAME = "modbusManagerPollerThreadPool";
 
+    /**
+     * Maximum number of queued polls executed by one task of the thread pool
+     */
+    private static final int MAX_POLLS_PER_BATCH = 32;
+    /**
+     * Maximum number of queued writes executed before each poll transaction
+     */
+    private static final int MAX_WRITES_PER_BATCH = 16;
+
     /**
      * Log message with WARN level if the task queues exceed this limit.
      *
@@ -297,6 +332,20 @@ public class ModbusManagerImpl implements ModbusManager {
 
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
+    private final PollTaskCoalescer pollTaskCoalescer = new PollTaskCoalescer(0);
+
+    /**
+     * Writes and regular polls waiting for execution, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointQueue> endpointQueues = new ConcurrentHashMap<>();
+    /**
+     * Transaction metrics, per endpoint
+     */
+    private final Map<ModbusSlaveEndpoint, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Unit id and function code combinations for which the slave has rejected combined requests
+     */
+    private final Map<ModbusSlaveEndpoint, Set<CoalescingKey>> coalescingRejected = new ConcurrentHashMap<>();
 
     private volatile long lastQueueMonitorLog = -1;
 
@@ -476,6 +525,7 @@ public class ModbusManagerImpl implements ModbusManager {
         if (!connection.isPresent()) {
             logger.warn("Could not connect to endpoint {} -- aborting request {} [operation ID {}]", endpoint, request,
                     operationId);
+            getEndpointMetrics(endpoint).recordError(new ModbusConnectionException(endpoint));
             if (callback != null) {
                 timer.callback.timeRunnable(
                         () -> invokeCallbackWithError(request, callback, new ModbusConnectionException(endpoint)));
@@ -515,7 +565,13 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        final boolean registered;
+        if (task instanceof CoalescedPollTask) {
+            registered = ((CoalescedPollTask) task).getMembers().stream().anyMatch(scheduledPollTasks::containsKey);
+        } else {
+            registered = scheduledPollTasks.containsKey(task);
+        }
+        if (!registered) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -558,6 +614,7 @@ public class ModbusManagerImpl implements ModbusManager {
         AtomicReference<@Nullable Exception> lastError = new AtomicReference<>();
         long retryDelay = Optional.ofNullable(connectionFactory.getEndpointPoolConfiguration(endpoint))
                 .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
+        EndpointMetrics metrics = getEndpointMetrics(endpoint);
 
         if (maxTries <= 0) {
             throw new IllegalArgumentException("maxTries should be positive");
@@ -624,6 +681,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     break;
                 } catch (IOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.recordError(e);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -641,6 +699,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusIOException e) {
                     lastError.set(new ModbusSlaveIOExceptionImpl(e));
+                    metrics.recordError(e);
                     // IO exception occurred, we re-establish new connection hoping it would fix the issue (e.g.
                     // broken pipe on write)
                     if (willRetry) {
@@ -658,6 +717,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusSlaveException e) {
                     lastError.set(new ModbusSlaveErrorResponseExceptionImpl(e));
+                    metrics.recordError(e);
                     // Slave returned explicit error response, no reason to re-establish new connection
                     if (willRetry) {
                         logger.warn(
@@ -672,6 +732,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 } catch (ModbusUnexpectedTransactionIdException | ModbusUnexpectedResponseFunctionCodeException
                         | ModbusUnexpectedResponseSizeException e) {
                     lastError.set(e);
+                    metrics.recordError(e);
                     // transaction error details already logged
                     if (willRetry) {
                         logger.warn(
@@ -688,6 +749,7 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } catch (ModbusException e) {
                     lastError.set(e);
+                    metrics.recordError(e);
                     // Some other (unexpected) exception occurred
                     if (willRetry) {
                         logger.warn(
@@ -734,6 +796,7 @@ public class ModbusManagerImpl implements ModbusManager {
             timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
             timer.suspendAllRunning();
+            metrics.recordOperation(timer);
             logger.debug("Modbus operation ended, timing info: {} [operation ID {}]", timer, operationId);
         }
     }
@@ -769,7 +832,7 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
                         started);
                 try {
-                    executeOperation(task, false, pollOperation);
+                    executeRegularPoll(task);
                 } catch (Exception e) {
                     // We want to catch all unexpected exceptions since all unhandled exceptions make
                     // ScheduledExecutorService halt the polling. It is better to print out the exception, and try again
@@ -790,6 +853,253 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    private EndpointMetrics getEndpointMetrics(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, e -> new EndpointMetrics());
+    }
+
+    private EndpointQueue getEndpointQueue(ModbusSlaveEndpoint endpoint) {
+        return endpointQueues.computeIfAbsent(endpoint, e -> new EndpointQueue(getEndpointMetrics(e)));
+    }
+
+    /**
+     * Execute regular poll
+     *
+     * The task is queued to the endpoint queue, and the queue is executed unless some other thread is already doing
+     * that.
+     *
+     * @param task task to execute
+     */
+    private void executeRegularPoll(PollTask task) {
+        EndpointQueue queue = getEndpointQueue(task.getEndpoint());
+        if (!queue.offerPoll(task)) {
+            logger.debug("Poll task {} is still waiting for execution, dropping the duplicate poll", task);
+        }
+        executeEndpointQueue(task.getEndpoint(), queue);
+    }
+
+    /**
+     * Execute a bounded amount of operations queued for the endpoint, unless some other thread is executing them
+     * already
+     *
+     * Writes are executed first. Then at most {@link #MAX_POLLS_PER_BATCH} polls are executed as a batch, combining
+     * compatible tasks to single transactions. Writes queued while executing the batch are executed before the next
+     * poll transaction. Operations left in the queue are executed by a new task of the thread pool, so that the calling
+     * thread, e.g. a regular poll, is not kept busy with the operations of other tasks.
+     *
+     * @param endpoint endpoint of the queue
+     * @param queue queue to execute
+     */
+    private void executeEndpointQueue(ModbusSlaveEndpoint endpoint, EndpointQueue queue) {
+        if (!queue.tryStartExecuting()) {
+            return;
+        }
+        try {
+            executeQueuedWrites(queue);
+            List<PollTask> batch = queue.drainPolls(MAX_POLLS_PER_BATCH);
+            if (!batch.isEmpty()) {
+                executePollBatch(endpoint, batch, queue);
+            }
+        } finally {
+            queue.finishExecuting();
+        }
+        // Includes operations queued by other threads just before we released the queue
+        if (!queue.isEmpty()) {
+            ScheduledExecutorService executor = scheduledThreadPoolExecutor;
+            if (executor != null) {
+                executor.execute(() -> executeEndpointQueue(endpoint, queue));
+            }
+        }
+    }
+
+    private void executeQueuedWrites(EndpointQueue queue) {
+        WriteTask task;
+        for (int i = 0; i < MAX_WRITES_PER_BATCH && (task = queue.pollWrite()) != null; i++) {
+            try {
+                executeOperation(task, true, writeOperation);
+                OneTimeWriteFuture.completeTask(task, null);
+            } catch (Exception e) {
+                logger.warn("Execution of write task {} failed unexpectedly. Ignoring exception.", task, e);
+                OneTimeWriteFuture.completeTask(task, e);
+            }
+        }
+    }
+
+    private void executePollBatch(ModbusSlaveEndpoint endpoint, List<PollTask> batch, EndpointQueue queue) {
+        List<PollTask> registered = new ArrayList<>(batch.size());
+        for (PollTask task : batch) {
+            if (scheduledPollTasks.containsKey(task)) {
+                registered.add(task);
+            }
+        }
+        Set<CoalescingKey> rejected = coalescingRejected.getOrDefault(endpoint, Collections.emptySet());
+        List<PollTask> planned = pollTaskCoalescer.plan(registered, key -> !rejected.contains(key));
+        if (planned.size() < registered.size()) {
+            logger.debug("Combined {} poll tasks of endpoint {} to {} transactions", registered.size(), endpoint,
+                    planned.size());
+        }
+        List<PollTask> sequential = planned;
+        int maxOutstandingTransactions = getMaxOutstandingTransactions(endpoint);
+        if (maxOutstandingTransactions > 1 && planned.size() > 1) {
+            sequential = new ArrayList<>();
+            for (int index = 0; index < planned.size(); index += maxOutstandingTransactions) {
+                executeQueuedWrites(queue);
+                List<PollTask> chunk = planned.subList(index,
+                        Math.min(index + maxOutstandingTransactions, planned.size()));
+                sequential.addAll(executePipelined(endpoint, chunk));
+            }
+        }
+        for (PollTask task : sequential) {
+            executeQueuedWrites(queue);
+            executePlannedPoll(task);
+            if (task instanceof CoalescedPollTask && ((CoalescedPollTask) task).isFallbackRequired()) {
+                CoalescedPollTask coalesced = (CoalescedPollTask) task;
+                logger.info(
+                        "Slave rejected combined request {} of endpoint {}. Not combining requests with same unit id and function code anymore.",
+                        coalesced.getRequest(), endpoint);
+                coalescingRejected.computeIfAbsent(endpoint, e -> ConcurrentHashMap.newKeySet())
+                        .add(new CoalescingKey(coalesced.getRequest()));
+                coalesced.getMembers().forEach(this::executePlannedPoll);
+            }
+        }
+    }
+
+    private int getMaxOutstandingTransactions(ModbusSlaveEndpoint endpoint) {
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        if (!(endpoint instanceof ModbusTCPSlaveEndpoint) || connectionFactory == null) {
+            return 1;
+        }
+        EndpointPoolConfiguration configuration = connectionFactory.getEndpointPoolConfiguration(endpoint);
+        return configuration == null ? 1 : configuration.getMaxOutstandingTransactions();
+    }
+
+    /**
+     * Execute poll tasks by pipelining the requests over single TCP connection
+     *
+     * Only successful responses are handled here. Tasks that fail for any reason (e.g. exception response, I/O error
+     * or unexpected response) are returned to the caller and should be executed one by one, with the normal retry and
+     * error reporting logic. Tasks that have been unregistered are skipped.
+     *
+     * Consecutive requests are sent no sooner than the inter transaction delay of the endpoint apart, like with
+     * sequential transactions.
+     *
+     * @param endpoint TCP endpoint
+     * @param tasks tasks to execute, at most the maximum number of outstanding transactions of the endpoint
+     * @return tasks that were not successfully executed
+     */
+    private List<PollTask> executePipelined(ModbusSlaveEndpoint endpoint, List<PollTask> tasks) {
+        AggregateStopWatch timer = new AggregateStopWatch();
+        timer.total.resume();
+        String operationId = timer.operationId;
+        List<PollTask> remaining = new ArrayList<>();
+        EndpointMetrics metrics = getEndpointMetrics(endpoint);
+        ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
+        long interTransactionDelay = Optional
+                .ofNullable(connectionFactory == null ? null : connectionFactory.getEndpointPoolConfiguration(endpoint))
+                .map(cfg -> cfg.getInterTransactionDelayMillis()).orElse(0L);
+        Optional<ModbusSlaveConnection> connection = Optional.empty();
+        try {
+            List<PollTask> registered = new ArrayList<>(tasks.size());
+            for (PollTask task : tasks) {
+                try {
+                    // Check poll task is still registered (this is all asynchronous)
+                    verifyTaskIsRegistered(task);
+                    registered.add(task);
+                } catch (PollTaskUnregistered e) {
+                    logger.debug("Poll task was unregistered -- not executing the poll: {} [operation ID {}]",
+                            e.getMessage(), operationId);
+                }
+            }
+            if (registered.isEmpty()) {
+                return remaining;
+            }
+            connection = timer.connection.timeSupplier(() -> borrowConnection(endpoint));
+            if (!connection.isPresent() || scheduledThreadPoolExecutor == null) {
+                // Errors are reported to the callbacks when the tasks are executed one by one
+                remaining.addAll(registered);
+                return remaining;
+            }
+            TCPMasterConnection tcpConnection = (TCPMasterConnection) connection.get();
+            List<ModbusRequest> libRequests = new ArrayList<>(registered.size());
+            for (PollTask task : registered) {
+                libRequests.add(ModbusLibraryWrapper.createRequest(task.getRequest()));
+            }
+            logger.trace("Pipelining {} requests to endpoint {} [operation ID {}]", libRequests.size(), endpoint,
+                    operationId);
+            ModbusResponse[] responses;
+            long transactionStart = System.nanoTime();
+            timer.transaction.resume();
+            try {
+                responses = ModbusTCPPipeline.execute(tcpConnection, libRequests, interTransactionDelay);
+            } catch (ModbusIOException | ModbusUnexpectedTransactionIdException e) {
+                metrics.recordError(e);
+                logger.debug(
+                        "Pipelined requests to endpoint {} failed, executing the requests one by one. Error details: {} {} [operation ID {}]",
+                        endpoint, e.getClass().getName(), e.getMessage(), operationId);
+                // Responses might still be in flight, the connection cannot be reused
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+                remaining.addAll(registered);
+                return remaining;
+            } catch (InterruptedException e) {
+                logger.warn("Poll task was canceled -- not executing/proceeding with the polls: {} [operation ID {}]",
+                        e.getMessage(), operationId);
+                // Requests might have been sent already, the connection cannot be reused
+                timer.connection.timeConsumer(c -> invalidate(endpoint, c), connection);
+                connection = Optional.empty();
+                return remaining;
+            } finally {
+                timer.transaction.suspend();
+            }
+            long latencyNanos = System.nanoTime() - transactionStart;
+            for (int i = 0; i < registered.size(); i++) {
+                PollTask task = registered.get(i);
+                ModbusResponse response = responses[i];
+                // Failed tasks are accounted for in the metrics when they are executed one by one
+                if (response instanceof ExceptionResponse) {
+                    remaining.add(task);
+                    continue;
+                }
+                try {
+                    checkFunctionCode(response, libRequests.get(i), operationId);
+                    checkResponseSize(response, task.getRequest(), operationId);
+                } catch (ModbusUnexpectedResponseFunctionCodeException | ModbusUnexpectedResponseSizeException e) {
+                    remaining.add(task);
+                    continue;
+                }
+                metrics.recordTransaction(latencyNanos, libRequests.get(i).getOutputLength(),
+                        response.getOutputLength());
+                ModbusReadCallback callback = task.getCallback();
+                if (callback != null) {
+                    timer.callback.timeRunnable(() -> {
+                        try {
+                            ModbusLibraryWrapper.invokeCallbackWithResponse(task.getRequest(), callback, response);
+                        } catch (RuntimeException e) {
+                            logger.warn("Callback {} for request {} failed unexpectedly: {} {}", callback,
+                                    task.getRequest(), e.getClass().getName(), e.getMessage(), e);
+                        }
+                    });
+                }
+            }
+            return remaining;
+        } finally {
+            timer.connection.timeConsumer(c -> returnConnection(endpoint, c), connection);
+            timer.suspendAllRunning();
+            metrics.recordOperation(timer);
+            logger.debug(
+                    "Pipelined Modbus operation ended, {} of {} tasks left for individual execution, timing info: {} [operation ID {}]",
+                    remaining.size(), tasks.size(), timer, operationId);
+        }
+    }
+
+    private void executePlannedPoll(PollTask task) {
+        try {
+            executeOperation(task, false, pollOperation);
+        } catch (Exception e) {
+            // Make sure one failing task does not prevent executing the rest of the batch
+            logger.warn("Execution of poll task {} failed unexpectedly. Ignoring exception.", task, e);
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -814,6 +1124,10 @@ public class ModbusManagerImpl implements ModbusManager {
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
             future.cancel(true);
+            EndpointQueue queue = endpointQueues.get(task.getEndpoint());
+            if (queue != null) {
+                queue.removePoll(task);
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -838,11 +1152,14 @@ public class ModbusManagerImpl implements ModbusManager {
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
+        EndpointQueue queue = getEndpointQueue(task.getEndpoint());
+        OneTimeWriteFuture future = new OneTimeWriteFuture(queue, task);
+        queue.offerWrite(future);
+        scheduledThreadPoolExecutor.schedule(() -> {
             long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
-            executeOperation(task, true, writeOperation);
+            logger.debug("Will now execute queued operations of endpoint {} (one-off write task {}), waited in "
+                    + "thread pool for {}", task.getEndpoint(), task, millisInThreadPoolWaiting);
+            executeEndpointQueue(task.getEndpoint(), queue);
         }, 0L, TimeUnit.MILLISECONDS);
         return future;
     }
@@ -878,6 +1195,16 @@ public class ModbusManagerImpl implements ModbusManager {
         return this.scheduledPollTasks.keySet();
     }
 
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusEndpointMetrics> getEndpointMetrics() {
+        return Collections.unmodifiableMap(endpointMetrics);
+    }
+
+    @Override
+    public void resetEndpointMetrics() {
+        endpointMetrics.values().forEach(EndpointMetrics::reset);
+    }
+
     @Activate
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
@@ -921,10 +1248,30 @@ public class ModbusManagerImpl implements ModbusManager {
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
             connectionFactory = null;
+            endpointQueues.forEach((endpoint, queue) -> {
+                queue.drainWrites().forEach(this::failDiscardedWrite);
+                queue.clearPolls();
+            });
+            endpointQueues.clear();
+            coalescingRejected.clear();
             logger.debug("Modbus manager deactivated");
         }
     }
 
+    private void failDiscardedWrite(WriteTask task) {
+        logger.debug("Manager deactivated, aborting queued write task {}", task);
+        ModbusWriteCallback callback = task.getCallback();
+        if (callback != null) {
+            try {
+                invokeCallbackWithError(task.getRequest(), callback, new ModbusConnectionException(task.getEndpoint()));
+            } catch (RuntimeException e) {
+                logger.warn("Callback {} for write task {} failed unexpectedly: {} {}", callback, task,
+                        e.getClass().getName(), e.getMessage(), e);
+            }
+        }
+        OneTimeWriteFuture.completeTask(task, null);
+    }
+
     private void logTaskQueueInfo() {
         synchronized (pollMonitorLogger) {
             ScheduledExecutorService scheduledThreadPoolExecutor = this.scheduledThreadPoolExecutor;
@@ -944,6 +1291,9 @@ public class ModbusManagerImpl implements ModbusManager {
                         task.getRequest().getDataLength(), future.isDone(), future.isCancelled(),
                         future.getDelay(TimeUnit.MILLISECONDS), task);
             });
+            this.endpointQueues.forEach((endpoint, queue) -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {}: {}", endpoint, queue);
+            });
             if (scheduledThreadPoolExecutor instanceof ThreadPoolExecutor) {
                 ThreadPoolExecutor executor = ((ThreadPoolExecutor) scheduledThreadPoolExecutor);
                 pollMonitorLogger.trace(
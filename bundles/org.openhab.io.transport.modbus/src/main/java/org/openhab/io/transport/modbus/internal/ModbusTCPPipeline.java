@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
+import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
+
+import net.wimpi.modbus.ModbusIOException;
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * Executes several Modbus/TCP requests over single connection without waiting for the response in between
+ *
+ * All requests are written first, after which the responses are read. Responses are matched to the requests using
+ * the transaction id of the MBAP header, so the slave is free to respond in any order. Consecutive requests are written
+ * the inter transaction delay apart, so that the slave is not sent requests faster than with sequential transactions.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTCPPipeline {
+
+    private static final int MAX_TRANSACTION_ID = 0xFFFF;
+
+    private static final AtomicInteger transactionIdCounter = new AtomicInteger();
+
+    private ModbusTCPPipeline() {
+    }
+
+    /**
+     * Execute the requests
+     *
+     * The transaction ids of the requests are overwritten with unique values.
+     *
+     * @param connection connection to use
+     * @param requests requests to send
+     * @param interTransactionDelayMillis minimum time between writing two consecutive requests
+     * @return responses, in the same order as the requests
+     * @throws ModbusIOException on I/O errors, e.g. when slave does not respond in time
+     * @throws ModbusUnexpectedTransactionIdException when response transaction id does not match any of the requests
+     * @throws InterruptedException when interrupted while waiting between the requests
+     */
+    public static ModbusResponse[] execute(TCPMasterConnection connection, List<ModbusRequest> requests,
+            long interTransactionDelayMillis)
+            throws ModbusIOException, ModbusUnexpectedTransactionIdException, InterruptedException {
+        ModbusTransport transport = connection.getModbusTransport();
+        Map<Integer, Integer> indexByTransactionId = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ModbusRequest request = requests.get(i);
+            int transactionId = nextTransactionId();
+            request.setTransactionID(transactionId);
+            request.setHeadless(false);
+            indexByTransactionId.put(transactionId, i);
+        }
+        @Nullable
+        Long lastWriteMillis = null;
+        for (ModbusRequest request : requests) {
+            ModbusSlaveConnectionFactoryImpl.waitAtleast(lastWriteMillis, interTransactionDelayMillis);
+            transport.writeMessage(request);
+            lastWriteMillis = System.currentTimeMillis();
+        }
+
+        ModbusResponse[] responses = new ModbusResponse[requests.size()];
+        for (int received = 0; received < requests.size(); received++) {
+            ModbusResponse response = transport.readResponse();
+            Integer index = indexByTransactionId.remove(response.getTransactionID());
+            if (index == null) {
+                int expected = indexByTransactionId.keySet().stream().findFirst().orElse(-1);
+                throw new ModbusUnexpectedTransactionIdException(expected, response.getTransactionID());
+            }
+            responses[index] = response;
+        }
+        return responses;
+    }
+
+    private static int nextTransactionId() {
+        // transaction id is 16 bit unsigned integer. Zero is avoided since some slaves treat it specially
+        return transactionIdCounter.updateAndGet(id -> id >= MAX_TRANSACTION_ID ? 1 : id + 1);
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * One-time write queued to an {@link EndpointQueue}, and the future representing it
+ *
+ * The future is done once the execution of the write has ended, i.e. after its callback has been called. Cancelling
+ * the future removes the write from the queue, which is only possible as long as its execution has not started.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class OneTimeWriteFuture extends CompletableFuture<@Nullable Void>
+        implements ScheduledFuture<@Nullable Void>, WriteTask {
+
+    private final EndpointQueue queue;
+    private final WriteTask task;
+
+    /**
+     * Construct future of a write
+     *
+     * @param queue queue the write is offered to
+     * @param task the write
+     */
+    public OneTimeWriteFuture(EndpointQueue queue, WriteTask task) {
+        this.queue = queue;
+        this.task = task;
+    }
+
+    /**
+     * Complete the future of the given task, and of the tasks merged into it
+     *
+     * @param task task taken from the queue
+     * @param error unexpected error of the execution, or null if the execution ended normally
+     */
+    public static void completeTask(WriteTask task, @Nullable Throwable error) {
+        if (task instanceof MergedWriteTask) {
+            ((MergedWriteTask) task).getTasks().forEach(merged -> completeTask(merged, error));
+        } else if (task instanceof OneTimeWriteFuture) {
+            if (error == null) {
+                ((OneTimeWriteFuture) task).complete(null);
+            } else {
+                ((OneTimeWriteFuture) task).completeExceptionally(error);
+            }
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (!queue.removeWrite(this)) {
+            return false;
+        }
+        return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return 0;
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return task.getEndpoint();
+    }
+
+    @Override
+    public ModbusWriteRequestBlueprint getRequest() {
+        return task.getRequest();
+    }
+
+    @Override
+    public @Nullable ModbusWriteCallback getCallback() {
+        return task.getCallback();
+    }
+
+    @Override
+    public int getMaxTries() {
+        return task.getMaxTries();
+    }
+
+    @Override
+    public String toString() {
+        return task.toString();
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+
+/**
+ * Planner combining poll tasks of a single endpoint to as few Modbus transactions as possible
+ *
+ * Poll tasks are combined when they share unit id and function code, and their data ranges overlap or are adjacent
+ * (or separated by at most <code>maxGap</code> items). The combined range is never longer than the maximum amount of
+ * data allowed in a single Modbus PDU: 125 registers, or 2000 coils/discrete inputs.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class PollTaskCoalescer {
+
+    /**
+     * Maximum number of registers in read holding registers or read input registers request
+     */
+    public static final int MAX_REGISTERS_PER_REQUEST = 125;
+
+    /**
+     * Maximum number of bits in read coils or read discrete inputs request
+     */
+    public static final int MAX_BITS_PER_REQUEST = 2000;
+
+    /**
+     * Key for grouping compatible tasks
+     */
+    public static class CoalescingKey {
+        private final int unitId;
+        private final ModbusReadFunctionCode functionCode;
+
+        public CoalescingKey(ModbusReadRequestBlueprint request) {
+            this.unitId = request.getUnitID();
+            this.functionCode = request.getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitId, functionCode);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            CoalescingKey other = (CoalescingKey) obj;
+            return unitId == other.unitId && functionCode == other.functionCode;
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("CoalescingKey(unitId=").append(unitId).append(", functionCode=")
+                    .append(functionCode).append(')').toString();
+        }
+    }
+
+    private final int maxGap;
+
+    /**
+     * Construct planner
+     *
+     * @param maxGap maximum number of unrequested registers/bits read in between two tasks to combine them. Use 0 to
+     *            combine only overlapping and adjacent ranges.
+     */
+    public PollTaskCoalescer(int maxGap) {
+        if (maxGap < 0) {
+            throw new IllegalArgumentException("maxGap should be non-negative");
+        }
+        this.maxGap = maxGap;
+    }
+
+    /**
+     * Get maximum number of registers/bits in a single request with the given function code
+     *
+     * @param functionCode read function code
+     * @return maximum data length allowed by the protocol
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_REQUEST;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return MAX_REGISTERS_PER_REQUEST;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Plan the transactions for the given tasks
+     *
+     * Tasks that cannot be combined with any other task are returned as such. Combined tasks are returned as
+     * {@link CoalescedPollTask}.
+     *
+     * @param tasks tasks to plan, all sharing the same endpoint
+     * @param coalescingAllowed predicate telling whether tasks with given key can be combined
+     * @return tasks to execute, covering all the given tasks exactly once
+     */
+    public List<PollTask> plan(Collection<PollTask> tasks, Predicate<CoalescingKey> coalescingAllowed) {
+        List<PollTask> planned = new ArrayList<>(tasks.size());
+        Map<CoalescingKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            CoalescingKey key = new CoalescingKey(task.getRequest());
+            if (!coalescingAllowed.test(key)) {
+                planned.add(task);
+                continue;
+            }
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(task);
+        }
+
+        for (List<PollTask> group : groups.values()) {
+            if (group.size() == 1) {
+                planned.add(group.get(0));
+                continue;
+            }
+            group.sort(Comparator.<PollTask> comparingInt(task -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            int maxLength = getMaxDataLength(group.get(0).getRequest().getFunctionCode());
+
+            List<PollTask> members = new ArrayList<>();
+            int start = 0;
+            int end = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int taskStart = request.getReference();
+                int taskEnd = taskStart + request.getDataLength();
+                if (!members.isEmpty() && taskStart <= end + maxGap && Math.max(end, taskEnd) - start <= maxLength) {
+                    members.add(task);
+                    end = Math.max(end, taskEnd);
+                    continue;
+                }
+                if (!members.isEmpty()) {
+                    planned.add(toTask(members, start, end));
+                }
+                members = new ArrayList<>();
+                members.add(task);
+                start = taskStart;
+                end = taskEnd;
+            }
+            planned.add(toTask(members, start, end));
+        }
+        return planned;
+    }
+
+    private static PollTask toTask(List<PollTask> members, int start, int end) {
+        PollTask first = members.get(0);
+        if (members.size() == 1) {
+            return first;
+        }
+        int maxTries = members.stream().mapToInt(PollTask::getMaxTries).max().orElse(1);
+        ModbusReadRequestBlueprint template = first.getRequest();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(template.getUnitID(),
+                template.getFunctionCode(), start, end - start, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, members);
+    }
+}
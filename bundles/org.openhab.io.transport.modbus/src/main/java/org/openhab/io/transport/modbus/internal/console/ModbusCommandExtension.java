@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.internal.console;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.io.console.Console;
+import org.eclipse.smarthome.io.console.extensions.AbstractConsoleCommandExtension;
+import org.eclipse.smarthome.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.io.transport.modbus.ModbusEndpointMetrics;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link ModbusCommandExtension} provides console commands for inspecting the Modbus transport
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ConsoleCommandExtension.class)
+public class ModbusCommandExtension extends AbstractConsoleCommandExtension {
+
+    private static final String SUBCMD_METRICS = "metrics";
+    private static final String SUBCMD_RESET_METRICS = "resetMetrics";
+
+    private final ModbusManager manager;
+
+    @Activate
+    public ModbusCommandExtension(final @Reference ModbusManager manager) {
+        super("modbus", "Interact with the Modbus transport.");
+        this.manager = manager;
+    }
+
+    @Override
+    public void execute(String[] args, Console console) {
+        if (args.length == 0) {
+            printUsage(console);
+            return;
+        }
+        switch (args[0]) {
+            case SUBCMD_METRICS:
+                printMetrics(console, args.length > 1 ? args[1] : null);
+                break;
+            case SUBCMD_RESET_METRICS:
+                manager.resetEndpointMetrics();
+                console.println("Modbus metrics reset");
+                break;
+            default:
+                console.println("Unknown command '" + args[0] + "'");
+                printUsage(console);
+                break;
+        }
+    }
+
+    @Override
+    public List<String> getUsages() {
+        return Arrays.asList(new String[] {
+                buildCommandUsage(SUBCMD_METRICS + " [<filter>]",
+                        "lists transaction and queue metrics of endpoints, optionally only endpoints containing the filter text"),
+                buildCommandUsage(SUBCMD_RESET_METRICS, "resets transaction and queue metrics of all endpoints") });
+    }
+
+    private void printMetrics(Console console, @Nullable String filter) {
+        List<Entry<ModbusSlaveEndpoint, ModbusEndpointMetrics>> entries = new ArrayList<>(
+                manager.getEndpointMetrics().entrySet());
+        entries.sort(Comparator.comparing(entry -> entry.getKey().toString()));
+        boolean found = false;
+        for (Entry<ModbusSlaveEndpoint, ModbusEndpointMetrics> entry : entries) {
+            String endpoint = entry.getKey().toString();
+            if (filter != null && !endpoint.contains(filter)) {
+                continue;
+            }
+            found = true;
+            printEndpointMetrics(console, endpoint, entry.getValue());
+        }
+        if (!found) {
+            console.println("No Modbus metrics available");
+        }
+    }
+
+    private void printEndpointMetrics(Console console, String endpoint, ModbusEndpointMetrics metrics) {
+        console.println(endpoint);
+        console.println(String.format("  transactions: %d, errors: %d, sent: %d bytes, received: %d bytes",
+                metrics.getTransactionCount(), metrics.getErrorCount(), metrics.getBytesSent(),
+                metrics.getBytesReceived()));
+        console.println(String.format("  last %d s: %.2f transactions/s, %.1f bytes/s", metrics.getRateWindowSeconds(),
+                metrics.getTransactionsPerSecond(), metrics.getBytesPerSecond()));
+        console.println(String.format(
+                "  operations: %d, average total: %.1f ms, connection: %.1f ms, transaction: %.1f ms, callback: %.1f ms",
+                metrics.getOperationCount(), metrics.getAverageOperationMillis(),
+                metrics.getAverageConnectionMillis(), metrics.getAverageTransactionMillis(),
+                metrics.getAverageCallbackMillis()));
+        console.println("  latency: " + formatHistogram(metrics));
+        console.println(String.format(
+                "  queue: depth %d (max %d), wait average %.1f ms (max %d ms), dropped polls: %d, merged writes: %d",
+                metrics.getQueueDepth(), metrics.getMaxQueueDepth(), metrics.getAverageQueueWaitMillis(),
+                metrics.getMaxQueueWaitMillis(), metrics.getDroppedPollCount(), metrics.getMergedWriteCount()));
+        Map<String, Long> errors = metrics.getErrorCountsByType();
+        if (!errors.isEmpty()) {
+            StringBuilder builder = new StringBuilder("  errors by type:");
+            errors.forEach((type, count) -> builder.append(' ').append(type).append('=').append(count));
+            console.println(builder.toString());
+        }
+    }
+
+    private static String formatHistogram(ModbusEndpointMetrics metrics) {
+        long[] bounds = metrics.getLatencyBucketBoundsMillis();
+        long[] histogram = metrics.getLatencyHistogram();
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < histogram.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(i < bounds.length ? "<=" + bounds[i] : ">" + bounds[bounds.length - 1]).append("ms: ")
+                    .append(histogram[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Optional;
+import java.util.Random;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Tests for the primitive extraction methods of {@link ModbusBitUtilities}
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+public class BitUtilitiesExtractPrimitivesFromRegistersTest {
+
+    private static final int REGISTER_COUNT = 16;
+
+    private static ModbusRegisterArray randomRegisters(Random random) {
+        int[] values = new int[REGISTER_COUNT];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(0x10000);
+        }
+        return new BasicModbusRegisterArray(values);
+    }
+
+    private static int itemCount(ValueType type) {
+        return type.getBits() >= 16 ? REGISTER_COUNT - type.getBits() / 16 + 1 : REGISTER_COUNT * 16 / type.getBits();
+    }
+
+    private static boolean isFloat(ValueType type) {
+        return type == ValueType.FLOAT32 || type == ValueType.FLOAT32_SWAP;
+    }
+
+    @Test
+    public void testPrimitivesMatchStateForAllTypes() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            ModbusRegisterArray registers = randomRegisters(random);
+            for (ValueType type : ValueType.values()) {
+                for (int index = 0; index < itemCount(type); index++) {
+                    Optional<DecimalType> state = ModbusBitUtilities.extractStateFromRegisters(registers, index, type);
+                    double doubleValue = ModbusBitUtilities.extractDoubleFromRegisters(registers, index, type);
+                    if (!state.isPresent()) {
+                        assertTrue(isFloat(type));
+                        assertTrue(Double.isNaN(doubleValue) || Double.isInfinite(doubleValue));
+                        continue;
+                    }
+                    assertThat(type + "@" + index, doubleValue, is(equalTo(state.get().doubleValue())));
+                    if (!isFloat(type)) {
+                        long longValue = ModbusBitUtilities.extractLongFromRegisters(registers, index, type);
+                        if (type == ValueType.UINT64 || type == ValueType.UINT64_SWAP) {
+                            assertThat(type + "@" + index, Long.toUnsignedString(longValue),
+                                    is(equalTo(state.get().toBigDecimal().toPlainString())));
+                        } else {
+                            assertThat(type + "@" + index, new DecimalType(longValue), is(equalTo(state.get())));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUnsigned64() {
+        ModbusRegisterArray registers = new BasicModbusRegisterArray(0xffff, 0xffff, 0xffff, 0xfffe);
+        assertThat(ModbusBitUtilities.extractLongFromRegisters(registers, 0, ValueType.UINT64), is(equalTo(-2L)));
+        assertThat(ModbusBitUtilities.extractDoubleFromRegisters(registers, 0, ValueType.UINT64),
+                is(equalTo(18446744073709551614.0)));
+        assertThat(ModbusBitUtilities.extractStateFromRegisters(registers, 0, ValueType.UINT64).get(),
+                is(equalTo(new DecimalType("18446744073709551614"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongWithFloatType() {
+        ModbusBitUtilities.extractLongFromRegisters(new BasicModbusRegisterArray(1, 2), 0, ValueType.FLOAT32);
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
+import org.openhab.io.transport.modbus.internal.EndpointMetrics;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+public class EndpointMetricsTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+    private final EndpointMetrics metrics = new EndpointMetrics(clock::get);
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    public void testCountersAndHistogram() {
+        metrics.recordTransaction(TimeUnit.MILLISECONDS.toNanos(3), 6, 9);
+        metrics.recordTransaction(TimeUnit.MILLISECONDS.toNanos(40), 6, 9);
+        metrics.recordTransaction(TimeUnit.MILLISECONDS.toNanos(42), 6, 9);
+        metrics.recordTransaction(TimeUnit.SECONDS.toNanos(10), 6, 9);
+
+        assertThat(metrics.getTransactionCount(), is(equalTo(4L)));
+        assertThat(metrics.getBytesSent(), is(equalTo(24L)));
+        assertThat(metrics.getBytesReceived(), is(equalTo(36L)));
+
+        long[] bounds = metrics.getLatencyBucketBoundsMillis();
+        long[] histogram = metrics.getLatencyHistogram();
+        assertThat(histogram.length, is(equalTo(bounds.length + 1)));
+        assertThat(histogram[0], is(equalTo(1L)));
+        assertThat(histogram[3], is(equalTo(2L)));
+        assertThat(histogram[bounds.length], is(equalTo(1L)));
+
+        assertThat(metrics.getLatencyPercentileMillis(25), is(equalTo(5L)));
+        assertThat(metrics.getLatencyPercentileMillis(50), is(equalTo(50L)));
+        assertThat(metrics.getLatencyPercentileMillis(100), is(equalTo(-1L)));
+    }
+
+    @Test
+    public void testErrorsByType() {
+        metrics.recordError(new IOException());
+        metrics.recordError(new IOException());
+        metrics.recordError(new ModbusUnexpectedTransactionIdException(1, 2));
+
+        Map<String, Long> expected = new HashMap<>();
+        expected.put("IOException", 2L);
+        expected.put("ModbusUnexpectedTransactionIdException", 1L);
+        assertThat(metrics.getErrorCountsByType(), is(equalTo(expected)));
+        assertThat(metrics.getErrorCount(), is(equalTo(3L)));
+    }
+
+    @Test
+    public void testRates() {
+        advanceSeconds(10);
+        for (int i = 0; i < 20; i++) {
+            metrics.recordTransaction(0, 5, 5);
+        }
+        advanceSeconds(1);
+        // window is limited to the lifetime of the metrics
+        assertThat(metrics.getTransactionsPerSecond(), is(equalTo(20.0 / 11)));
+        assertThat(metrics.getBytesPerSecond(), is(equalTo(200.0 / 11)));
+
+        advanceSeconds(metrics.getRateWindowSeconds());
+        assertThat(metrics.getTransactionsPerSecond(), is(equalTo(0.0)));
+        assertThat(metrics.getTransactionCount(), is(equalTo(20L)));
+    }
+
+    @Test
+    public void testQueueMetrics() {
+        metrics.recordQueueDepth(1);
+        metrics.recordQueueDepth(3);
+        metrics.recordQueueDepth(2);
+        metrics.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.recordDroppedPoll();
+        metrics.recordMergedWrite();
+        metrics.recordMergedWrite();
+
+        assertThat(metrics.getQueueDepth(), is(equalTo(2)));
+        assertThat(metrics.getMaxQueueDepth(), is(equalTo(3)));
+        assertThat(metrics.getAverageQueueWaitMillis(), is(equalTo(20.0)));
+        assertThat(metrics.getMaxQueueWaitMillis(), is(equalTo(30L)));
+        assertThat(metrics.getDroppedPollCount(), is(equalTo(1L)));
+        assertThat(metrics.getMergedWriteCount(), is(equalTo(2L)));
+
+        metrics.reset();
+        // operations still waiting in the queue are not affected by the reset
+        assertThat(metrics.getQueueDepth(), is(equalTo(2)));
+        assertThat(metrics.getMaxQueueDepth(), is(equalTo(2)));
+        assertThat(metrics.getAverageQueueWaitMillis(), is(equalTo(0.0)));
+        assertThat(metrics.getMaxQueueWaitMillis(), is(equalTo(0L)));
+        assertThat(metrics.getDroppedPollCount(), is(equalTo(0L)));
+        assertThat(metrics.getMergedWriteCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testReset() {
+        metrics.recordTransaction(0, 5, 5);
+        metrics.recordError(new IOException());
+        metrics.reset();
+
+        assertThat(metrics.getTransactionCount(), is(equalTo(0L)));
+        assertThat(metrics.getErrorCount(), is(equalTo(0L)));
+        assertThat(metrics.getLatencyPercentileMillis(50), is(equalTo(0L)));
+        advanceSeconds(1);
+        assertThat(metrics.getTransactionsPerSecond(), is(equalTo(0.0)));
+    }
+}
@@ -0,0 +1,256 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.WriteTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointMetrics;
+import org.openhab.io.transport.modbus.internal.EndpointQueue;
+import org.openhab.io.transport.modbus.internal.MergedWriteTask;
+import org.openhab.io.transport.modbus.internal.OneTimeWriteFuture;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+public class EndpointQueueTest {
+
+    private static class RecordingCallback implements ModbusWriteCallback {
+        private final List<ModbusWriteRequestBlueprint> responses = new ArrayList<>();
+        private final List<Exception> errors = new ArrayList<>();
+
+        @Override
+        public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+            responses.add(request);
+        }
+
+        @Override
+        public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+            errors.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final EndpointMetrics metrics = new EndpointMetrics();
+    private final EndpointQueue queue = new EndpointQueue(metrics);
+
+    private PollTask poll(int start) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 2, 3));
+    }
+
+    private WriteTask write(int reference, ModbusWriteCallback callback, int... registers) {
+        return new BasicWriteTask(endpoint, new BasicModbusWriteRegisterRequestBlueprint(1, reference,
+                new BasicModbusRegisterArray(registers), true, 3), callback);
+    }
+
+    @Test
+    public void testDuplicatePollIsDropped() {
+        PollTask task1 = poll(0);
+        PollTask task2 = poll(10);
+        assertTrue(queue.offerPoll(task1));
+        assertTrue(queue.offerPoll(task2));
+        assertFalse(queue.offerPoll(task1));
+
+        assertThat(queue.getDepth(), is(equalTo(2)));
+        assertThat(metrics.getDroppedPollCount(), is(equalTo(1L)));
+        assertThat(queue.drainPolls(10), is(equalTo(Arrays.asList(task1, task2))));
+        assertTrue(queue.isEmpty());
+
+        // once drained, the poll can be queued again
+        assertTrue(queue.offerPoll(task1));
+    }
+
+    @Test
+    public void testPollsAreDrainedInBoundedBatches() {
+        PollTask task1 = poll(0);
+        PollTask task2 = poll(10);
+        PollTask task3 = poll(20);
+        queue.offerPoll(task1);
+        queue.offerPoll(task2);
+        queue.offerPoll(task3);
+
+        assertThat(queue.drainPolls(2), is(equalTo(Arrays.asList(task1, task2))));
+        assertFalse(queue.isEmpty());
+        assertThat(metrics.getQueueDepth(), is(equalTo(1)));
+        // polls queued meanwhile wait for the polls left from the previous batch
+        queue.offerPoll(task1);
+        assertThat(queue.drainPolls(2), is(equalTo(Arrays.asList(task3, task1))));
+        assertTrue(queue.isEmpty());
+        assertThat(queue.drainPolls(2), is(equalTo(Arrays.asList())));
+    }
+
+    @Test
+    public void testWritesBeforePolls() {
+        PollTask pollTask = poll(0);
+        WriteTask writeTask = write(5, new RecordingCallback(), 1);
+        queue.offerPoll(pollTask);
+        queue.offerWrite(writeTask);
+
+        assertTrue(queue.hasWrites());
+        assertThat(queue.pollWrite(), is(sameInstance(writeTask)));
+        assertThat(queue.pollWrite(), is(nullValue()));
+        assertThat(queue.drainPolls(10), is(equalTo(Arrays.asList(pollTask))));
+        assertThat(metrics.getMaxQueueDepth(), is(equalTo(2)));
+        assertThat(metrics.getQueueDepth(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testConsecutiveWritesToSameRegistersAreMerged() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        WriteTask write1 = write(5, callback1, 1, 2);
+        WriteTask write2 = write(5, callback2, 3, 4);
+        queue.offerWrite(write1);
+        queue.offerWrite(write2);
+
+        assertThat(queue.getDepth(), is(equalTo(1)));
+        assertThat(metrics.getMergedWriteCount(), is(equalTo(1L)));
+        WriteTask merged = queue.pollWrite();
+        assertThat(merged, is(instanceOf(MergedWriteTask.class)));
+        assertThat(merged.getRequest(), is(sameInstance(write2.getRequest())));
+        assertThat(((MergedWriteTask) merged).getTasks(), is(equalTo(Arrays.asList(write1, write2))));
+
+        merged.getCallback().onWriteResponse(merged.getRequest(), () -> 16);
+        assertThat(callback1.responses, is(equalTo(Arrays.asList(write1.getRequest()))));
+        assertThat(callback2.responses, is(equalTo(Arrays.asList(write2.getRequest()))));
+
+        Exception error = new Exception("test");
+        merged.getCallback().onError(merged.getRequest(), error);
+        assertThat(callback1.errors, is(equalTo(Arrays.asList(error))));
+        assertThat(callback2.errors, is(equalTo(Arrays.asList(error))));
+    }
+
+    @Test
+    public void testWritesToDifferentTargetsAreNotMerged() {
+        WriteTask write1 = write(5, new RecordingCallback(), 1);
+        WriteTask write2 = write(6, new RecordingCallback(), 1);
+        WriteTask write3 = write(5, new RecordingCallback(), 1, 2);
+        WriteTask write4 = write(5, new RecordingCallback(), 3);
+        queue.offerWrite(write1);
+        queue.offerWrite(write2);
+        queue.offerWrite(write3);
+        // only the latest queued write is merged with
+        queue.offerWrite(write4);
+
+        assertThat(queue.getDepth(), is(equalTo(4)));
+        assertThat(metrics.getMergedWriteCount(), is(equalTo(0L)));
+        assertThat(queue.pollWrite(), is(sameInstance(write1)));
+        assertThat(queue.pollWrite(), is(sameInstance(write2)));
+        assertThat(queue.pollWrite(), is(sameInstance(write3)));
+        assertThat(queue.pollWrite(), is(sameInstance(write4)));
+    }
+
+    @Test
+    public void testCancelledWriteIsRemoved() {
+        OneTimeWriteFuture future1 = new OneTimeWriteFuture(queue, write(5, new RecordingCallback(), 1));
+        OneTimeWriteFuture future2 = new OneTimeWriteFuture(queue, write(6, new RecordingCallback(), 1));
+        queue.offerWrite(future1);
+        queue.offerWrite(future2);
+
+        assertTrue(future1.cancel(false));
+        assertTrue(future1.isCancelled());
+        assertThat(queue.pollWrite(), is(sameInstance(future2)));
+
+        // write has been taken for execution, it cannot be cancelled anymore
+        assertFalse(future2.cancel(false));
+        assertFalse(future2.isDone());
+        OneTimeWriteFuture.completeTask(future2, null);
+        assertTrue(future2.isDone());
+        assertFalse(future2.isCancelled());
+    }
+
+    @Test
+    public void testCancelledWriteIsRemovedFromMergedWrite() {
+        WriteTask write1 = write(5, new RecordingCallback(), 1);
+        OneTimeWriteFuture future2 = new OneTimeWriteFuture(queue, write(5, new RecordingCallback(), 2));
+        WriteTask write3 = write(5, new RecordingCallback(), 3);
+        queue.offerWrite(write1);
+        queue.offerWrite(future2);
+        queue.offerWrite(write3);
+
+        assertTrue(future2.cancel(false));
+        WriteTask merged = queue.pollWrite();
+        assertThat(merged, is(instanceOf(MergedWriteTask.class)));
+        assertThat(((MergedWriteTask) merged).getTasks(), is(equalTo(Arrays.asList(write1, write3))));
+        assertThat(merged.getRequest(), is(sameInstance(write3.getRequest())));
+    }
+
+    @Test
+    public void testCancellingLatestMergedWriteSendsPreviousRequest() {
+        WriteTask write1 = write(5, new RecordingCallback(), 1);
+        OneTimeWriteFuture future2 = new OneTimeWriteFuture(queue, write(5, new RecordingCallback(), 2));
+        queue.offerWrite(write1);
+        queue.offerWrite(future2);
+
+        assertTrue(future2.cancel(false));
+        assertThat(queue.pollWrite(), is(sameInstance(write1)));
+        assertThat(queue.pollWrite(), is(nullValue()));
+    }
+
+    @Test
+    public void testDrainWrites() {
+        WriteTask write1 = write(5, new RecordingCallback(), 1);
+        WriteTask write2 = write(6, new RecordingCallback(), 1);
+        queue.offerWrite(write1);
+        queue.offerWrite(write2);
+        queue.offerPoll(poll(0));
+
+        assertThat(queue.drainWrites(), is(equalTo(Arrays.asList(write1, write2))));
+        assertFalse(queue.hasWrites());
+        assertThat(queue.getDepth(), is(equalTo(1)));
+        assertThat(metrics.getQueueDepth(), is(equalTo(1)));
+
+        queue.clearPolls();
+        assertTrue(queue.isEmpty());
+        assertThat(metrics.getQueueDepth(), is(equalTo(0)));
+        assertThat(metrics.getMaxQueueDepth(), is(equalTo(3)));
+    }
+
+    @Test
+    public void testWaitTime() throws InterruptedException {
+        queue.offerPoll(poll(0));
+        Thread.sleep(20);
+        queue.drainPolls(10);
+
+        assertThat(metrics.getMaxQueueWaitMillis() >= 20, is(true));
+        assertThat(metrics.getAverageQueueWaitMillis() >= 20, is(true));
+        assertThat(metrics.getAverageQueueWaitMillis() < metrics.getMaxQueueWaitMillis() + 1, is(true));
+    }
+
+    @Test
+    public void testExecutionReservation() {
+        assertTrue(queue.tryStartExecuting());
+        assertFalse(queue.tryStartExecuting());
+        queue.finishExecuting();
+        assertTrue(queue.tryStartExecuting());
+    }
+}
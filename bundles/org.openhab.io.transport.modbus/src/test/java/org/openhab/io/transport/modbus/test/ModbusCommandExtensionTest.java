@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.io.console.Console;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusManager;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointMetrics;
+import org.openhab.io.transport.modbus.internal.console.ModbusCommandExtension;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+public class ModbusCommandExtensionTest {
+
+    private final EndpointMetrics metrics = new EndpointMetrics();
+    private final List<String> lines = new ArrayList<>();
+    private ModbusManager manager;
+    private Console console;
+    private ModbusCommandExtension extension;
+
+    @Before
+    public void setUp() {
+        manager = mock(ModbusManager.class);
+        when(manager.getEndpointMetrics())
+                .thenReturn(Collections.singletonMap(new ModbusTCPSlaveEndpoint("localhost", 502), metrics));
+        console = mock(Console.class);
+        doAnswer(invocation -> lines.add(invocation.getArgument(0))).when(console).println(anyString());
+        extension = new ModbusCommandExtension(manager);
+    }
+
+    @Test
+    public void testMetricsIncludeQueue() {
+        metrics.recordTransaction(TimeUnit.MILLISECONDS.toNanos(7), 6, 9);
+        metrics.recordQueueDepth(4);
+        metrics.recordQueueDepth(1);
+        metrics.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(15));
+        metrics.recordDroppedPoll();
+        metrics.recordMergedWrite();
+
+        extension.execute(new String[] { "metrics" }, console);
+
+        assertThat(lines.get(0), containsString("localhost"));
+        assertThat(lines, hasItem(containsString("transactions: 1, errors: 0, sent: 6 bytes, received: 9 bytes")));
+        // average is formatted with the default locale
+        String queue = String.format("queue: depth 1 (max 4), wait average %.1f ms (max 15 ms)", 15.0);
+        assertThat(lines, hasItem(containsString(queue + ", dropped polls: 1, merged writes: 1")));
+    }
+
+    @Test
+    public void testFilter() {
+        extension.execute(new String[] { "metrics", "otherhost" }, console);
+
+        assertThat(lines, is(equalTo(Collections.singletonList("No Modbus metrics available"))));
+    }
+
+    @Test
+    public void testResetMetrics() {
+        extension.execute(new String[] { "resetMetrics" }, console);
+
+        verify(manager).resetEndpointMetrics();
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
+import org.openhab.io.transport.modbus.internal.ModbusTCPPipeline;
+
+import net.wimpi.modbus.io.ModbusTransport;
+import net.wimpi.modbus.msg.ModbusMessage;
+import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ModbusResponse;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersResponse;
+import net.wimpi.modbus.net.TCPMasterConnection;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+public class ModbusTCPPipelineTest {
+
+    private TCPMasterConnection connection;
+    private ModbusTransport transport;
+    private List<ModbusMessage> written;
+    private List<Long> writtenNanos;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(TCPMasterConnection.class);
+        transport = mock(ModbusTransport.class);
+        when(connection.getModbusTransport()).thenReturn(transport);
+        written = new ArrayList<>();
+        writtenNanos = new ArrayList<>();
+        doAnswer(invocation -> {
+            writtenNanos.add(System.nanoTime());
+            return written.add(invocation.getArgument(0));
+        }).when(transport).writeMessage(any(ModbusMessage.class));
+    }
+
+    private static ModbusResponse responseFor(ModbusRequest request) {
+        ModbusResponse response = new ReadMultipleRegistersResponse();
+        response.setTransactionID(request.getTransactionID());
+        return response;
+    }
+
+    @Test
+    public void testResponsesAreMatchedByTransactionId() throws Exception {
+        List<ModbusRequest> requests = Arrays.asList(new ReadMultipleRegistersRequest(0, 1),
+                new ReadMultipleRegistersRequest(10, 1), new ReadMultipleRegistersRequest(20, 1));
+        // slave responds in reverse order
+        when(transport.readResponse()).thenAnswer(invocation -> responseFor(requests.get(2)))
+                .thenAnswer(invocation -> responseFor(requests.get(1)))
+                .thenAnswer(invocation -> responseFor(requests.get(0)));
+
+        ModbusResponse[] responses = ModbusTCPPipeline.execute(connection, requests, 0);
+
+        assertThat(written.size(), is(equalTo(3)));
+        assertThat(requests.get(0).getTransactionID(), is(not(equalTo(requests.get(1).getTransactionID()))));
+        for (int i = 0; i < requests.size(); i++) {
+            assertThat(responses[i].getTransactionID(), is(equalTo(requests.get(i).getTransactionID())));
+        }
+    }
+
+    @Test
+    public void testRequestsAreSentInterTransactionDelayApart() throws Exception {
+        List<ModbusRequest> requests = Arrays.asList(new ReadMultipleRegistersRequest(0, 1),
+                new ReadMultipleRegistersRequest(10, 1), new ReadMultipleRegistersRequest(20, 1));
+        when(transport.readResponse()).thenAnswer(invocation -> responseFor(requests.get(0)))
+                .thenAnswer(invocation -> responseFor(requests.get(1)))
+                .thenAnswer(invocation -> responseFor(requests.get(2)));
+
+        ModbusTCPPipeline.execute(connection, requests, 30);
+
+        assertThat(written.size(), is(equalTo(3)));
+        for (int i = 1; i < writtenNanos.size(); i++) {
+            // allow for the millisecond resolution of the wall clock
+            long millisBetween = TimeUnit.NANOSECONDS.toMillis(writtenNanos.get(i) - writtenNanos.get(i - 1));
+            assertThat(millisBetween >= 28, is(true));
+        }
+    }
+
+    @Test(expected = ModbusUnexpectedTransactionIdException.class)
+    public void testUnknownTransactionId() throws Exception {
+        List<ModbusRequest> requests = Arrays.asList(new ReadMultipleRegistersRequest(0, 1));
+        ModbusResponse response = new ReadMultipleRegistersResponse();
+        when(transport.readResponse()).thenAnswer(invocation -> {
+            response.setTransactionID(requests.get(0).getTransactionID() + 1);
+            return response;
+        });
+
+        ModbusTCPPipeline.execute(connection, requests, 0);
+    }
+}
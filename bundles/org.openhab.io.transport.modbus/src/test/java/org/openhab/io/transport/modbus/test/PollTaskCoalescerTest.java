@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusSlaveErrorResponseExceptionImpl;
+import org.openhab.io.transport.modbus.internal.PollTaskCoalescer;
+
+import net.wimpi.modbus.ModbusSlaveException;
+
+/**
+ * @author Sami Salonen - Initial contribution
+ */
+public class PollTaskCoalescerTest {
+
+    private static class RecordingCallback implements ModbusReadCallback {
+        private final List<Object> received = new ArrayList<>();
+
+        @Override
+        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+            received.add(registers.toHexString());
+        }
+
+        @Override
+        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+            received.add(bits.toBinaryString());
+        }
+
+        @Override
+        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+            received.add(error);
+        }
+    }
+
+    private final ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("localhost", 502);
+    private final PollTaskCoalescer coalescer = new PollTaskCoalescer(0);
+
+    private PollTask task(int unitId, ModbusReadFunctionCode functionCode, int start, int length,
+            ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 3), callback);
+    }
+
+    private PollTask task(int start, int length) {
+        return task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, length, new RecordingCallback());
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingAreCombined() {
+        PollTask task1 = task(10, 5);
+        PollTask task2 = task(0, 10);
+        PollTask task3 = task(12, 8);
+        List<PollTask> planned = coalescer.plan(Arrays.asList(task1, task2, task3), key -> true);
+
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0), is(instanceOf(CoalescedPollTask.class)));
+        CoalescedPollTask coalesced = (CoalescedPollTask) planned.get(0);
+        assertThat(coalesced.getRequest().getReference(), is(equalTo(0)));
+        assertThat(coalesced.getRequest().getDataLength(), is(equalTo(20)));
+        assertThat(coalesced.getMembers(), is(equalTo(Arrays.asList(task2, task1, task3))));
+    }
+
+    @Test
+    public void testGapIsNotCombinedByDefault() {
+        PollTask task1 = task(0, 5);
+        PollTask task2 = task(6, 5);
+        List<PollTask> planned = coalescer.plan(Arrays.asList(task1, task2), key -> true);
+
+        assertThat(planned, is(equalTo(Arrays.asList(task1, task2))));
+    }
+
+    @Test
+    public void testGapCombinedWhenAllowed() {
+        PollTask task1 = task(0, 5);
+        PollTask task2 = task(6, 5);
+        List<PollTask> planned = new PollTaskCoalescer(1).plan(Arrays.asList(task1, task2), key -> true);
+
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(11)));
+    }
+
+    @Test
+    public void testIncompatibleRequestsAreNotCombined() {
+        PollTask task1 = task(0, 5);
+        PollTask task2 = task(2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5, new RecordingCallback());
+        PollTask task3 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5, new RecordingCallback());
+        List<PollTask> planned = coalescer.plan(Arrays.asList(task1, task2, task3), key -> true);
+
+        assertThat(planned, is(equalTo(Arrays.asList(task1, task2, task3))));
+    }
+
+    @Test
+    public void testProtocolLimitIsRespected() {
+        PollTask task1 = task(0, 100);
+        PollTask task2 = task(100, 25);
+        PollTask task3 = task(125, 1);
+        List<PollTask> planned = coalescer.plan(Arrays.asList(task1, task2, task3), key -> true);
+
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(),
+                is(equalTo(PollTaskCoalescer.MAX_REGISTERS_PER_REQUEST)));
+        assertThat(planned.get(1), is(sameInstance(task3)));
+    }
+
+    @Test
+    public void testPredicatePreventsCombining() {
+        PollTask task1 = task(0, 5);
+        PollTask task2 = task(5, 5);
+        List<PollTask> planned = coalescer.plan(Arrays.asList(task1, task2), key -> false);
+
+        assertThat(planned, is(equalTo(Arrays.asList(task1, task2))));
+    }
+
+    @Test
+    public void testRegistersAreSplitToMembers() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 3, 2, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_INPUT_REGISTERS, 4, 2, callback2);
+        PollTask planned = coalescer.plan(Arrays.asList(task1, task2), key -> true).get(0);
+
+        planned.getCallback().onRegisters(planned.getRequest(), new BasicModbusRegisterArray(1, 2, 3));
+
+        assertThat(callback1.received, is(equalTo(Arrays.asList("0001 0002"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList("0002 0003"))));
+    }
+
+    @Test
+    public void testBitsAreSplitToMembers() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_COILS, 0, 3, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_COILS, 3, 2, callback2);
+        PollTask planned = coalescer.plan(Arrays.asList(task1, task2), key -> true).get(0);
+
+        planned.getCallback().onBits(planned.getRequest(), new BasicBitArray(true, false, true, true, false));
+
+        assertThat(callback1.received, is(equalTo(Arrays.asList("101"))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList("10"))));
+    }
+
+    @Test
+    public void testIllegalAddressRequiresFallback() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 3, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 2, callback2);
+        CoalescedPollTask planned = (CoalescedPollTask) coalescer.plan(Arrays.asList(task1, task2), key -> true)
+                .get(0);
+
+        planned.getCallback().onError(planned.getRequest(),
+                new ModbusSlaveErrorResponseExceptionImpl(new ModbusSlaveException(2)));
+
+        assertTrue(planned.isFallbackRequired());
+        assertTrue(callback1.received.isEmpty());
+        assertTrue(callback2.received.isEmpty());
+    }
+
+    @Test
+    public void testOtherErrorsArePropagatedToMembers() {
+        RecordingCallback callback1 = new RecordingCallback();
+        RecordingCallback callback2 = new RecordingCallback();
+        PollTask task1 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 3, callback1);
+        PollTask task2 = task(1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 2, callback2);
+        CoalescedPollTask planned = (CoalescedPollTask) coalescer.plan(Arrays.asList(task1, task2), key -> true)
+                .get(0);
+
+        Exception error = new ModbusSlaveErrorResponseExceptionImpl(new ModbusSlaveException(4));
+        planned.getCallback().onError(planned.getRequest(), error);
+
+        assertFalse(planned.isFallbackRequired());
+        assertThat(callback1.received, is(equalTo(Arrays.asList(error))));
+        assertThat(callback2.received, is(equalTo(Arrays.asList(error))));
+    }
+}
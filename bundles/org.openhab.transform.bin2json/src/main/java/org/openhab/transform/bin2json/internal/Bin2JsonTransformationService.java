@@ -12,6 +12,10 @@
  */
 package org.openhab.transform.bin2json.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.transform.TransformationException;
@@ -30,8 +34,23 @@ import org.slf4j.LoggerFactory;
 @Component(immediate = true, property = { "smarthome.transform=BIN2JSON" })
 public class Bin2JsonTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled parser rules kept in the cache
+     */
+    private static final int MAX_CACHED_PARSERS = 100;
+
     private Logger logger = LoggerFactory.getLogger(Bin2JsonTransformationService.class);
 
+    private final Map<String, Bin2Json> parsers = Collections
+            .synchronizedMap(new LinkedHashMap<String, Bin2Json>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Bin2Json> eldest) {
+                    return size() > MAX_CACHED_PARSERS;
+                }
+            });
+
     /**
      * Transforms the input <code>source</code> by Java Binary Block Parser syntax.
      *
@@ -46,7 +65,7 @@ public class Bin2JsonTransformationService implements TransformationService {
         String result = "";
 
         try {
-            result = String.valueOf(new Bin2Json(syntax).convert(source));
+            result = String.valueOf(getParser(syntax).convert(source));
             logger.debug("transformation resulted '{}'", result);
             return result;
         } catch (ConversionException e) {
@@ -56,4 +75,13 @@ public class Bin2JsonTransformationService implements TransformationService {
                     result);
         }
     }
+
+    private Bin2Json getParser(String syntax) throws ConversionException {
+        Bin2Json parser = parsers.get(syntax);
+        if (parser == null) {
+            parser = new Bin2Json(syntax);
+            parsers.put(syntax, parser);
+        }
+        return parser;
+    }
 }
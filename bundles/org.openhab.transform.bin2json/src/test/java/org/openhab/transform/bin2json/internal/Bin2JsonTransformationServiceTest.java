@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Pauli Anttila - Initial contribution
+ */
+public class Bin2JsonTransformationServiceTest {
+
+    private Bin2JsonTransformationService processor;
+
+    @Before
+    public void init() {
+        processor = new Bin2JsonTransformationService();
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", "03FAFF"));
+    }
+
+    @Test
+    public void testTransformWithCachedParser() throws TransformationException {
+        String syntax = "byte a; ushort b;";
+        assertEquals("{\"a\":1,\"b\":258}", processor.transform(syntax, "010102"));
+        assertEquals("{\"a\":-1,\"b\":65535}", processor.transform(syntax, "FFFFFF"));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testIllegalHexString() throws TransformationException {
+        processor.transform("byte a;", "XY");
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testIllegalSyntax() throws TransformationException {
+        processor.transform("foo a;", "03");
+    }
+}
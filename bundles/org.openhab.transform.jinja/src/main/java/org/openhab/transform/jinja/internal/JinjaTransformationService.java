@@ -13,12 +13,15 @@
 package org.openhab.transform.jinja.internal;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -31,6 +34,12 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hubspot.jinjava.Jinjava;
+import com.hubspot.jinjava.interpret.Context;
+import com.hubspot.jinjava.interpret.FatalTemplateErrorsException;
+import com.hubspot.jinjava.interpret.JinjavaInterpreter;
+import com.hubspot.jinjava.interpret.TemplateError;
+import com.hubspot.jinjava.interpret.TemplateError.ErrorType;
+import com.hubspot.jinjava.tree.Node;
 
 /**
  * <p>
@@ -43,10 +52,27 @@ import com.hubspot.jinjava.Jinjava;
 @Component(immediate = true, property = { "smarthome.transform=JINJA" })
 public class JinjaTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of parsed templates kept in the cache
+     */
+    static final int MAX_CACHED_TEMPLATES = 500;
+
     private final Logger logger = LoggerFactory.getLogger(JinjaTransformationService.class);
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private Jinjava jinjava = new Jinjava();
 
+    private final Map<String, Node> parsedTemplates = Collections
+            .synchronizedMap(new LinkedHashMap<String, Node>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, Node> eldest) {
+                    return size() > MAX_CACHED_TEMPLATES;
+                }
+            });
+
     /**
      * Transforms the input <code>value</code> by Jinja template.
      *
@@ -62,39 +88,69 @@ public class JinjaTransformationService implements TransformationService {
         bindings.put("value", value);
 
         try {
-            JsonNode tree = new ObjectMapper().readTree(value);
+            JsonNode tree = objectMapper.readTree(value);
             bindings.put("value_json", toObject(tree));
         } catch (IOException e) {
             // ok, then value_json is null...
         }
 
-        String transformationResult = jinjava.render(template, bindings);
+        String transformationResult = render(template, bindings);
 
         logger.debug("transformation resulted in '{}'", transformationResult);
 
         return transformationResult;
     }
 
-    private static @Nullable Object toObject(JsonNode node) {
-        switch (node.getNodeType()) {
-            case ARRAY: {
-                List<@Nullable Object> result = new ArrayList<>();
-                for (JsonNode el : node) {
-                    result.add(toObject(el));
+    /**
+     * Renders a template like {@link Jinjava#render(String, Map)} does, but parses every template only once.
+     */
+    private String render(String template, Map<String, @Nullable Object> bindings) {
+        Context context = new Context(jinjava.getGlobalContext(), bindings);
+        JinjavaInterpreter interpreter = new JinjavaInterpreter(jinjava, context, jinjava.getGlobalConfig());
+        JinjavaInterpreter.pushCurrent(interpreter);
+        try {
+            Node root = parsedTemplates.get(template);
+            if (root == null) {
+                root = interpreter.parse(template);
+                if (!hasFatalErrors(interpreter)) {
+                    parsedTemplates.put(template, root);
                 }
-                return result;
             }
+            String result = interpreter.render(root);
+            if (hasFatalErrors(interpreter)) {
+                throw new FatalTemplateErrorsException(template, interpreter.getErrors());
+            }
+            return result;
+        } finally {
+            JinjavaInterpreter.popCurrent();
+        }
+    }
+
+    private static boolean hasFatalErrors(JinjavaInterpreter interpreter) {
+        for (TemplateError error : interpreter.getErrors()) {
+            if (error.getSeverity() == ErrorType.FATAL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getCachedTemplateCount() {
+        return parsedTemplates.size();
+    }
+
+    /**
+     * Converts JSON scalars right away. Objects and arrays are exposed as views which only convert the fields that
+     * are actually accessed by the template.
+     */
+    private static @Nullable Object toObject(JsonNode node) {
+        switch (node.getNodeType()) {
+            case ARRAY:
+                return new JsonArrayView(node);
             case NUMBER:
                 return node.decimalValue();
-            case OBJECT: {
-                Map<String, @Nullable Object> result = new HashMap<>();
-                Iterator<Entry<String, JsonNode>> it = node.fields();
-                while (it.hasNext()) {
-                    Entry<String, JsonNode> field = it.next();
-                    result.put(field.getKey(), toObject(field.getValue()));
-                }
-                return result;
-            }
+            case OBJECT:
+                return new JsonObjectView(node);
             case STRING:
                 return node.asText();
             case BOOLEAN:
@@ -104,4 +160,84 @@ public class JinjaTransformationService implements TransformationService {
                 return null;
         }
     }
+
+    private static class JsonArrayView extends AbstractList<@Nullable Object> {
+        private final JsonNode node;
+        private final @Nullable Object[] converted;
+        private final boolean[] isConverted;
+
+        private JsonArrayView(JsonNode node) {
+            this.node = node;
+            this.converted = new Object[node.size()];
+            this.isConverted = new boolean[node.size()];
+        }
+
+        @Override
+        public @Nullable Object get(int index) {
+            if (!isConverted[index]) {
+                converted[index] = toObject(node.get(index));
+                isConverted[index] = true;
+            }
+            return converted[index];
+        }
+
+        @Override
+        public int size() {
+            return converted.length;
+        }
+    }
+
+    private static class JsonObjectView extends AbstractMap<String, @Nullable Object> {
+        private final JsonNode node;
+        private final Map<String, @Nullable Object> converted = new HashMap<>();
+        private @Nullable Set<Entry<String, @Nullable Object>> entrySet;
+
+        private JsonObjectView(JsonNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            if (!(key instanceof String)) {
+                return null;
+            }
+            String field = (String) key;
+            if (converted.containsKey(field)) {
+                return converted.get(field);
+            }
+            JsonNode value = node.get(field);
+            if (value == null) {
+                return null;
+            }
+            Object result = toObject(value);
+            converted.put(field, result);
+            return result;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return key instanceof String && node.has((String) key);
+        }
+
+        @Override
+        public int size() {
+            return node.size();
+        }
+
+        @Override
+        public Set<Entry<String, @Nullable Object>> entrySet() {
+            Set<Entry<String, @Nullable Object>> entrySet = this.entrySet;
+            if (entrySet == null) {
+                entrySet = new LinkedHashSet<>();
+                Iterator<String> it = node.fieldNames();
+                while (it.hasNext()) {
+                    String field = it.next();
+                    entrySet.add(new SimpleImmutableEntry<>(field, get(field)));
+                }
+                entrySet = Collections.unmodifiableSet(entrySet);
+                this.entrySet = entrySet;
+            }
+            return entrySet;
+        }
+    }
 }
@@ -59,4 +59,35 @@ public class JinjaTransformationServiceTest {
         Assert.assertEquals("Hello world!", transformedResponse);
     }
 
+    @Test
+    public void testJsonArray() throws TransformationException {
+        String json = "{\"sensors\":[{\"id\":1,\"value\":20.5},{\"id\":2,\"value\":21.5}]}";
+        // method under test
+        String transformedResponse = processor.transform(
+                "{{ value_json.sensors[1].value }}/{{ value_json.sensors|length }}", json);
+
+        // Asserts
+        Assert.assertEquals("21.5/2", transformedResponse);
+    }
+
+    @Test
+    public void testJsonMissingField() throws TransformationException {
+        String json = "{\"a\":1,\"b\":\"two\"}";
+        // method under test
+        String transformedResponse = processor.transform("{{ value_json['b'] }}{{ value_json.missing }}", json);
+
+        // Asserts
+        Assert.assertEquals("two", transformedResponse);
+    }
+
+    @Test
+    public void testParsedTemplateIsReused() throws TransformationException {
+        // method under test
+        processor.transform("Hello {{ value }}!", "world");
+        String transformedResponse = processor.transform("Hello {{ value }}!", "again");
+
+        // Asserts
+        Assert.assertEquals("Hello again!", transformedResponse);
+        Assert.assertEquals(1, processor.getCachedTemplateCount());
+    }
 }
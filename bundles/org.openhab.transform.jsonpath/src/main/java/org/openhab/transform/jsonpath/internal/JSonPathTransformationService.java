@@ -12,7 +12,10 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,9 +27,12 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ParseContext;
 import com.jayway.jsonpath.PathNotFoundException;
 
 /**
@@ -41,8 +47,31 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(immediate = true, property = { "smarthome.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled JsonPath expressions kept in the cache
+     */
+    static final int MAX_CACHED_PATHS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final ParseContext parseContext = JsonPath.using(Configuration.defaultConfiguration());
+
+    private final Map<String, JsonPath> compiledPaths = Collections
+            .synchronizedMap(new LinkedHashMap<String, JsonPath>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, JsonPath> eldest) {
+                    return size() > MAX_CACHED_PATHS;
+                }
+            });
+
+    /**
+     * The most recently parsed document. Channels fed by the same topic are usually transformed one after the other
+     * with the very same payload, so they can share a single parse.
+     */
+    private volatile @Nullable ParsedDocument lastDocument;
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -59,8 +88,13 @@ public class JSonPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
+        return evaluate(jsonPathExpression, source, getDocument(source));
+    }
+
+    private @Nullable String evaluate(String jsonPathExpression, String source, DocumentContext document)
+            throws TransformationException {
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = document.read(getCompiledPath(jsonPathExpression));
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -71,11 +105,38 @@ public class JSonPathTransformationService implements TransformationService {
             }
         } catch (PathNotFoundException e) {
             throw new TransformationException("Invalid path '" + jsonPathExpression + "' in '" + source + "'");
-        } catch (InvalidPathException | InvalidJsonException e) {
+        } catch (InvalidPathException e) {
+            throw new TransformationException("An error occurred while transforming JSON expression.", e);
+        }
+    }
+
+    private JsonPath getCompiledPath(String jsonPathExpression) {
+        JsonPath path = compiledPaths.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            compiledPaths.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
+    private DocumentContext getDocument(String source) throws TransformationException {
+        ParsedDocument last = lastDocument;
+        if (last != null && last.source.equals(source)) {
+            return last.document;
+        }
+        try {
+            DocumentContext document = parseContext.parse(source);
+            lastDocument = new ParsedDocument(source, document);
+            return document;
+        } catch (InvalidJsonException e) {
             throw new TransformationException("An error occurred while transforming JSON expression.", e);
         }
     }
 
+    int getCachedPathCount() {
+        return compiledPaths.size();
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -100,4 +161,14 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + String.valueOf(n) + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private static class ParsedDocument {
+        private final String source;
+        private final DocumentContext document;
+
+        private ParsedDocument(String source, DocumentContext document) {
+            this.source = source;
+            this.document = document;
+        }
+    }
 }
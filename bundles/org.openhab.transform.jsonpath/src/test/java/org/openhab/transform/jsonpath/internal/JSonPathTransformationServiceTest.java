@@ -128,4 +128,27 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSameSourceWithSeveralPaths() throws TransformationException {
+        assertEquals("bob", processor.transform("$[0].name", jsonArray));
+        assertEquals("2", processor.transform("$[1].id", jsonArray));
+        assertEquals(null, processor.transform("$[0].empty", jsonArray));
+    }
+
+    @Test
+    public void testCompiledPathsAreReused() throws TransformationException {
+        processor.transform("$[0].name", jsonArray);
+        processor.transform("$[0].name", "[{ \"name\":\"carol\" }]");
+        assertEquals(1, processor.getCachedPathCount());
+        assertEquals("carol", processor.transform("$[0].name", "[{ \"name\":\"carol\" }]"));
+    }
+
+    @Test
+    public void testCompiledPathCacheIsBounded() throws TransformationException {
+        for (int i = 0; i < JSonPathTransformationService.MAX_CACHED_PATHS + 10; i++) {
+            processor.transform("$[0].name" + i, "[{ \"name" + i + "\":\"bob\" }]");
+        }
+        assertEquals(JSonPathTransformationService.MAX_CACHED_PATHS, processor.getCachedPathCount());
+    }
 }
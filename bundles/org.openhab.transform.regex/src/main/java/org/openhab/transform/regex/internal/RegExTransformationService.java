@@ -12,8 +12,13 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -36,10 +41,28 @@ import org.slf4j.LoggerFactory;
 @Component(immediate = true, property = { "smarthome.transform=REGEX" })
 public class RegExTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled regular expressions kept in the cache
+     */
+    static final int MAX_CACHED_PATTERNS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(RegExTransformationService.class);
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    private final Map<String, CompiledRegEx> compiledRegExs = Collections
+            .synchronizedMap(new LinkedHashMap<String, CompiledRegEx>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, CompiledRegEx> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            });
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -50,23 +73,22 @@ public class RegExTransformationService implements TransformationService {
 
         String result = "";
 
-        Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
-        if (substMatcher.matches()) {
+        CompiledRegEx compiledRegEx = getCompiledRegEx(regExpression);
+        String substitution = compiledRegEx.substitution;
+        if (substitution != null) {
             logger.debug("Using substitution form of regex transformation");
-            String regex = substMatcher.group(1);
-            String substitution = substMatcher.group(2);
-            String options = substMatcher.group(3);
-            if (options.equals("g")) {
-                result = source.trim().replaceAll(regex, substitution);
+            Matcher substMatcher = compiledRegEx.pattern.matcher(source.trim());
+            if (compiledRegEx.global) {
+                result = substMatcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = substMatcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = compiledRegEx.pattern.matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -95,4 +117,47 @@ public class RegExTransformationService implements TransformationService {
         return result;
     }
 
+    private CompiledRegEx getCompiledRegEx(String regExpression) throws TransformationException {
+        CompiledRegEx compiledRegEx = compiledRegExs.get(regExpression);
+        if (compiledRegEx != null) {
+            cacheHits.incrementAndGet();
+            return compiledRegEx;
+        }
+        cacheMisses.incrementAndGet();
+
+        try {
+            Matcher substMatcher = SUBSTR_PATTERN.matcher(regExpression);
+            if (substMatcher.matches()) {
+                compiledRegEx = new CompiledRegEx(Pattern.compile(substMatcher.group(1)), substMatcher.group(2),
+                        substMatcher.group(3).equals("g"));
+            } else {
+                compiledRegEx = new CompiledRegEx(Pattern.compile("^" + regExpression + "$", Pattern.DOTALL), null,
+                        false);
+            }
+        } catch (PatternSyntaxException e) {
+            throw new TransformationException("the given regex '" + regExpression + "' is invalid", e);
+        }
+        compiledRegExs.put(regExpression, compiledRegEx);
+        return compiledRegEx;
+    }
+
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    private static class CompiledRegEx {
+        private final Pattern pattern;
+        private final @Nullable String substitution;
+        private final boolean global;
+
+        private CompiledRegEx(Pattern pattern, @Nullable String substitution, boolean global) {
+            this.pattern = pattern;
+            this.substitution = substitution;
+            this.global = global;
+        }
+    }
 }
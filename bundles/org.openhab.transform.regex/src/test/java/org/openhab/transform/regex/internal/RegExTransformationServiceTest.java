@@ -75,4 +75,23 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_compiledPatternIsReused() throws TransformationException {
+        processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "X12,Y54");
+        processor.transform(".*?<current_conditions>.*?<temp_c data=\"(.*?)\".*", source);
+
+        // method under test
+        String transformedResponse = processor.transform("s/([A-Z]+)([0-9]+),*/var$1=$2 /g", "Z7");
+
+        // Asserts
+        assertEquals("varZ=7 ", transformedResponse);
+        assertEquals(1, processor.getCacheHits());
+        assertEquals(2, processor.getCacheMisses());
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByRegex_invalidPattern() throws TransformationException {
+        processor.transform("(.*", source);
+    }
 }
@@ -13,12 +13,18 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -41,8 +47,30 @@ import org.xml.sax.InputSource;
 @Component(immediate = true, property = { "smarthome.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    /**
+     * Maximum number of compiled XPath expressions kept in the cache
+     */
+    static final int MAX_CACHED_EXPRESSIONS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final Map<String, XPathExpression> compiledExpressions = Collections
+            .synchronizedMap(new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_CACHED_EXPRESSIONS;
+                }
+            });
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    // neither DocumentBuilder nor XPath are thread safe, so every thread keeps its own instance
+    private final ThreadLocal<@Nullable DocumentBuilder> documentBuilders = new ThreadLocal<>();
+    private final ThreadLocal<XPath> xpaths = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -54,10 +82,7 @@ public class XPathTransformationService implements TransformationService {
         StringReader stringReader = null;
 
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            DocumentBuilder builder = getDocumentBuilder();
 
             stringReader = new StringReader(source);
             InputSource inputSource = new InputSource(stringReader);
@@ -65,10 +90,13 @@ public class XPathTransformationService implements TransformationService {
 
             Document doc = builder.parse(inputSource);
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            XPathExpression expr = getCompiledExpression(xpathExpression);
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            // compiled expressions are not thread safe either
+            synchronized (expr) {
+                transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
@@ -82,4 +110,37 @@ public class XPathTransformationService implements TransformationService {
         }
     }
 
+    private DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilders.get();
+        if (builder == null) {
+            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            domFactory.setNamespaceAware(true);
+            domFactory.setValidating(false);
+            builder = domFactory.newDocumentBuilder();
+            documentBuilders.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    private XPathExpression getCompiledExpression(String xpathExpression) throws XPathExpressionException {
+        XPathExpression expr = compiledExpressions.get(xpathExpression);
+        if (expr != null) {
+            cacheHits.incrementAndGet();
+            return expr;
+        }
+        cacheMisses.incrementAndGet();
+        expr = xpaths.get().compile(xpathExpression);
+        compiledExpressions.put(xpathExpression, expr);
+        return expr;
+    }
+
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    long getCacheMisses() {
+        return cacheMisses.get();
+    }
 }
@@ -39,4 +39,22 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformByXPath_compiledExpressionIsReused() throws TransformationException {
+        processor.transform("//current_conditions/temp_c/@data", source);
+        processor.transform("//current_conditions/temp_f/@data", source);
+
+        // method under test
+        String transformedResponse = processor.transform("//current_conditions/temp_c/@data", source);
+
+        // Asserts
+        assertEquals("8", transformedResponse);
+        assertEquals(1, processor.getCacheHits());
+        assertEquals(2, processor.getCacheMisses());
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testTransformByXPath_invalidExpression() throws TransformationException {
+        processor.transform("//current_conditions[", source);
+    }
 }
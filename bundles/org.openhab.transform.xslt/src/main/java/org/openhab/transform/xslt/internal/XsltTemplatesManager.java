@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.eclipse.smarthome.core.transform.TransformationService;
+import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for compiled XSLT {@link Templates} and a per-thread pool of {@link Transformer}s created from them.
+ *
+ * @author Thomas Eichstaedt-Engelen - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = XsltTemplatesManager.class)
+public class XsltTemplatesManager {
+
+    public static final String TRANSFORM_FOLDER = ConfigConstants.getConfigFolder() + File.separator
+            + TransformationService.TRANSFORM_FOLDER_NAME;
+
+    private final Logger logger = LoggerFactory.getLogger(XsltTemplatesManager.class);
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, Templates> templatesMap = new ConcurrentHashMap<>();
+
+    /*
+     * Transformers are not thread safe, so every thread keeps its own instance per compiled stylesheet. Weak keys make
+     * sure transformers of evicted stylesheets are dropped as well.
+     */
+    private final ThreadLocal<Map<Templates, Transformer>> transformers = ThreadLocal.withInitial(WeakHashMap::new);
+
+    /**
+     * Get a {@link Transformer} for the given XSLT file, which may only be used by the calling thread. The stylesheet
+     * is compiled once and kept in the cache until the file is modified or deleted.
+     *
+     * @param filename name of the XSLT file relative to the transform folder
+     * @return a {@link Transformer} for the calling thread
+     * @throws TransformationException if the XSLT file cannot be compiled
+     */
+    protected Transformer getTransformer(final String filename) throws TransformationException {
+        Templates templates = getTemplates(filename);
+        Map<Templates, Transformer> threadTransformers = transformers.get();
+        Transformer transformer = threadTransformers.get(templates);
+        if (transformer == null) {
+            try {
+                transformer = templates.newTransformer();
+            } catch (TransformerConfigurationException e) {
+                throw new TransformationException("An error occurred while creating XSLT transformer.", e);
+            }
+            threadTransformers.put(templates, transformer);
+        } else {
+            transformer.reset();
+        }
+        return transformer;
+    }
+
+    private Templates getTemplates(final String filename) throws TransformationException {
+        final Path path = toKey(Paths.get(TRANSFORM_FOLDER, filename));
+        Templates templates = templatesMap.get(path);
+        if (templates != null) {
+            logger.trace("Loading XSLT {} from cache.", path);
+            return templates;
+        }
+        synchronized (transformerFactory) {
+            templates = templatesMap.get(path);
+            if (templates == null) {
+                logger.debug("Loading XSLT {} from storage.", path);
+                try {
+                    templates = transformerFactory.newTemplates(new StreamSource(path.toFile()));
+                } catch (TransformerConfigurationException e) {
+                    throw new TransformationException("An error occurred while compiling XSLT. " + e.getMessage(), e);
+                }
+                templatesMap.put(path, templates);
+            }
+            return templates;
+        }
+    }
+
+    /**
+     * Remove a compiled stylesheet from the cache.
+     *
+     * @param path path of the XSLT file to remove
+     */
+    protected void removeFromCache(Path path) {
+        logger.debug("Removing XSLT {} from cache.", path);
+        templatesMap.remove(toKey(path));
+    }
+
+    private Path toKey(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
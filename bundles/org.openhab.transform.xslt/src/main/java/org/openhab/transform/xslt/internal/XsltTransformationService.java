@@ -12,22 +12,19 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +39,16 @@ import org.slf4j.LoggerFactory;
 public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
+    private @NonNullByDefault({}) XsltTemplatesManager manager;
+
+    @Reference
+    public void setXsltTemplatesManager(XsltTemplatesManager manager) {
+        this.manager = manager;
+    }
+
+    public void unsetXsltTemplatesManager(XsltTemplatesManager manager) {
+        this.manager = null;
+    }
 
     /**
      * Transforms the input <code>source</code> by XSLT.
@@ -60,28 +67,14 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
-
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
-
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, filename);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
+        Transformer transformer = manager.getTransformer(filename);
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
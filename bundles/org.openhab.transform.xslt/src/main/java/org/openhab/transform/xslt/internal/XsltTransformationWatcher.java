@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xslt.internal;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchEvent.Kind;
+
+import org.eclipse.smarthome.core.service.AbstractWatchService;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * The {@link XsltTransformationWatcher} watches the transformation directory for files. If a deleted/modified file is
+ * detected, the compiled stylesheet is evicted from the {@link XsltTemplatesManager}.
+ *
+ * @author Thomas Eichstaedt-Engelen - Initial contribution
+ */
+@Component()
+public class XsltTransformationWatcher extends AbstractWatchService {
+
+    private XsltTemplatesManager manager;
+
+    public XsltTransformationWatcher() {
+        super(XsltTemplatesManager.TRANSFORM_FOLDER);
+    }
+
+    @Reference
+    public void setXsltTemplatesManager(XsltTemplatesManager manager) {
+        this.manager = manager;
+    }
+
+    public void unsetXsltTemplatesManager(XsltTemplatesManager manager) {
+        this.manager = null;
+    }
+
+    @Override
+    public void activate() {
+        super.activate();
+    }
+
+    @Override
+    protected boolean watchSubDirectories() {
+        return true;
+    }
+
+    @Override
+    protected Kind<?>[] getWatchEventKinds(Path directory) {
+        return new Kind<?>[] { ENTRY_DELETE, ENTRY_MODIFY };
+    }
+
+    @Override
+    protected void processWatchEvent(WatchEvent<?> event, Kind<?> kind, Path path) {
+        logger.debug("New watch event {} for path {}.", kind, path);
+
+        if (kind == OVERFLOW) {
+            return;
+        }
+
+        logger.debug("Reloading XSLT file {}.", path);
+
+        manager.removeFromCache(path);
+    }
+}
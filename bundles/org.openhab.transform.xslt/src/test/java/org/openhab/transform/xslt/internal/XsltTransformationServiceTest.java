@@ -12,7 +12,11 @@
  */
 package org.openhab.transform.xslt.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+
+import javax.xml.transform.Transformer;
 
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.junit.Before;
@@ -24,10 +28,13 @@ import org.junit.Test;
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
     private XsltTransformationService processor;
+    private XsltTemplatesManager manager;
 
     @Before
     public void init() {
+        manager = new XsltTemplatesManager();
         processor = new XsltTransformationService();
+        processor.setXsltTemplatesManager(manager);
     }
 
     @Test
@@ -39,4 +46,26 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         assertEquals("8", transformedResponse);
     }
 
+    @Test
+    public void testTransformerIsReusedPerThread() throws TransformationException {
+        Transformer transformer = manager.getTransformer("http/google_weather.xsl");
+
+        assertSame(transformer, manager.getTransformer("http/google_weather.xsl"));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
+
+    @Test
+    public void testRemoveFromCacheRecompiles() throws TransformationException {
+        Transformer transformer = manager.getTransformer("http/google_weather.xsl");
+
+        manager.removeFromCache(Paths.get(XsltTemplatesManager.TRANSFORM_FOLDER, "http", "google_weather.xsl"));
+
+        assertNotSame(transformer, manager.getTransformer("http/google_weather.xsl"));
+        assertEquals("8", processor.transform("http/google_weather.xsl", source));
+    }
+
+    @Test(expected = TransformationException.class)
+    public void testMissingFileThrowsException() throws TransformationException {
+        processor.transform("http/missing.xsl", source);
+    }
 }
@@ -345,6 +345,19 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, UnDefType.UNDEF);
     }
 
+    @Test
+    public void assertChannelCpuLoadIsUpdated() {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_CPU_LOAD;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedCpuLoadValue = new DecimalType(10.5);
+        when(mockedSystemInfo.getCpuLoad()).thenReturn(mockedCpuLoadValue);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedCpuLoadValue);
+        verify(mockedSystemInfo, atLeastOnce()).takeSnapshot();
+    }
+
     @Test
     public void assertChannelCpuLoad1IsUpdated() {
         String channnelID = SysteminfoBindingConstants.CHANNEL_CPU_LOAD_1;
@@ -633,6 +646,19 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedDriveNameValue);
     }
 
+    @Test
+    public void assertChannelDriveReadRateIsUpdated() throws DeviceNotFoundException {
+        String channelID = SysteminfoBindingConstants.CHANNEL_DRIVE_READ_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedDriveReadRateValue = new DecimalType(12.5);
+        when(mockedSystemInfo.getDriveReadRate(DEFAULT_DEVICE_INDEX)).thenReturn(mockedDriveReadRateValue);
+
+        initializeThingWithChannel(channelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedDriveReadRateValue);
+    }
+
     @Test
     public void assertChannelDriveModelIsUpdated() throws DeviceNotFoundException {
         String channelID = SysteminfoBindingConstants.CHANNEL_DRIVE_MODEL;
@@ -786,6 +812,19 @@ public class SysteminfoOSGiTest extends JavaOSGiTest {
         assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY, mockedNetworkDataSent);
     }
 
+    @Test
+    public void assertChannelNetworkDataSentRateIsUpdated() throws DeviceNotFoundException {
+        String channnelID = SysteminfoBindingConstants.CHANNEL_NETWORK_DATA_SENT_RATE;
+        String acceptedItemType = "Number";
+
+        DecimalType mockedNetworkDataSentRate = new DecimalType(42.1);
+        when(mockedSystemInfo.getNetworkDataSentRate(DEFAULT_DEVICE_INDEX)).thenReturn(mockedNetworkDataSentRate);
+
+        initializeThingWithChannel(channnelID, acceptedItemType);
+        assertItemState(acceptedItemType, DEFAULT_TEST_ITEM_NAME, DEFAULT_CHANNEL_TEST_PRIORITY,
+                mockedNetworkDataSentRate);
+    }
+
     @Test
     public void assertChannelNetworkDataReceivedIsUpdated() throws DeviceNotFoundException {
         String channnelID = SysteminfoBindingConstants.CHANNEL_NETWORK_DATA_RECEIVED;